@@ -0,0 +1,60 @@
+package com.getjoystick.benchmarks;
+
+import com.getjoystick.sdk.client.ClientConfig;
+import com.getjoystick.sdk.util.ApiCacheKeyUtil;
+import com.google.common.collect.ImmutableMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache key calculation, done on every content lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheKeyBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int contentCount;
+
+    private ClientConfig config;
+
+    private List<String> contentIds;
+
+    @Setup
+    public void setUp() {
+        config = ClientConfig.builder()
+            .setApiKey("benchmark-api-key")
+            .setUserId("benchmark-user")
+            .setSemVer("1.2.3")
+            .setParams(ImmutableMap.of("country", "US", "platform", "android", "tier", "premium"))
+            .build();
+        contentIds = ContentFixtures.contentIds(contentCount);
+    }
+
+    @Benchmark
+    public String getHash() {
+        return ApiCacheKeyUtil.getHash(config, contentIds, false, false);
+    }
+
+    @Benchmark
+    public String getHashFullSerialized() {
+        return ApiCacheKeyUtil.getHash(config, contentIds, true, true);
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.getjoystick.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.getjoystick.sdk.Joystick;
+import com.getjoystick.sdk.cache.ApiCache;
+import com.getjoystick.sdk.cache.impl.ApiCacheCompact;
+import com.getjoystick.sdk.cache.impl.ApiCacheLRU;
+import com.getjoystick.sdk.client.Client;
+import com.getjoystick.sdk.client.ClientConfig;
+import com.getjoystick.sdk.models.JoystickFullContent;
+import com.getjoystick.sdk.util.ApiCacheKeyUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full client call for content found in cache, the most frequent call in applications.
+ * The cache is filled before the benchmark, so no request is sent to Joystick API.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientCacheHitBenchmark {
+
+    private static final String CONTENT_ID = "content-id-0";
+
+    @Param({"1KB", "64KB", "1MB", "5MB"})
+    private String size;
+
+    @Param({"1", "10"})
+    private int contentCount;
+
+    @Param({"lru", "compact"})
+    private String cacheType;
+
+    private Client client;
+
+    private List<String> contentIds;
+
+    private ApiCache<String, String> cache;
+
+    private String contentKey;
+
+    private String[] contentVersions;
+
+    private int version;
+
+    @Setup
+    public void setUp() {
+        cache = "compact".equals(cacheType) ? new ApiCacheCompact() : new ApiCacheLRU<>();
+        final ClientConfig config = ClientConfig.builder()
+            .setApiKey("benchmark-api-key")
+            .setCache(cache)
+            .build();
+        final JsonNode fullResponse = ContentFixtures.fullResponse(size, false);
+        contentIds = ContentFixtures.contentIds(contentCount);
+        for (String contentId : contentIds) {
+            cache.put(ApiCacheKeyUtil.getHash(config, contentId, false, false), fullResponse.get("data").toString());
+            cache.put(ApiCacheKeyUtil.getHash(config, contentId, false, true), fullResponse.toString());
+        }
+        contentKey = ApiCacheKeyUtil.getHash(config, CONTENT_ID, false, false);
+        final String data = fullResponse.get("data").toString();
+        // Content of the same size which differs from the cached one, as loaded by a refresh
+        contentVersions = new String[] {data, data.replaceFirst("segment-a", "segment-z")};
+        client = Joystick.create(config);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        client.close();
+    }
+
+    @Benchmark
+    public JsonNode getContent() {
+        return client.getContent(CONTENT_ID);
+    }
+
+    /**
+     * Content changed in cache since the previous call, so it is parsed again.
+     */
+    @Benchmark
+    public JsonNode getUpdatedContent() {
+        version ^= 1;
+        cache.put(contentKey, contentVersions[version]);
+        return client.getContent(CONTENT_ID);
+    }
+
+    @Benchmark
+    public JoystickFullContent<JsonNode> getFullContent() {
+        return client.getFullContent(CONTENT_ID);
+    }
+
+    @Benchmark
+    public Map<String, JsonNode> getContents() {
+        return client.getContents(contentIds);
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.getjoystick.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates Joystick API responses of the requested size, shaped like real remote configs:
+ * an object with many nested entries of strings, numbers, flags and arrays.
+ */
+public final class ContentFixtures {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Generate content (value of the data field) with JSON length of at least the given size.
+     *
+     * @param size size in bytes, e.g. 1KB, 64KB, 1MB or 5MB
+     * @return content
+     */
+    public static ObjectNode content(final String size) {
+        final int targetLength = parseSize(size);
+        final ObjectNode content = MAPPER.createObjectNode();
+        int length = 2;
+        for (int i = 0; length < targetLength; i++) {
+            final ObjectNode entry = content.putObject("entry_" + i);
+            entry.put("id", i);
+            entry.put("name", "remote-config-entry-" + i);
+            entry.put("enabled", i % 2 == 0);
+            entry.put("weight", i / 100.0);
+            entry.putArray("segments").add("segment-a").add("segment-b").add(i);
+            length += entry.toString().length() + 12;
+        }
+        return content;
+    }
+
+    /**
+     * Generate single content response with full meta data, as returned by the config endpoint.
+     *
+     * @param size size of content
+     * @param serialized if true, data is returned as a string with serialized JSON
+     * @return full response
+     */
+    public static ObjectNode fullResponse(final String size, final boolean serialized) {
+        final ObjectNode response = MAPPER.createObjectNode();
+        final ObjectNode content = content(size);
+        if (serialized) {
+            response.put("data", content.toString());
+        } else {
+            response.set("data", content);
+        }
+        response.put("hash", Integer.toHexString(content.hashCode()));
+        final ObjectNode meta = response.putObject("meta");
+        meta.put("uid", 0);
+        meta.put("mod", 0);
+        meta.putArray("variants");
+        meta.putArray("seg");
+        return response;
+    }
+
+    /**
+     * Generate response of the combine endpoint with full responses of every content.
+     *
+     * @param size size of each content
+     * @param contentCount number of contents
+     * @return combine response
+     */
+    public static ObjectNode combinedResponse(final String size, final int contentCount) {
+        final ObjectNode response = MAPPER.createObjectNode();
+        final JsonNode fullResponse = fullResponse(size, false);
+        for (String contentId : contentIds(contentCount)) {
+            response.set(contentId, fullResponse.deepCopy());
+        }
+        return response;
+    }
+
+    /**
+     * Generate content ids.
+     *
+     * @param contentCount number of content ids
+     * @return content ids
+     */
+    public static List<String> contentIds(final int contentCount) {
+        final List<String> contentIds = new ArrayList<>(contentCount);
+        for (int i = 0; i < contentCount; i++) {
+            contentIds.add("content-id-" + i);
+        }
+        return contentIds;
+    }
+
+    private static int parseSize(final String size) {
+        if (size.endsWith("MB")) {
+            return Integer.parseInt(size.substring(0, size.length() - 2)) * 1024 * 1024;
+        }
+        if (size.endsWith("KB")) {
+            return Integer.parseInt(size.substring(0, size.length() - 2)) * 1024;
+        }
+        return Integer.parseInt(size);
+    }
+
+    private ContentFixtures() {
+        throw new IllegalStateException("Utility class.");
+    }
+
+}
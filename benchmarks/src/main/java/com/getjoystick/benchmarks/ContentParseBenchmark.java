@@ -0,0 +1,82 @@
+package com.getjoystick.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.getjoystick.sdk.models.JoystickFullContent;
+import com.getjoystick.sdk.util.JoystickUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of content loaded from Joystick API or from cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentParseBenchmark {
+
+    @Param({"1KB", "64KB", "1MB", "5MB"})
+    private String size;
+
+    private String content;
+
+    private byte[] contentBytes;
+
+    private String fullContent;
+
+    private String fullSerializedContent;
+
+    @Setup
+    public void setUp() {
+        content = ContentFixtures.content(size).toString();
+        contentBytes = content.getBytes(StandardCharsets.UTF_8);
+        fullContent = ContentFixtures.fullResponse(size, false).toString();
+        fullSerializedContent = ContentFixtures.fullResponse(size, true).toString();
+    }
+
+    @Benchmark
+    public JsonNode readTreeFromString() {
+        return JoystickUtil.readTree(content);
+    }
+
+    @Benchmark
+    public JsonNode readTreeFromBytes() throws IOException {
+        return JoystickUtil.readTree(contentBytes);
+    }
+
+    @Benchmark
+    public JoystickFullContent<JsonNode> fullContent() {
+        return new JoystickFullContent<>(fullContent, false);
+    }
+
+    @Benchmark
+    public JoystickFullContent<String> fullContentSerialized() {
+        return new JoystickFullContent<>(fullSerializedContent, true);
+    }
+
+    @Benchmark
+    public String fullContentHash() {
+        return new JoystickFullContent<JsonNode>(fullContent, false).getHash();
+    }
+
+    @Benchmark
+    public JsonNode fullContentData() {
+        return new JoystickFullContent<JsonNode>(fullContent, false).getData();
+    }
+
+}
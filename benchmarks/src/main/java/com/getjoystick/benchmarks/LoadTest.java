@@ -0,0 +1,161 @@
+package com.getjoystick.benchmarks;
+
+import com.getjoystick.sdk.Joystick;
+import com.getjoystick.sdk.client.Client;
+import com.getjoystick.sdk.client.ClientConfig;
+import com.getjoystick.sdk.errors.JoystickException;
+import com.getjoystick.sdk.models.JoystickContentOptions;
+import com.getjoystick.sdk.models.PublishData;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load test of the blocking client against {@link StubJoystickServer}.
+ * Many threads call the client for the configured time, then throughput and latency percentiles are printed.
+ * <p>
+ * Settings are passed as system properties:
+ * <ul>
+ *     <li>{@code threads} - number of calling threads, default 16</li>
+ *     <li>{@code warmup} - warm-up duration in seconds, not included in results, default 5</li>
+ *     <li>{@code duration} - test duration in seconds, default 30</li>
+ *     <li>{@code mode} - {@code single}, {@code multi} or {@code publish}, default {@code single}</li>
+ *     <li>{@code contentCount} - number of content ids, default 10</li>
+ *     <li>{@code size} - size of every content, default 64KB</li>
+ *     <li>{@code latency} - latency of the stub server in milliseconds, default 20</li>
+ *     <li>{@code errorRate} - share of failing requests of the stub server, default 0</li>
+ *     <li>{@code refreshRatio} - share of calls bypassing the cache, default 0.1</li>
+ * </ul>
+ */
+public final class LoadTest {
+
+    private static final JoystickContentOptions REFRESH = new JoystickContentOptions(true);
+    private static final JoystickContentOptions CACHED = new JoystickContentOptions(false);
+
+    public static void main(final String[] args) throws Exception {
+        final int threads = Integer.getInteger("threads", 16);
+        final int warmup = Integer.getInteger("warmup", 5);
+        final int duration = Integer.getInteger("duration", 30);
+        final String mode = System.getProperty("mode", "single");
+        final int contentCount = Integer.getInteger("contentCount", 10);
+        final String size = System.getProperty("size", "64KB");
+        final long latency = Long.getLong("latency", 20L);
+        final double errorRate = Double.parseDouble(System.getProperty("errorRate", "0"));
+        final double refreshRatio = Double.parseDouble(System.getProperty("refreshRatio", "0.1"));
+
+        try (StubJoystickServer server = new StubJoystickServer(latency, size, errorRate, threads * 2)) {
+            final ClientConfig config = ClientConfig.builder()
+                .setApiKey("load-test-api-key")
+                .setApiBaseUrl(server.getBaseUrl())
+                .setPublishApiBaseUrl(server.getBaseUrl())
+                .setMaxConnectionsPerRoute(threads)
+                .setMaxConnectionsTotal(threads)
+                .build();
+            final List<String> contentIds = ContentFixtures.contentIds(contentCount);
+            final PublishData publishData = PublishData.builder()
+                .setDescription("Load test")
+                .setContent(ImmutableMap.of("enabled", true))
+                .build();
+
+            try (Client client = Joystick.create(config)) {
+                final Runnable call = () -> {
+                    final ThreadLocalRandom random = ThreadLocalRandom.current();
+                    final JoystickContentOptions options = random.nextDouble() < refreshRatio ? REFRESH : CACHED;
+                    switch (mode) {
+                        case "multi":
+                            client.getContents(contentIds, options);
+                            break;
+                        case "publish":
+                            client.publishContentUpdate(contentIds.get(random.nextInt(contentCount)), publishData);
+                            break;
+                        default:
+                            client.getContent(contentIds.get(random.nextInt(contentCount)), options);
+                    }
+                };
+                run(call, threads, TimeUnit.SECONDS.toNanos(warmup));
+                final long warmupRequests = server.getRequestCount();
+                final Result result = run(call, threads, TimeUnit.SECONDS.toNanos(duration));
+                System.out.printf(Locale.ROOT, "mode=%s threads=%d size=%s latency=%dms errorRate=%.3f "
+                        + "refreshRatio=%.3f%n", mode, threads, size, latency, errorRate, refreshRatio);
+                result.print(duration, server.getRequestCount() - warmupRequests);
+            }
+        }
+    }
+
+    private static Result run(final Runnable call, final int threads, final long durationNanos) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final long deadline = System.nanoTime() + durationNanos;
+        final List<Future<Result>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                final Result result = new Result();
+                while (System.nanoTime() < deadline) {
+                    final long start = System.nanoTime();
+                    try {
+                        call.run();
+                    } catch (JoystickException e) {
+                        result.errors++;
+                    }
+                    result.add(System.nanoTime() - start);
+                }
+                return result;
+            }));
+        }
+        final Result total = new Result();
+        for (Future<Result> future : futures) {
+            total.merge(future.get());
+        }
+        executor.shutdown();
+        return total;
+    }
+
+    private static final class Result {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        private void add(final long latencyNanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+        }
+
+        private void merge(final Result other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.latencies[i]);
+            }
+            errors += other.errors;
+        }
+
+        private void print(final int durationSeconds, final long serverRequests) {
+            Arrays.sort(latencies, 0, count);
+            System.out.printf(Locale.ROOT, "calls=%d errors=%d serverRequests=%d throughput=%.1f calls/s%n",
+                count, errors, serverRequests, (double) count / durationSeconds);
+            System.out.printf(Locale.ROOT, "latency us: p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f max=%.1f%n",
+                percentile(0.5), percentile(0.9), percentile(0.99), percentile(0.999), percentile(1));
+        }
+
+        private double percentile(final double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            final int index = Math.min(count - 1, (int) Math.ceil(percentile * count) - 1);
+            return latencies[Math.max(0, index)] / 1000.0;
+        }
+    }
+
+    private LoadTest() {
+        throw new IllegalStateException("Utility class.");
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.getjoystick.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.getjoystick.sdk.client.ClientConfig;
+import com.getjoystick.sdk.client.endpoints.MultipleContentEndpoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation and formatting of the combine endpoint response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MultipleContentEndpointBenchmark {
+
+    @Param({"1KB", "64KB", "1MB"})
+    private String size;
+
+    @Param({"1", "10", "50"})
+    private int contentCount;
+
+    private MultipleContentEndpoint endpoint;
+
+    private MultipleContentEndpoint fullEndpoint;
+
+    private JsonNode response;
+
+    @Setup
+    public void setUp() {
+        final ClientConfig config = ClientConfig.builder().setApiKey("benchmark-api-key").build();
+        endpoint = new MultipleContentEndpoint(config, ContentFixtures.contentIds(contentCount));
+        fullEndpoint = new MultipleContentEndpoint(config, ContentFixtures.contentIds(contentCount))
+            .setFullResponse(true);
+        response = ContentFixtures.combinedResponse(size, contentCount);
+    }
+
+    @Benchmark
+    public JsonNode formatJsonResponse() {
+        return endpoint.formatJsonResponse(response);
+    }
+
+    @Benchmark
+    public JsonNode formatFullJsonResponse() {
+        return fullEndpoint.formatJsonResponse(response);
+    }
+
+}
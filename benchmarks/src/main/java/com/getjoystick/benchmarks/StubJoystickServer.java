@@ -0,0 +1,163 @@
+package com.getjoystick.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process HTTP server mimicking Joystick API endpoints: single content, combined contents and publish.
+ * Every response is delayed by the configured latency, and the configured share of requests fails
+ * with the 503 status code. Single content requests with the content hash in If-None-Match header
+ * are answered with the 304 status code and no content.
+ */
+public final class StubJoystickServer implements AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String CONFIG_PATH = "/api/v1/config/";
+    private static final String COMBINE_PATH = "/api/v1/combine/";
+    private static final String DYNAMIC_SUFFIX = "/dynamic";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMillis;
+    private final double errorRate;
+    private final byte[] fullResponse;
+    private final byte[] fullSerializedResponse;
+    private final String etag;
+    private final AtomicLong requestCount = new AtomicLong();
+
+    /**
+     * Start the server on a free local port.
+     *
+     * @param latencyMillis delay of every response in milliseconds
+     * @param size size of every content, e.g. 1KB or 1MB
+     * @param errorRate share of requests failing with server error, from 0 to 1
+     * @param threads number of threads handling requests
+     * @throws IOException if the server cannot be started
+     */
+    public StubJoystickServer(final long latencyMillis, final String size, final double errorRate,
+                              final int threads) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.errorRate = errorRate;
+        this.fullResponse = MAPPER.writeValueAsBytes(ContentFixtures.fullResponse(size, false));
+        this.fullSerializedResponse = MAPPER.writeValueAsBytes(ContentFixtures.fullResponse(size, true));
+        this.etag = '"' + MAPPER.readTree(fullResponse).get("hash").asText() + '"';
+        this.executor = Executors.newFixedThreadPool(threads);
+        // Response headers and body are written separately, without it every response waits for delayed ACK
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    /**
+     * Base URL to be set as both content and publish API base URL of the client configuration.
+     *
+     * @return base URL of the server
+     */
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * Number of requests received by the server.
+     *
+     * @return request count
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        try (InputStream requestBody = exchange.getRequestBody()) {
+            while (requestBody.read() >= 0) {
+                // Request body is not used, but must be read to reuse the connection
+            }
+        }
+        sleep();
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            send(exchange, 503, "{\"message\":\"Service unavailable\"}".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        final String path = exchange.getRequestURI().getPath();
+        final String query = exchange.getRequestURI().getRawQuery();
+        final boolean serialized = query != null && query.contains("responseType=serialized");
+        if ("POST".equals(exchange.getRequestMethod()) && path.startsWith(CONFIG_PATH)
+            && path.endsWith(DYNAMIC_SUFFIX)) {
+            exchange.getResponseHeaders().add("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            send(exchange, 200, serialized ? fullSerializedResponse : fullResponse);
+        } else if ("POST".equals(exchange.getRequestMethod()) && path.equals(COMBINE_PATH)) {
+            send(exchange, 200, combinedResponse(query, serialized));
+        } else if ("PUT".equals(exchange.getRequestMethod()) && path.startsWith(CONFIG_PATH)) {
+            send(exchange, 200, "{}".getBytes(StandardCharsets.UTF_8));
+        } else {
+            send(exchange, 404, "{\"message\":\"Not found\"}".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private byte[] combinedResponse(final String query, final boolean serialized) throws IOException {
+        final JsonNode content = MAPPER.readTree(serialized ? fullSerializedResponse : fullResponse);
+        final ObjectNode response = MAPPER.createObjectNode();
+        for (JsonNode contentId : MAPPER.readTree(getParameter(query, "c"))) {
+            response.set(contentId.asText(), content);
+        }
+        return MAPPER.writeValueAsBytes(response);
+    }
+
+    private static String getParameter(final String query, final String name) throws UnsupportedEncodingException {
+        for (String parameter : query.split("&")) {
+            final int separator = parameter.indexOf('=');
+            if (separator > 0 && name.equals(parameter.substring(0, separator))) {
+                return URLDecoder.decode(parameter.substring(separator + 1), "UTF-8");
+            }
+        }
+        return "[]";
+    }
+
+    private void sleep() {
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void send(final HttpExchange exchange, final int status, final byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+}
@@ -5,6 +5,9 @@ import com.getjoystick.examples.model.ClientConfigDto;
 import com.getjoystick.sdk.Joystick;
 import com.getjoystick.sdk.client.Client;
 import com.getjoystick.sdk.client.ClientConfig;
+import com.getjoystick.sdk.client.JoystickContext;
+import com.getjoystick.sdk.client.JoystickTransport;
+import com.getjoystick.sdk.models.JoystickContentOptions;
 import com.getjoystick.sdk.models.JoystickFullContent;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -14,15 +17,19 @@ import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @RestController
 public class GetMultiContentsController {
 
+    private final Map<String, Client> clients = new ConcurrentHashMap<>();
+
+    private JoystickTransport transport;
+
     @GetMapping("/multi/contents")
     public String getContents(@RequestParam final String apiKey,
                               @RequestParam final List<String> contentIds) {
-        ClientConfig config = ClientConfig.builder().setApiKey(apiKey).build();
-        Client client = Joystick.create(config);
+        Client client = getClient(apiKey);
         Map<String, JsonNode> contentsMap = client.getContents(contentIds);
 
         return contentsMap.toString();
@@ -33,13 +40,13 @@ public class GetMultiContentsController {
         @RequestParam final String apiKey,
         @RequestParam final List<String> contentIds,
         @RequestBody(required = false) final ClientConfigDto clientConfigDto) {
-        ClientConfig clientConfig = ClientConfig.builder().setApiKey(apiKey)
+        JoystickContentOptions contentOptions = new JoystickContentOptions(JoystickContext.builder()
             .setUserId(clientConfigDto.getUserId())
             .setParams(clientConfigDto.getParams())
             .setSemVer(clientConfigDto.getSemVer())
-            .build();
-        Client client = Joystick.create(clientConfig);
-        Map<String, JsonNode> contentsMap = client.getContents(contentIds);
+            .build());
+        Client client = getClient(apiKey);
+        Map<String, JsonNode> contentsMap = client.getContents(contentIds, contentOptions);
 
         return contentsMap.toString();
     }
@@ -49,16 +56,33 @@ public class GetMultiContentsController {
         @RequestParam final String apiKey,
         @RequestParam final List<String> contentIds,
         @RequestBody(required = false) final ClientConfigDto clientConfigDto) {
-        ClientConfig clientConfig = ClientConfig.builder().setApiKey(apiKey)
+        JoystickContentOptions contentOptions = new JoystickContentOptions(JoystickContext.builder()
             .setUserId(clientConfigDto.getUserId())
             .setParams(clientConfigDto.getParams())
             .setSemVer(clientConfigDto.getSemVer())
-            .build();
-        Client client = Joystick.create(clientConfig);
-        Map<String, JoystickFullContent<JsonNode>> contentsMap = client.getFullContents(contentIds);
+            .build());
+        Client client = getClient(apiKey);
+        Map<String, JoystickFullContent<JsonNode>> contentsMap = client.getFullContents(contentIds, contentOptions);
 
         return contentsMap.toString();
     }
 
+    /**
+     * One client is shared by all users of the same API key, user specific values are passed with every call.
+     * Clients of all API keys share one connection pool.
+     */
+    private Client getClient(final String apiKey) {
+        return clients.computeIfAbsent(apiKey, key -> {
+            ClientConfig config = ClientConfig.builder().setApiKey(key).build();
+            return Joystick.create(config, getTransport(config));
+        });
+    }
+
+    private synchronized JoystickTransport getTransport(final ClientConfig config) {
+        if (transport == null) {
+            transport = Joystick.createTransport(config);
+        }
+        return transport;
+    }
 
 }
@@ -1,8 +1,13 @@
 package com.getjoystick.sdk;
 
+import com.getjoystick.sdk.client.AsyncClient;
 import com.getjoystick.sdk.client.Client;
 import com.getjoystick.sdk.client.ClientConfig;
+import com.getjoystick.sdk.client.JoystickTransport;
+import com.getjoystick.sdk.client.impl.AsyncClientImpl;
 import com.getjoystick.sdk.client.impl.ClientImpl;
+import com.getjoystick.sdk.client.impl.JoystickTransportImpl;
+import com.getjoystick.sdk.errors.ConfigurationException;
 
 /**
  * Main SDK class.
@@ -19,6 +24,58 @@ public final class Joystick {
         return new ClientImpl(config);
     }
 
+    /**
+     * Create new instance of non-blocking Joystick Client
+     *
+     * @param config Client configuration
+     * @return Client to communicate with Joystick without blocking the calling thread
+     * @throws ConfigurationException if the configuration sets options provided by the blocking client only
+     */
+    public static AsyncClient createAsync(final ClientConfig config) {
+        return new AsyncClientImpl(config);
+    }
+
+    /**
+     * Create new instance of Joystick Client on the shared transport
+     *
+     * @param config Client configuration
+     * @param transport Transport created by {@link #createTransport(ClientConfig)}
+     * @return Client to communicate with Joystick
+     */
+    public static Client create(final ClientConfig config, final JoystickTransport transport) {
+        return new ClientImpl(config, toTransportImpl(transport));
+    }
+
+    /**
+     * Create new instance of non-blocking Joystick Client on the shared transport
+     *
+     * @param config Client configuration
+     * @param transport Transport created by {@link #createTransport(ClientConfig)}
+     * @return Client to communicate with Joystick without blocking the calling thread
+     * @throws ConfigurationException if the configuration sets options provided by the blocking client only
+     */
+    public static AsyncClient createAsync(final ClientConfig config, final JoystickTransport transport) {
+        return new AsyncClientImpl(config, toTransportImpl(transport));
+    }
+
+    /**
+     * Create transport to be shared by clients with different configurations, so they use the same
+     * connection pool. Only connection pool and timeout settings of the configuration are used.
+     *
+     * @param config Configuration with connection settings
+     * @return Transport to create clients on
+     */
+    public static JoystickTransport createTransport(final ClientConfig config) {
+        return new JoystickTransportImpl(config);
+    }
+
+    private static JoystickTransportImpl toTransportImpl(final JoystickTransport transport) {
+        if (!(transport instanceof JoystickTransportImpl)) {
+            throw new ConfigurationException("Transport must be created with Joystick.createTransport.");
+        }
+        return (JoystickTransportImpl) transport;
+    }
+
     /* default */ Joystick() {
         throw new UnsupportedOperationException("Unable to instantiate a Base SDK class.");
     }
@@ -0,0 +1,28 @@
+package com.getjoystick.sdk.cache;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Storage for snapshot of the latest loaded contents. Snapshot is restored when the client is created,
+ * so content can be returned without waiting for Joystick API after restart.
+ */
+public interface ContentSnapshotStore {
+
+    /**
+     * Load the saved snapshot
+     *
+     * @return contents in String format by cache key, empty if no snapshot was saved
+     * @throws IOException if snapshot cannot be read
+     */
+    Map<String, String> load() throws IOException;
+
+    /**
+     * Replace the saved snapshot
+     *
+     * @param contents contents in String format by cache key
+     * @throws IOException if snapshot cannot be written
+     */
+    void save(Map<String, String> contents) throws IOException;
+
+}
@@ -0,0 +1,115 @@
+package com.getjoystick.sdk.cache.impl;
+
+import com.getjoystick.sdk.cache.ApiCache;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.time.Duration;
+
+/**
+ * In memory LRU cache keeping content as UTF-8 bytes instead of Java strings, which take two bytes per character.
+ * Content larger than the compression threshold is compressed with Deflate. The cache is bounded by the size
+ * of stored bytes rather than by the number of entries, so it holds more small contents in the same memory.
+ * Content is decoded when it is read and no longer used by the application, so the cache trades time
+ * of cache hits for memory.
+ * <p>
+ * Clients using this cache keep content for stale-while-revalidate, last known good content and content snapshot
+ * in the same compact form. Content restored from the snapshot file and the content bundle are kept as strings
+ * until the content is loaded from Joystick API.
+ */
+public class ApiCacheCompact implements ApiCache<String, String> {
+
+    /**
+     * Default size of content in bytes, starting from which content is compressed
+     */
+    public static final int DEFAULT_COMPRESSION_THRESHOLD = 8 * 1024;
+
+    /**
+     * Compression threshold disabling compression
+     */
+    public static final int NO_COMPRESSION = Integer.MAX_VALUE;
+
+    /**
+     * Default maximum size of stored content in bytes
+     */
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    /**
+     * Field to store cache
+     */
+    private final Cache<String, CompactContent> cache;
+
+    /**
+     * Size of content in bytes, starting from which content is compressed
+     */
+    private final int compressionThreshold;
+
+    /**
+     * Default cache constructor.
+     * Initializes cache with default expiration, compression threshold and maximum size.
+     */
+    public ApiCacheCompact() {
+        this(ApiCacheLRU.DEFAULT_EXPIRATION);
+    }
+
+    /**
+     * Initializes cache with default compression threshold and maximum size.
+     *
+     * @param cacheExpirationSeconds time in seconds after last access when content expires
+     */
+    public ApiCacheCompact(final int cacheExpirationSeconds) {
+        this(cacheExpirationSeconds, DEFAULT_COMPRESSION_THRESHOLD, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Initializes cache.
+     *
+     * @param cacheExpirationSeconds time in seconds after last access when content expires
+     * @param compressionThreshold size of content in UTF-8 bytes, starting from which content is compressed,
+     *                             or {@link #NO_COMPRESSION}
+     * @param maxBytes maximum size of stored content in bytes
+     */
+    public ApiCacheCompact(final int cacheExpirationSeconds, final int compressionThreshold, final long maxBytes) {
+        final int expirationSeconds = cacheExpirationSeconds >= 0
+            ? cacheExpirationSeconds : ApiCacheLRU.DEFAULT_EXPIRATION;
+        this.compressionThreshold = compressionThreshold;
+        cache = CacheBuilder.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((String key, CompactContent value) -> value.getSize())
+            .expireAfterAccess(Duration.ofSeconds(expirationSeconds))
+            .build();
+    }
+
+    /**
+     * Get item from cache by key
+     *
+     * @param key Key of cached item
+     * @return Cached value
+     */
+    @Override
+    public String get(final String key) {
+        final CompactContent value = cache.getIfPresent(key);
+        return value != null ? value.decode() : null;
+    }
+
+    /**
+     * Put item to cache
+     *
+     * @param key Key of cached item
+     * @param value Value of cached item
+     */
+    @Override
+    public void put(final String key, final String value) {
+        cache.put(key, CompactContent.encode(value, compressionThreshold));
+    }
+
+    /**
+     * Get size of content in UTF-8 bytes, starting from which content is compressed
+     *
+     * @return compression threshold in bytes
+     */
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.getjoystick.sdk.cache.impl;
+
+import com.getjoystick.sdk.errors.JoystickException;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Content kept as UTF-8 bytes instead of Java string, compressed with Deflate above a size threshold.
+ */
+public final class CompactContent {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final byte[] bytes;
+
+    /**
+     * Length of content in UTF-8 bytes if the content is compressed, or -1
+     */
+    private final int length;
+
+    /**
+     * Last decoded content, reused while the application still references it
+     */
+    private volatile WeakReference<String> decoded;
+
+    private CompactContent(final byte[] bytes, final int length) {
+        this.bytes = bytes;
+        this.length = length;
+    }
+
+    /**
+     * Encode content to UTF-8 bytes, compressed if the content is not smaller than the threshold
+     *
+     * @param value content in String format
+     * @param compressionThreshold size of content in UTF-8 bytes, starting from which content is compressed
+     * @return compact content
+     */
+    public static CompactContent encode(final String value, final int compressionThreshold) {
+        final byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length >= compressionThreshold) {
+            final byte[] compressed = deflate(utf8);
+            if (compressed.length < utf8.length) {
+                return new CompactContent(compressed, utf8.length);
+            }
+        }
+        return new CompactContent(utf8, -1);
+    }
+
+    /**
+     * Decode content. The decoded String is reused while the application still references it.
+     *
+     * @return content in String format
+     */
+    public String decode() {
+        String value = decoded != null ? decoded.get() : null;
+        if (value == null) {
+            value = new String(length < 0 ? bytes : inflate(bytes, length), StandardCharsets.UTF_8);
+            decoded = new WeakReference<>(value);
+        }
+        return value;
+    }
+
+    /**
+     * Get size of stored content
+     *
+     * @return size in bytes
+     */
+    public int getSize() {
+        return bytes.length;
+    }
+
+    private static byte[] deflate(final byte[] input) {
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(input.length / 4);
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                outputStream.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return outputStream.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(final byte[] input, final int length) {
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            final byte[] output = new byte[length];
+            int offset = 0;
+            while (offset < length) {
+                final int inflated = inflater.inflate(output, offset, length - offset);
+                if (inflated == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new DataFormatException("Compressed content is truncated");
+                }
+                offset += inflated;
+            }
+            return output;
+        } catch (DataFormatException e) {
+            throw new JoystickException("Unable to decompress cached content", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.getjoystick.sdk.cache.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.getjoystick.sdk.cache.ContentSnapshotStore;
+import com.getjoystick.sdk.util.JoystickUtil;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps content snapshot in a local JSON file. The file is replaced atomically, so a process stopped
+ * during the write leaves the previous snapshot in place.
+ */
+public class FileContentSnapshotStore implements ContentSnapshotStore {
+
+    private static final int VERSION = 1;
+
+    private final Path file;
+
+    /**
+     * Create snapshot store in the file. Parent directory of the file must exist.
+     *
+     * @param file path of the snapshot file
+     */
+    public FileContentSnapshotStore(final Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Read snapshot from the file
+     *
+     * @return contents in String format by cache key, empty if the file does not exist
+     *         or it was written by another version of the store
+     * @throws IOException if the file cannot be read or parsed
+     */
+    @Override
+    public Map<String, String> load() throws IOException {
+        if (!Files.exists(file)) {
+            return Collections.emptyMap();
+        }
+        final JsonNode snapshot = JoystickUtil.readTree(Files.readAllBytes(file));
+        if (snapshot == null || snapshot.path("version").asInt() != VERSION) {
+            return Collections.emptyMap();
+        }
+        final Map<String, String> contents = new HashMap<>();
+        final Iterator<Map.Entry<String, JsonNode>> fields = snapshot.path("contents").fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            contents.put(field.getKey(), field.getValue().asText());
+        }
+        return contents;
+    }
+
+    /**
+     * Write snapshot to a temporary file and move it to the snapshot file
+     *
+     * @param contents contents in String format by cache key
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void save(final Map<String, String> contents) throws IOException {
+        final Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("version", VERSION);
+        snapshot.put("contents", contents);
+        final Path directory = file.toAbsolutePath().getParent();
+        final Path tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                JoystickUtil.writeValue(outputStream, snapshot);
+            }
+            try {
+                Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FileContentSnapshotStore(file=" + file + ")";
+    }
+
+}
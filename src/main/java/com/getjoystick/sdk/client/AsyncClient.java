@@ -0,0 +1,335 @@
+package com.getjoystick.sdk.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.getjoystick.sdk.errors.ApiUnknownException;
+import com.getjoystick.sdk.errors.JoystickException;
+import com.getjoystick.sdk.models.JoystickContentOptions;
+import com.getjoystick.sdk.models.JoystickContentResult;
+import com.getjoystick.sdk.models.JoystickFullContent;
+import com.getjoystick.sdk.models.PublishData;
+import com.getjoystick.sdk.models.ResponseType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking HTTP client for API communication. Every method returns immediately, content is loaded
+ * without blocking the calling thread and the returned future is completed when content is available.
+ * Content found in cache is returned as already completed future.
+ * For more info check the <a href="https://docs.getjoystick.com/api-reference/">Joystick API reference</a>.
+ * Content returned by the client is cached and shared between calls, so it must be treated as read-only.
+ * Returned {@code JsonNode} trees are read-only and throw {@link UnsupportedOperationException} on modification,
+ * {@code JsonNode.deepCopy()} creates a modifiable copy. Every call returns its own copy of full content.
+ * Last known good content, returned because Joystick API failed, is reported as stale by
+ * {@link JoystickFullContent#isStale()} for full content, and by the {@code get*Result} methods for other content.
+ */
+public interface AsyncClient extends Closeable {
+
+    /**
+     * Get content from Joystick API by contentId
+     *
+     * @param contentId content id in string format
+     * @return future of configuration content from Joystick, completed exceptionally with
+     *         {@link ApiUnknownException} if the response body does not contain valid JSON or
+     *         any unexpected {@link IOException} is thrown.
+     */
+    CompletableFuture<JsonNode> getContent(String contentId);
+
+    /**
+     * Get content from Joystick API by contentId, bound to the type. The returned object may be
+     * shared with other calls of the client, so it must not be modified.
+     *
+     * @param contentId content id in string format
+     * @param type type to bind content to
+     * @param <T> type of returned content
+     * @return future of configuration content from Joystick bound to the type, completed exceptionally
+     *         with {@link JoystickException} if content cannot be bound to the type
+     */
+    <T> CompletableFuture<T> getContent(String contentId, Class<T> type);
+
+    /**
+     * Get content from Joystick API by contentId, bound to the generic type. The returned object may be
+     * shared with other calls of the client, so it must not be modified.
+     *
+     * @param contentId content id in string format
+     * @param type reference to the type to bind content to
+     * @param <T> type of returned content
+     * @return future of configuration content from Joystick bound to the type, completed exceptionally
+     *         with {@link JoystickException} if content cannot be bound to the type
+     */
+    <T> CompletableFuture<T> getContent(String contentId, TypeReference<T> type);
+
+    /**
+     * Get serialized content from Joystick API by contentId.
+     *
+     * @param contentId content id in String format
+     * @return future of Joystick configuration serialized as String
+     */
+    CompletableFuture<String> getContentSerialized(String contentId);
+
+    /**
+     * Get full content, including meta and hash, from Joystick API by contentId.
+     *
+     * @param contentId content id in String format
+     * @return future of object representing full Joystick content
+     */
+    CompletableFuture<JoystickFullContent<JsonNode>> getFullContent(String contentId);
+
+    /**
+     * Get full content, including meta and hash, from Joystick API by contentId. Config data is serialized.
+     *
+     * @param contentId content id in String format
+     * @return future of object representing full Joystick content, where config data is serialized to string
+     */
+    CompletableFuture<JoystickFullContent<String>> getFullContentSerialized(String contentId);
+
+    /**
+     * Get map of configurations for multiple content ids
+     *
+     * @param contentIds collection of content ids
+     * @return future of map of configuration data by content id
+     */
+    CompletableFuture<Map<String, JsonNode>> getContents(Collection<String> contentIds);
+
+    /**
+     * Get map of serialized configurations for multiple content ids
+     *
+     * @param contentIds collection of content ids
+     * @return future of map of serialized to string configuration data by content id
+     */
+    CompletableFuture<Map<String, String>> getContentsSerialized(Collection<String> contentIds);
+
+    /**
+     * Get map of configurations in full format, including meta and hash, for multiple content ids
+     *
+     * @param contentIds collection of content ids
+     * @return future of map of full configuration data by content id
+     */
+    CompletableFuture<Map<String, JoystickFullContent<JsonNode>>> getFullContents(Collection<String> contentIds);
+
+    /**
+     * Get map of configurations for multiple content ids
+     *
+     * @param contentIds collection of content ids
+     * @return future of map of full content where data config is serialized to string
+     */
+    CompletableFuture<Map<String, JoystickFullContent<String>>> getFullContentsSerialized(
+        Collection<String> contentIds);
+
+    /**
+     * Get content from Joystick API by contentId.
+     *
+     * @param contentId content id in string format
+     * @param contentOptions optional parameters for getting Joystick content
+     * @return future of configuration content from Joystick, completed exceptionally with
+     *         {@link ApiUnknownException} if the response body does not contain valid JSON or
+     *         any unexpected {@link IOException} is thrown.
+     */
+    CompletableFuture<JsonNode> getContent(String contentId, JoystickContentOptions contentOptions);
+
+    /**
+     * Get content from Joystick API by contentId, bound to the type. The returned object may be
+     * shared with other calls of the client, so it must not be modified.
+     *
+     * @param contentId content id in string format
+     * @param type type to bind content to
+     * @param contentOptions optional parameters for getting Joystick content
+     * @param <T> type of returned content
+     * @return future of configuration content from Joystick bound to the type, completed exceptionally
+     *         with {@link JoystickException} if content cannot be bound to the type
+     */
+    <T> CompletableFuture<T> getContent(String contentId, Class<T> type, JoystickContentOptions contentOptions);
+
+    /**
+     * Get content from Joystick API by contentId, bound to the generic type. The returned object may be
+     * shared with other calls of the client, so it must not be modified.
+     *
+     * @param contentId content id in string format
+     * @param type reference to the type to bind content to
+     * @param contentOptions optional parameters for getting Joystick content
+     * @param <T> type of returned content
+     * @return future of configuration content from Joystick bound to the type, completed exceptionally
+     *         with {@link JoystickException} if content cannot be bound to the type
+     */
+    <T> CompletableFuture<T> getContent(String contentId, TypeReference<T> type, JoystickContentOptions contentOptions);
+
+    /**
+     * Get serialized content from Joystick API by contentId.
+     *
+     * @param contentId content id in String format
+     * @param contentOptions optional parameters for getting Joystick content
+     * @return future of Joystick configuration serialized as String
+     */
+    CompletableFuture<String> getContentSerialized(String contentId, JoystickContentOptions contentOptions);
+
+    /**
+     * Get full content, including meta and hash, from Joystick API by contentId.
+     *
+     * @param contentId content id in String format
+     * @param contentOptions optional parameters for getting Joystick content
+     * @return future of object representing full Joystick content
+     */
+    CompletableFuture<JoystickFullContent<JsonNode>> getFullContent(String contentId,
+                                                                    JoystickContentOptions contentOptions);
+
+    /**
+     * Get full content, including meta and hash, from Joystick API by contentId. Config data is serialized.
+     *
+     * @param contentId content id in String format
+     * @param contentOptions optional parameters for getting Joystick content
+     * @return future of object representing full Joystick content, where config data is serialized to string
+     */
+    CompletableFuture<JoystickFullContent<String>> getFullContentSerialized(String contentId,
+                                                                            JoystickContentOptions contentOptions);
+
+    /**
+     * Get map of configurations for multiple content ids
+     *
+     * @param contentIds collection of content ids
+     * @param contentOptions optional parameters for getting Joystick content
+     * @return future of map of configuration data by content id
+     */
+    CompletableFuture<Map<String, JsonNode>> getContents(Collection<String> contentIds,
+                                                         JoystickContentOptions contentOptions);
+
+    /**
+     * Get map of serialized configurations for multiple content ids
+     *
+     * @param contentIds collection of content ids
+     * @param contentOptions optional parameters for getting Joystick content
+     * @return future of map of serialized to string configuration data by content id
+     */
+    CompletableFuture<Map<String, String>> getContentsSerialized(Collection<String> contentIds,
+                                                                 JoystickContentOptions contentOptions);
+
+    /**
+     * Get map of configurations in full format, including meta and hash, for multiple content ids
+     *
+     * @param contentIds collection of content ids
+     * @param contentOptions optional parameters for getting Joystick content
+     * @return future of map of full configuration data by content id
+     */
+    CompletableFuture<Map<String, JoystickFullContent<JsonNode>>> getFullContents(
+        Collection<String> contentIds, JoystickContentOptions contentOptions);
+
+    /**
+     * Get map of configurations for multiple content ids
+     *
+     * @param contentIds collection of content ids
+     * @param contentOptions optional parameters for getting Joystick content
+     * @return future of map of full content where data config is serialized to string
+     */
+    CompletableFuture<Map<String, JoystickFullContent<String>>> getFullContentsSerialized(
+        Collection<String> contentIds, JoystickContentOptions contentOptions);
+
+    /**
+     * Get content from Joystick API by contentId together with its staleness.
+     *
+     * @param contentId content id in string format
+     * @return future of configuration content from Joystick and if it is stale
+     */
+    default CompletableFuture<JoystickContentResult<JsonNode>> getContentResult(String contentId) {
+        return getContentResult(contentId, new JoystickContentOptions(false));
+    }
+
+    /**
+     * Get content from Joystick API by contentId together with its staleness.
+     *
+     * @param contentId content id in string format
+     * @param contentOptions optional parameters for getting Joystick content
+     * @return future of configuration content from Joystick and if it is stale
+     */
+    CompletableFuture<JoystickContentResult<JsonNode>> getContentResult(String contentId,
+                                                                        JoystickContentOptions contentOptions);
+
+    /**
+     * Get content from Joystick API by contentId, bound to the type, together with its staleness.
+     *
+     * @param contentId content id in string format
+     * @param type type to bind content to
+     * @param contentOptions optional parameters for getting Joystick content
+     * @param <T> type of returned content
+     * @return future of configuration content from Joystick bound to the type and if it is stale,
+     *         completed exceptionally with {@link JoystickException} if content cannot be bound to the type
+     */
+    <T> CompletableFuture<JoystickContentResult<T>> getContentResult(String contentId, Class<T> type,
+                                                                     JoystickContentOptions contentOptions);
+
+    /**
+     * Get content from Joystick API by contentId, bound to the generic type, together with its staleness.
+     *
+     * @param contentId content id in string format
+     * @param type reference to the type to bind content to
+     * @param contentOptions optional parameters for getting Joystick content
+     * @param <T> type of returned content
+     * @return future of configuration content from Joystick bound to the type and if it is stale,
+     *         completed exceptionally with {@link JoystickException} if content cannot be bound to the type
+     */
+    <T> CompletableFuture<JoystickContentResult<T>> getContentResult(String contentId, TypeReference<T> type,
+                                                                     JoystickContentOptions contentOptions);
+
+    /**
+     * Get serialized content from Joystick API by contentId together with its staleness.
+     *
+     * @param contentId content id in String format
+     * @param contentOptions optional parameters for getting Joystick content
+     * @return future of Joystick configuration serialized as String and if it is stale
+     */
+    CompletableFuture<JoystickContentResult<String>> getContentSerializedResult(String contentId,
+                                                                                JoystickContentOptions contentOptions);
+
+    /**
+     * Get map of configurations for multiple content ids, each together with its staleness
+     *
+     * @param contentIds collection of content ids
+     * @param contentOptions optional parameters for getting Joystick content
+     * @return future of map of configuration data and its staleness by content id
+     */
+    CompletableFuture<Map<String, JoystickContentResult<JsonNode>>> getContentResults(
+        Collection<String> contentIds, JoystickContentOptions contentOptions);
+
+    /**
+     * Get map of serialized configurations for multiple content ids, each together with its staleness
+     *
+     * @param contentIds collection of content ids
+     * @param contentOptions optional parameters for getting Joystick content
+     * @return future of map of serialized to string configuration data and its staleness by content id
+     */
+    CompletableFuture<Map<String, JoystickContentResult<String>>> getContentSerializedResults(
+        Collection<String> contentIds, JoystickContentOptions contentOptions);
+
+    /**
+     * Register content ids to be loaded in background and refreshed every refresh interval,
+     * so futures of content are returned already completed from cache without waiting for Joystick API.
+     * All registered content ids are loaded with a single request to Joystick API.
+     *
+     * @param contentIds collection of content ids
+     */
+    default void registerContentIds(Collection<String> contentIds) {
+        registerContentIds(contentIds, ResponseType.NONE);
+    }
+
+    /**
+     * Register content ids to be loaded in background and refreshed every refresh interval,
+     * so futures of content are returned already completed from cache without waiting for Joystick API.
+     * All registered content ids of the same response type are loaded with a single request to Joystick API.
+     *
+     * @param contentIds collection of content ids
+     * @param responseType declares if content should be serialized or not serialized
+     */
+    void registerContentIds(Collection<String> contentIds, ResponseType responseType);
+
+    /**
+     * Publish update for already existing content in Joystick
+     *
+     * @param contentId id of existing content
+     * @param data includes data to be updated in Joystick
+     * @return future completed when update is published
+     */
+    CompletableFuture<Void> publishContentUpdate(String contentId, PublishData data);
+
+}
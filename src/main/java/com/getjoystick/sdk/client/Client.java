@@ -1,11 +1,15 @@
 package com.getjoystick.sdk.client;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.getjoystick.sdk.errors.ApiUnknownException;
+import com.getjoystick.sdk.errors.JoystickException;
 import com.getjoystick.sdk.models.JoystickContentOptions;
+import com.getjoystick.sdk.models.JoystickContentResult;
 import com.getjoystick.sdk.models.JoystickFullContent;
 import com.getjoystick.sdk.models.PublishData;
 import com.getjoystick.sdk.models.ResponseType;
+import com.getjoystick.sdk.util.JoystickUtil;
 
 import java.io.Closeable;
 import java.io.IOException;
@@ -15,6 +19,11 @@ import java.util.Map;
 /**
  * HTTP client for API communication.
  * For more info check the <a href="https://docs.getjoystick.com/api-reference/">Joystick API reference</a>.
+ * Content returned by the client is cached and shared between calls, so it must be treated as read-only.
+ * Returned {@code JsonNode} trees are read-only and throw {@link UnsupportedOperationException} on modification,
+ * {@code JsonNode.deepCopy()} creates a modifiable copy. Every call returns its own copy of full content.
+ * Stale content, returned while it is revalidated or because Joystick API failed, is reported by
+ * {@link JoystickFullContent#isStale()} for full content, and by the {@code get*Result} methods for other content.
  */
 public interface Client extends Closeable {
 
@@ -28,6 +37,34 @@ public interface Client extends Closeable {
      */
     JsonNode getContent(String contentId);
 
+    /**
+     * Get content from Joystick API by contentId, bound to the type. The returned object may be
+     * shared with other calls of the client, so it must not be modified.
+     *
+     * @param contentId content id in string format
+     * @param type type to bind content to
+     * @param <T> type of returned content
+     * @return configuration content from Joystick bound to the type
+     * @throws JoystickException if content cannot be bound to the type
+     */
+    default <T> T getContent(String contentId, Class<T> type) {
+        return getContent(contentId, type, new JoystickContentOptions(false));
+    }
+
+    /**
+     * Get content from Joystick API by contentId, bound to the generic type. The returned object may be
+     * shared with other calls of the client, so it must not be modified.
+     *
+     * @param contentId content id in string format
+     * @param type reference to the type to bind content to
+     * @param <T> type of returned content
+     * @return configuration content from Joystick bound to the type
+     * @throws JoystickException if content cannot be bound to the type
+     */
+    default <T> T getContent(String contentId, TypeReference<T> type) {
+        return getContent(contentId, type, new JoystickContentOptions(false));
+    }
+
     /**
      * Get serialized content from Joystick API by contentId.
      *
@@ -95,6 +132,36 @@ public interface Client extends Closeable {
      */
     JsonNode getContent(String contentId, JoystickContentOptions contentOptions);
 
+    /**
+     * Get content from Joystick API by contentId, bound to the type. The returned object may be
+     * shared with other calls of the client, so it must not be modified.
+     *
+     * @param contentId content id in string format
+     * @param type type to bind content to
+     * @param contentOptions optional parameters for getting Joystick content
+     * @param <T> type of returned content
+     * @return configuration content from Joystick bound to the type
+     * @throws JoystickException if content cannot be bound to the type
+     */
+    default <T> T getContent(String contentId, Class<T> type, JoystickContentOptions contentOptions) {
+        return JoystickUtil.treeToValue(getContent(contentId, contentOptions), type);
+    }
+
+    /**
+     * Get content from Joystick API by contentId, bound to the generic type. The returned object may be
+     * shared with other calls of the client, so it must not be modified.
+     *
+     * @param contentId content id in string format
+     * @param type reference to the type to bind content to
+     * @param contentOptions optional parameters for getting Joystick content
+     * @param <T> type of returned content
+     * @return configuration content from Joystick bound to the type
+     * @throws JoystickException if content cannot be bound to the type
+     */
+    default <T> T getContent(String contentId, TypeReference<T> type, JoystickContentOptions contentOptions) {
+        return JoystickUtil.treeToValue(getContent(contentId, contentOptions), type);
+    }
+
     /**
      * Get serialized content from Joystick API by contentId.
      *
@@ -160,6 +227,90 @@ public interface Client extends Closeable {
     Map<String, JoystickFullContent<String>> getFullContentsSerialized(Collection<String> contentIds,
                                                                        JoystickContentOptions contentOptions);
 
+    /**
+     * Get content from Joystick API by contentId together with its staleness.
+     *
+     * @param contentId content id in string format
+     * @return configuration content from Joystick and if it is stale
+     * @throws ApiUnknownException if the response body does not contain valid JSON or
+     *                             any unexpected {@link IOException} is thrown.
+     */
+    default JoystickContentResult<JsonNode> getContentResult(String contentId) {
+        return getContentResult(contentId, new JoystickContentOptions(false));
+    }
+
+    /**
+     * Get content from Joystick API by contentId together with its staleness.
+     *
+     * @param contentId content id in string format
+     * @param contentOptions optional parameters for getting Joystick content
+     * @return configuration content from Joystick and if it is stale
+     * @throws ApiUnknownException if the response body does not contain valid JSON or
+     *                             any unexpected {@link IOException} is thrown.
+     */
+    JoystickContentResult<JsonNode> getContentResult(String contentId, JoystickContentOptions contentOptions);
+
+    /**
+     * Get content from Joystick API by contentId, bound to the type, together with its staleness.
+     *
+     * @param contentId content id in string format
+     * @param type type to bind content to
+     * @param contentOptions optional parameters for getting Joystick content
+     * @param <T> type of returned content
+     * @return configuration content from Joystick bound to the type and if it is stale
+     * @throws JoystickException if content cannot be bound to the type
+     */
+    default <T> JoystickContentResult<T> getContentResult(String contentId, Class<T> type,
+                                                          JoystickContentOptions contentOptions) {
+        final JoystickContentResult<JsonNode> result = getContentResult(contentId, contentOptions);
+        return new JoystickContentResult<>(JoystickUtil.treeToValue(result.getContent(), type), result.isStale());
+    }
+
+    /**
+     * Get content from Joystick API by contentId, bound to the generic type, together with its staleness.
+     *
+     * @param contentId content id in string format
+     * @param type reference to the type to bind content to
+     * @param contentOptions optional parameters for getting Joystick content
+     * @param <T> type of returned content
+     * @return configuration content from Joystick bound to the type and if it is stale
+     * @throws JoystickException if content cannot be bound to the type
+     */
+    default <T> JoystickContentResult<T> getContentResult(String contentId, TypeReference<T> type,
+                                                          JoystickContentOptions contentOptions) {
+        final JoystickContentResult<JsonNode> result = getContentResult(contentId, contentOptions);
+        return new JoystickContentResult<>(JoystickUtil.treeToValue(result.getContent(), type), result.isStale());
+    }
+
+    /**
+     * Get serialized content from Joystick API by contentId together with its staleness.
+     *
+     * @param contentId content id in String format
+     * @param contentOptions optional parameters for getting Joystick content
+     * @return Joystick configuration serialized as String and if it is stale
+     */
+    JoystickContentResult<String> getContentSerializedResult(String contentId, JoystickContentOptions contentOptions);
+
+    /**
+     * Get map of configurations for multiple content ids, each together with its staleness
+     *
+     * @param contentIds collection of content ids
+     * @param contentOptions optional parameters for getting Joystick content
+     * @return map of configuration data and its staleness by content id
+     */
+    Map<String, JoystickContentResult<JsonNode>> getContentResults(Collection<String> contentIds,
+                                                                   JoystickContentOptions contentOptions);
+
+    /**
+     * Get map of serialized configurations for multiple content ids, each together with its staleness
+     *
+     * @param contentIds collection of content ids
+     * @param contentOptions optional parameters for getting Joystick content
+     * @return map of serialized to string configuration data and its staleness by content id
+     */
+    Map<String, JoystickContentResult<String>> getContentSerializedResults(Collection<String> contentIds,
+                                                                           JoystickContentOptions contentOptions);
+
     /**
      * Get content from Joystick API by contentIds.
      *
@@ -206,6 +357,27 @@ public interface Client extends Closeable {
      */
     String getContentsAsString(Collection<String> contentIds, ResponseType responseType, boolean fullResponse, boolean refresh);
 
+    /**
+     * Register content ids to be loaded in background and refreshed every refresh interval,
+     * so content is returned from cache without waiting for Joystick API.
+     * All registered content ids are loaded with a single request to Joystick API.
+     *
+     * @param contentIds collection of content ids
+     */
+    default void registerContentIds(Collection<String> contentIds) {
+        registerContentIds(contentIds, ResponseType.NONE);
+    }
+
+    /**
+     * Register content ids to be loaded in background and refreshed every refresh interval,
+     * so content is returned from cache without waiting for Joystick API.
+     * All registered content ids of the same response type are loaded with a single request to Joystick API.
+     *
+     * @param contentIds collection of content ids
+     * @param responseType declares if content should be serialized or not serialized
+     */
+    void registerContentIds(Collection<String> contentIds, ResponseType responseType);
+
     /**
      * Publish update for already existing content in Joystick
      *
@@ -1,19 +1,61 @@
 package com.getjoystick.sdk.client;
 
 import com.getjoystick.sdk.cache.ApiCache;
+import com.getjoystick.sdk.cache.ContentSnapshotStore;
 import com.getjoystick.sdk.cache.impl.ApiCacheLRU;
 import com.getjoystick.sdk.errors.ConfigurationException;
+import com.getjoystick.sdk.models.ContentBundle;
+import com.getjoystick.sdk.util.ApiCacheKeyUtil;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.regex.Pattern;
 
 public class ClientConfig {
-    private String userId;
-    private String apiKey;
-    private String semVer;
-    private Map<Object, Object> params;
-    private int cacheExpirationSeconds;
-    private ApiCache<String, String> cache;
+    /**
+     * Default base URL of Joystick API serving content
+     */
+    public static final String DEFAULT_API_BASE_URL = "https://api.getjoystick.com";
+
+    /**
+     * Default base URL of Joystick API publishing content updates
+     */
+    public static final String DEFAULT_PUBLISH_API_BASE_URL = "https://capi.getjoystick.com";
+
+    private static final String SEM_VER_REGEXP = "^(0|[1-9]\\d*)\\.(0|[1-9]\\d*)\\.(0|[1-9]\\d*)$";
+    private static final Pattern SEM_VER_PATTERN = Pattern.compile(SEM_VER_REGEXP);
+    private static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 20;
+    private static final int DEFAULT_MAX_CONNECTIONS_TOTAL = 50;
+    private static final int DEFAULT_TIMEOUT_MILLIS = 5000;
+    private static final int DEFAULT_KEEP_ALIVE_SECONDS = 30;
+    private static final int DEFAULT_MAX_RETRIES = 0;
+    private static final int DEFAULT_RETRY_BACKOFF_MILLIS = 100;
+    private static final int DEFAULT_MAX_RETRY_BACKOFF_MILLIS = 2000;
+    private static final double DEFAULT_RETRY_BUDGET_RATIO = 0.2;
+    private static final int DEFAULT_CIRCUIT_BREAKER_WINDOW_SIZE = 20;
+    private static final double DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE = 0.5;
+    private static final int DEFAULT_SNAPSHOT_INTERVAL_SECONDS = 30;
+
+    private final String userId;
+    private final String apiKey;
+    private final String semVer;
+    private final Map<Object, Object> params;
+    private final int cacheExpirationSeconds;
+    private final ApiCache<String, String> cache;
+    private final int maxStalenessSeconds;
+    private final int refreshIntervalSeconds;
+    private final int batchWindowMillis;
+    private final TransportSettings transportSettings;
+    private final RetrySettings retrySettings;
+    private final CircuitBreakerSettings circuitBreakerSettings;
+    private final PersistenceSettings persistenceSettings;
+    private volatile String configHash;
+    private volatile String[] cacheKeyPrefixes;
 
     public static ClientConfigBuilder builder() {
         return new OverridedClientConfigBuilder();
@@ -31,15 +73,43 @@ public class ClientConfig {
         return new ApiCacheLRU<>();
     }
 
-    /* default */ ClientConfig(final String userId, final String apiKey, final String semVer,
-                               final Map<Object, Object> params, final int cacheExpirationSeconds,
-                               final ApiCache<String, String> cache) {
-        this.userId = userId;
-        this.apiKey = apiKey;
-        this.semVer = semVer;
-        this.params = params;
-        this.cacheExpirationSeconds = cacheExpirationSeconds;
-        this.cache = cache;
+    /* default */ static void validateSemVersion(final String version) {
+        if (version != null && !SEM_VER_PATTERN.matcher(version).matches()) {
+            throw new ConfigurationException("The semantic version [" + version + "] is incorrect.");
+        }
+    }
+
+    /* default */ ClientConfig(final ClientConfigBuilder builder) {
+        this.userId = builder.userIdSet ? builder.userIdValue : "";
+        this.apiKey = builder.apiKey;
+        this.semVer = builder.semVer;
+        // Params are copied, since the configuration hash calculated from them is kept for cache keys
+        final Map<Object, Object> paramsValue = builder.paramsSet ? builder.paramsValue : defaultParams();
+        this.params = paramsValue == null ? null : Collections.unmodifiableMap(new LinkedHashMap<>(paramsValue));
+        this.cacheExpirationSeconds = builder.cacheExpirationSet
+            ? builder.cacheExpirationSeconds : ApiCacheLRU.DEFAULT_EXPIRATION;
+        if (builder.cacheSet) {
+            this.cache = builder.cacheValue;
+        } else {
+            this.cache = builder.cacheExpirationSet ? defaultCache(builder.cacheExpirationSeconds) : defaultCache();
+        }
+        this.maxStalenessSeconds = builder.maxStalenessSeconds;
+        this.refreshIntervalSeconds = builder.refreshIntervalSet
+            ? builder.refreshIntervalSeconds : this.cacheExpirationSeconds * 3 / 4;
+        this.batchWindowMillis = builder.batchWindowMillis;
+        this.transportSettings = new TransportSettings(builder);
+        this.retrySettings = new RetrySettings(builder);
+        this.circuitBreakerSettings = new CircuitBreakerSettings(builder);
+        this.persistenceSettings = new PersistenceSettings(builder);
+    }
+
+    private static List<String> joinUrls(final String baseUrl, final List<String> fallbackUrls) {
+        final List<String> urls = new ArrayList<>();
+        urls.add(baseUrl);
+        if (fallbackUrls != null) {
+            urls.addAll(fallbackUrls);
+        }
+        return Collections.unmodifiableList(urls);
     }
 
     public String getUserId() {
@@ -62,93 +132,464 @@ public class ClientConfig {
         return this.cacheExpirationSeconds;
     }
 
+    /**
+     * Cache of loaded contents. With {@link com.getjoystick.sdk.cache.impl.ApiCacheCompact} the client keeps
+     * stale, last known good and snapshot contents in the same compact form. Contents restored from the snapshot
+     * store and contents of the bundle are kept as strings until they are loaded from Joystick API.
+     *
+     * @return cache of contents
+     */
     public ApiCache<String, String> getCache() {
         return this.cache;
     }
 
-    @Override
-    public boolean equals(final Object object) {
-        if (object == this) {
-            return true;
-        }
-        if (!(object instanceof ClientConfig)) {
-            return false;
-        }
+    /**
+     * Time in seconds during which expired content is still returned from cache while it is refreshed in background.
+     * Zero means that stale content is never returned. Expired content is also reloaded with a conditional request
+     * and reused if it was not changed. Stale content is kept in the same form as in the cache, in memory
+     * in addition to the cache.
+     *
+     * @return maximum staleness of returned content in seconds
+     */
+    public int getMaxStalenessSeconds() {
+        return this.maxStalenessSeconds;
+    }
 
-        final ClientConfig other = (ClientConfig)object;
+    /**
+     * Interval in seconds between background refreshes of registered content ids.
+     * By default, content is refreshed when 3/4 of cache expiration time has passed.
+     *
+     * @return refresh interval in seconds
+     */
+    public int getRefreshIntervalSeconds() {
+        return this.refreshIntervalSeconds;
+    }
 
-        final Object thisApiKey = this.getApiKey();
-        final Object otherApiKey = other.getApiKey();
-        if (thisApiKey == null) {
-            if (otherApiKey != null) {
-                return false;
-            }
-        } else if (!thisApiKey.equals(otherApiKey)) {
-            return false;
-        }
+    /**
+     * Time in milliseconds during which concurrent requests of single contents missing in cache are collected
+     * and loaded with a single request to Joystick API. Zero means that requests are not batched.
+     *
+     * @return batch window in milliseconds
+     */
+    public int getBatchWindowMillis() {
+        return this.batchWindowMillis;
+    }
 
-        if (this.getCacheExpirationSeconds() != other.getCacheExpirationSeconds()) {
-            return false;
-        }
+    /**
+     * Maximum number of connections to Joystick API host kept in the connection pool.
+     *
+     * @return maximum number of connections per route
+     */
+    public int getMaxConnectionsPerRoute() {
+        return this.transportSettings.getMaxConnectionsPerRoute();
+    }
 
-        final Object thisUserId = this.getUserId();
-        final Object otherUserId = other.getUserId();
-        if (thisUserId == null) {
-            if (otherUserId != null) {
-                return  false;
-            }
-        } else if (!thisUserId.equals(otherUserId)) {
-            return false;
+    /**
+     * Maximum number of connections kept in the connection pool.
+     *
+     * @return maximum number of connections in total
+     */
+    public int getMaxConnectionsTotal() {
+        return this.transportSettings.getMaxConnectionsTotal();
+    }
+
+    /**
+     * Timeout in milliseconds until a new connection is established.
+     *
+     * @return connect timeout in milliseconds
+     */
+    public int getConnectTimeoutMillis() {
+        return this.transportSettings.getConnectTimeoutMillis();
+    }
+
+    /**
+     * Timeout in milliseconds waiting for the response of Joystick API.
+     *
+     * @return response timeout in milliseconds
+     */
+    public int getResponseTimeoutMillis() {
+        return this.transportSettings.getResponseTimeoutMillis();
+    }
+
+    /**
+     * Timeout in milliseconds waiting for a free connection from the connection pool.
+     *
+     * @return connection request timeout in milliseconds
+     */
+    public int getConnectionRequestTimeoutMillis() {
+        return this.transportSettings.getConnectionRequestTimeoutMillis();
+    }
+
+    /**
+     * Time in seconds an idle connection is kept alive, unless Joystick API sends a different keep-alive time.
+     *
+     * @return keep-alive time in seconds
+     */
+    public int getKeepAliveSeconds() {
+        return this.transportSettings.getKeepAliveSeconds();
+    }
+
+    /**
+     * Time in seconds after which idle connections are closed by a background thread. Zero means that idle
+     * connections are not evicted.
+     *
+     * @return idle connection eviction time in seconds
+     */
+    public int getIdleConnectionEvictionSeconds() {
+        return this.transportSettings.getIdleConnectionEvictionSeconds();
+    }
+
+    /**
+     * Base URL of Joystick API serving content, without trailing slash.
+     *
+     * @return content API base URL
+     */
+    public String getApiBaseUrl() {
+        return this.transportSettings.getApiBaseUrl();
+    }
+
+    /**
+     * Base URL of Joystick API accepting content updates, without trailing slash.
+     *
+     * @return publish API base URL
+     */
+    public String getPublishApiBaseUrl() {
+        return this.transportSettings.getPublishApiBaseUrl();
+    }
+
+    /**
+     * Base URLs of Joystick API serving content, used in the given order when the previous URL is not available.
+     *
+     * @return fallback content API base URLs
+     */
+    public List<String> getApiFallbackUrls() {
+        return this.transportSettings.getApiFallbackUrls();
+    }
+
+    /**
+     * Base URLs of Joystick API accepting content updates, used in the given order when the previous URL
+     * is not available.
+     *
+     * @return fallback publish API base URLs
+     */
+    public List<String> getPublishApiFallbackUrls() {
+        return this.transportSettings.getPublishApiFallbackUrls();
+    }
+
+    /**
+     * Maximum number of retries of a request failed because of a connection error or a server error (5xx).
+     * Zero means that requests are not retried.
+     *
+     * @return maximum number of retries
+     */
+    public int getMaxRetries() {
+        return this.retrySettings.getMaxRetries();
+    }
+
+    /**
+     * Backoff in milliseconds before the first retry, doubled for every next retry. Actual wait time is random
+     * between zero and the backoff.
+     *
+     * @return initial retry backoff in milliseconds
+     */
+    public int getRetryBackoffMillis() {
+        return this.retrySettings.getRetryBackoffMillis();
+    }
+
+    /**
+     * Maximum backoff in milliseconds between retries.
+     *
+     * @return maximum retry backoff in milliseconds
+     */
+    public int getMaxRetryBackoffMillis() {
+        return this.retrySettings.getMaxRetryBackoffMillis();
+    }
+
+    /**
+     * Share of requests which can be retried, so retries add at most this share to the load of Joystick API
+     * when it fails. Short bursts of up to 10 retries are allowed.
+     *
+     * @return retry budget as a share of requests, from 0 to 1
+     */
+    public double getRetryBudgetRatio() {
+        return this.retrySettings.getRetryBudgetRatio();
+    }
+
+    /**
+     * Time in milliseconds the circuit breaker stays open after Joystick API was detected to be unavailable.
+     * While open, content requests fail fast or return stale content, then a single probe request is sent
+     * to check if the API recovered. Zero means that circuit breaker is disabled.
+     *
+     * @return circuit breaker open time in milliseconds
+     */
+    public int getCircuitBreakerOpenMillis() {
+        return this.circuitBreakerSettings.getOpenMillis();
+    }
+
+    /**
+     * Number of the latest content requests used to calculate failure rate of Joystick API.
+     *
+     * @return circuit breaker window size
+     */
+    public int getCircuitBreakerWindowSize() {
+        return this.circuitBreakerSettings.getWindowSize();
+    }
+
+    /**
+     * Share of failed or slow requests in the window, which opens the circuit breaker.
+     *
+     * @return failure rate threshold, from 0 to 1
+     */
+    public double getCircuitBreakerFailureRate() {
+        return this.circuitBreakerSettings.getFailureRate();
+    }
+
+    /**
+     * Time in milliseconds after which a successful request is counted as failed by the circuit breaker.
+     * Zero means that only failed requests are counted.
+     *
+     * @return slow call threshold in milliseconds
+     */
+    public int getCircuitBreakerSlowCallMillis() {
+        return this.circuitBreakerSettings.getSlowCallMillis();
+    }
+
+    /**
+     * Maximum number of contents kept as last known good values. Last known good content is never expired,
+     * and it is returned when Joystick API fails with server or connection error. Zero means that last known good
+     * contents are not kept. Content expired in cache is also reloaded with a conditional request and reused
+     * if it was not changed. Last known good content is kept in the same form as in the cache, in memory
+     * in addition to the cache.
+     *
+     * @return maximum number of last known good contents
+     */
+    public int getLastKnownGoodSize() {
+        return this.persistenceSettings.getLastKnownGoodSize();
+    }
+
+    /**
+     * Storage of the snapshot of loaded contents. Contents restored from the snapshot are returned
+     * immediately after restart, while they are reloaded from Joystick API in background. Contents restored
+     * from the snapshot are kept as strings until they are loaded, the latest loaded contents to save are kept
+     * in the same form as in the cache.
+     *
+     * @return content snapshot store or null if snapshot is disabled
+     */
+    public ContentSnapshotStore getSnapshotStore() {
+        return this.persistenceSettings.getSnapshotStore();
+    }
+
+    /**
+     * Minimum time in seconds between saves of the content snapshot. Snapshot is saved only when contents
+     * were changed, and when the client is closed.
+     *
+     * @return snapshot save interval in seconds
+     */
+    public int getSnapshotIntervalSeconds() {
+        return this.persistenceSettings.getSnapshotIntervalSeconds();
+    }
+
+    /**
+     * Contents exported from Joystick, which are returned until the content is loaded from Joystick API
+     * for the first time, so the first calls do not wait for the network. Bundle contents are kept as strings,
+     * even with the compact cache, until they are loaded.
+     *
+     * @return content bundle or null if contents are loaded from Joystick API only
+     */
+    public ContentBundle getContentBundle() {
+        return this.persistenceSettings.getContentBundle();
+    }
+
+    /**
+     * Content API base URL followed by its fallback URLs.
+     *
+     * @return content API base URLs in failover order
+     */
+    public List<String> getApiBaseUrls() {
+        return this.transportSettings.getApiBaseUrls();
+    }
+
+    /**
+     * Publish API base URL followed by its fallback URLs.
+     *
+     * @return publish API base URLs in failover order
+     */
+    public List<String> getPublishApiBaseUrls() {
+        return this.transportSettings.getPublishApiBaseUrls();
+    }
+
+    /**
+     * Connection pool, timeouts and base URLs of Joystick API.
+     *
+     * @return transport settings
+     */
+    public TransportSettings getTransportSettings() {
+        return this.transportSettings;
+    }
+
+    /**
+     * Retries of requests failed because of connection or server errors.
+     *
+     * @return retry settings
+     */
+    public RetrySettings getRetrySettings() {
+        return this.retrySettings;
+    }
+
+    /**
+     * Circuit breaker which stops requests to Joystick API while it is unavailable.
+     *
+     * @return circuit breaker settings
+     */
+    public CircuitBreakerSettings getCircuitBreakerSettings() {
+        return this.circuitBreakerSettings;
+    }
+
+    /**
+     * Last known good contents, content snapshot and content bundle.
+     *
+     * @return persistence settings
+     */
+    public PersistenceSettings getPersistenceSettings() {
+        return this.persistenceSettings;
+    }
+
+    /**
+     * Hash of the values which define content returned by Joystick API, used as a part of cache keys.
+     * The hash is calculated on the first call only, params are copied when the configuration is created,
+     * so changes of the map passed to the builder do not change the hash.
+     *
+     * @return hash of API key, params, semantic version and user id
+     */
+    public String getConfigHash() {
+        String hash = this.configHash;
+        if (hash == null) {
+            hash = ApiCacheKeyUtil.getConfigHash(this);
+            this.configHash = hash;
         }
+        return hash;
+    }
 
-        final Object thisSemVer = this.getSemVer();
-        final Object otherSemVer = other.getSemVer();
-        if (thisSemVer == null) {
-            if (otherSemVer != null) {
-                return false;
-            }
-        } else if (!thisSemVer.equals(otherSemVer)) {
-            return false;
+    /**
+     * Prefix of cache keys of content loaded with this configuration: the configuration hash and the response
+     * format. Prefixes are built on the first call only, so a cache key is built by a single concatenation.
+     *
+     * @param serialized if content is serialized
+     * @param fullResponse if content is in full format
+     * @return cache key prefix
+     */
+    public String getCacheKeyPrefix(final boolean serialized, final boolean fullResponse) {
+        String[] prefixes = this.cacheKeyPrefixes;
+        if (prefixes == null) {
+            prefixes = ApiCacheKeyUtil.getKeyPrefixes(getConfigHash());
+            this.cacheKeyPrefixes = prefixes;
         }
+        return prefixes[(serialized ? 1 : 0) + (fullResponse ? 2 : 0)];
+    }
 
-        final Object thisParams = this.getParams();
-        final Object otherParams = other.getParams();
-        if (thisParams == null) {
-            if (otherParams != null) {
-                return false;
-            }
-        } else if (!thisParams.equals(otherParams)) {
-            return false;
+    /**
+     * Create builder initialized with the values of this configuration, including the cache instance,
+     * so the built configuration shares the cache with this one.
+     *
+     * @return builder with values of this configuration
+     */
+    public ClientConfigBuilder toBuilder() {
+        final ClientConfigBuilder builder = new OverridedClientConfigBuilder();
+        builder.userIdValue = this.userId;
+        builder.userIdSet = true;
+        builder.apiKey = this.apiKey;
+        builder.semVer = this.semVer;
+        builder.paramsValue = this.params;
+        builder.paramsSet = true;
+        builder.cacheExpirationSeconds = this.cacheExpirationSeconds;
+        builder.cacheExpirationSet = true;
+        builder.cacheValue = this.cache;
+        builder.cacheSet = true;
+        builder.maxStalenessSeconds = this.maxStalenessSeconds;
+        builder.refreshIntervalSeconds = this.refreshIntervalSeconds;
+        builder.refreshIntervalSet = true;
+        builder.batchWindowMillis = this.batchWindowMillis;
+        this.transportSettings.copyTo(builder);
+        this.retrySettings.copyTo(builder);
+        this.circuitBreakerSettings.copyTo(builder);
+        this.persistenceSettings.copyTo(builder);
+        return builder;
+    }
+
+    /**
+     * Create configuration for a single call, where user id, parameters and semantic version are overridden
+     * by the values set in the context. Connection settings and cache are shared with this configuration.
+     *
+     * @param context request scoped user context, may be null
+     * @return configuration with applied context, or this configuration if context is not provided
+     */
+    public ClientConfig withContext(final JoystickContext context) {
+        if (context == null) {
+            return this;
+        }
+        final ClientConfigBuilder builder = toBuilder();
+        if (context.getUserId() != null) {
+            builder.setUserId(context.getUserId());
+        }
+        if (context.getParams() != null) {
+            builder.setParams(context.getParams());
+        }
+        if (context.getSemVer() != null) {
+            builder.setSemVer(context.getSemVer());
         }
+        return builder.build();
+    }
+
+    /**
+     * Hide the API key in logged configuration.
+     *
+     * @param apiKey API key
+     * @return masked API key, or null if the key is not set
+     */
+    private static String maskApiKey(final String apiKey) {
+        return apiKey == null ? null : "****";
+    }
 
-        final Object thisCache = this.getCache();
-        final Object otherCache = other.getCache();
-        if (thisCache == null) {
-            return otherCache == null;
+    @Override
+    public boolean equals(final Object object) {
+        if (object == this) {
+            return true;
+        }
+        if (!(object instanceof ClientConfig)) {
+            return false;
         }
-        return thisCache.equals(otherCache);
+        final ClientConfig other = (ClientConfig) object;
+        return this.cacheExpirationSeconds == other.cacheExpirationSeconds
+            && this.maxStalenessSeconds == other.maxStalenessSeconds
+            && this.refreshIntervalSeconds == other.refreshIntervalSeconds
+            && this.batchWindowMillis == other.batchWindowMillis
+            && Objects.equals(this.userId, other.userId)
+            && Objects.equals(this.apiKey, other.apiKey)
+            && Objects.equals(this.semVer, other.semVer)
+            && Objects.equals(this.params, other.params)
+            && Objects.equals(this.cache, other.cache)
+            && this.transportSettings.equals(other.transportSettings)
+            && this.retrySettings.equals(other.retrySettings)
+            && this.circuitBreakerSettings.equals(other.circuitBreakerSettings)
+            && this.persistenceSettings.equals(other.persistenceSettings);
     }
 
     @Override
     public int hashCode() {
-        int result = 1;
-        result = result * 59 + this.getCacheExpirationSeconds();
-        final Object userIdObj = this.getUserId();
-        result = result * 59 + (userIdObj == null ? 43 : userIdObj.hashCode());
-        final Object apiKeyObj = this.getApiKey();
-        result = result * 59 + (apiKeyObj == null ? 43 : apiKeyObj.hashCode());
-        final Object semVerObj = this.getSemVer();
-        result = result * 59 + (semVerObj == null ? 43 : semVerObj.hashCode());
-        final Object paramsObj = this.getParams();
-        result = result * 59 + (paramsObj == null ? 43 : paramsObj.hashCode());
-        final Object cacheObj = this.getCache();
-        result = result * 59 + (cacheObj == null ? 43 : cacheObj.hashCode());
-        return result;
+        return Objects.hash(userId, apiKey, semVer, params, cacheExpirationSeconds, cache, maxStalenessSeconds,
+            refreshIntervalSeconds, batchWindowMillis, transportSettings, retrySettings, circuitBreakerSettings,
+            persistenceSettings);
     }
 
     @Override
     public String toString() {
-        return "ClientConfig(userId=" + this.getUserId() + ", apiKey=" + this.getApiKey() + ", semVer=" + this.getSemVer() + ", params=" + this.getParams() + ", cacheExpirationSeconds=" + this.getCacheExpirationSeconds() + ", cache=" + this.getCache() + ")";
+        return "ClientConfig(userId=" + this.userId + ", apiKey=" + maskApiKey(this.apiKey)
+            + ", semVer=" + this.semVer + ", params=" + this.params
+            + ", cacheExpirationSeconds=" + this.cacheExpirationSeconds + ", cache=" + this.cache
+            + ", maxStalenessSeconds=" + this.maxStalenessSeconds
+            + ", refreshIntervalSeconds=" + this.refreshIntervalSeconds
+            + ", batchWindowMillis=" + this.batchWindowMillis + ", " + this.transportSettings
+            + ", " + this.retrySettings + ", " + this.circuitBreakerSettings + ", " + this.persistenceSettings + ")";
     }
 
     public static class ClientConfigBuilder {
@@ -162,6 +603,33 @@ public class ClientConfig {
         private boolean cacheExpirationSet;
         private boolean cacheSet;
         private ApiCache<String, String> cacheValue;
+        private int maxStalenessSeconds;
+        private boolean refreshIntervalSet;
+        private int refreshIntervalSeconds;
+        private int batchWindowMillis;
+        private int maxConnectionsPerRoute = DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+        private int maxConnectionsTotal = DEFAULT_MAX_CONNECTIONS_TOTAL;
+        private int connectTimeoutMillis = DEFAULT_TIMEOUT_MILLIS;
+        private int responseTimeoutMillis = DEFAULT_TIMEOUT_MILLIS;
+        private int connectionRequestTimeoutMillis = DEFAULT_TIMEOUT_MILLIS;
+        private int keepAliveSeconds = DEFAULT_KEEP_ALIVE_SECONDS;
+        private int idleConnectionEvictionSeconds;
+        private String apiBaseUrl = DEFAULT_API_BASE_URL;
+        private String publishApiBaseUrl = DEFAULT_PUBLISH_API_BASE_URL;
+        private List<String> apiFallbackUrls = Collections.emptyList();
+        private List<String> publishApiFallbackUrls = Collections.emptyList();
+        private int maxRetries = DEFAULT_MAX_RETRIES;
+        private int retryBackoffMillis = DEFAULT_RETRY_BACKOFF_MILLIS;
+        private int maxRetryBackoffMillis = DEFAULT_MAX_RETRY_BACKOFF_MILLIS;
+        private double retryBudgetRatio = DEFAULT_RETRY_BUDGET_RATIO;
+        private int circuitBreakerOpenMillis;
+        private int circuitBreakerWindowSize = DEFAULT_CIRCUIT_BREAKER_WINDOW_SIZE;
+        private double circuitBreakerFailureRate = DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE;
+        private int circuitBreakerSlowCallMillis;
+        private int lastKnownGoodSize;
+        private ContentSnapshotStore snapshotStore;
+        private int snapshotIntervalSeconds = DEFAULT_SNAPSHOT_INTERVAL_SECONDS;
+        private ContentBundle contentBundle;
 
         /* default */ ClientConfigBuilder() {
         }
@@ -200,50 +668,192 @@ public class ClientConfig {
             return this;
         }
 
-        public ClientConfig build() {
-            String thisUserIdValue = this.userIdValue;
-            if (!this.userIdSet) {
-                thisUserIdValue = "";
-            }
+        public ClientConfigBuilder setMaxStalenessSeconds(final int maxStalenessSeconds) {
+            this.maxStalenessSeconds = maxStalenessSeconds;
+            return this;
+        }
 
-            Map<Object, Object> thisParamsValue = this.paramsValue;
-            if (!this.paramsSet) {
-                thisParamsValue = ClientConfig.defaultParams();
-            }
+        public ClientConfigBuilder setRefreshIntervalSeconds(final int refreshIntervalSeconds) {
+            this.refreshIntervalSeconds = refreshIntervalSeconds;
+            this.refreshIntervalSet = true;
+            return this;
+        }
 
-            ApiCache<String, String> thisCacheValue = this.cacheValue;
-            if (!this.cacheSet) {
-                if(!this.cacheExpirationSet) {
-                    thisCacheValue = ClientConfig.defaultCache();
-                } else {
-                    thisCacheValue = ClientConfig.defaultCache(this.cacheExpirationSeconds);
-                }
+        public ClientConfigBuilder setBatchWindowMillis(final int batchWindowMillis) {
+            this.batchWindowMillis = batchWindowMillis;
+            return this;
+        }
+
+        public ClientConfigBuilder setMaxConnectionsPerRoute(final int maxConnectionsPerRoute) {
+            this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+            return this;
+        }
+
+        public ClientConfigBuilder setMaxConnectionsTotal(final int maxConnectionsTotal) {
+            this.maxConnectionsTotal = maxConnectionsTotal;
+            return this;
+        }
+
+        public ClientConfigBuilder setConnectTimeoutMillis(final int connectTimeoutMillis) {
+            this.connectTimeoutMillis = connectTimeoutMillis;
+            return this;
+        }
+
+        public ClientConfigBuilder setResponseTimeoutMillis(final int responseTimeoutMillis) {
+            this.responseTimeoutMillis = responseTimeoutMillis;
+            return this;
+        }
+
+        public ClientConfigBuilder setConnectionRequestTimeoutMillis(final int connectionRequestTimeoutMillis) {
+            this.connectionRequestTimeoutMillis = connectionRequestTimeoutMillis;
+            return this;
+        }
+
+        public ClientConfigBuilder setKeepAliveSeconds(final int keepAliveSeconds) {
+            this.keepAliveSeconds = keepAliveSeconds;
+            return this;
+        }
+
+        public ClientConfigBuilder setIdleConnectionEvictionSeconds(final int idleConnectionEvictionSeconds) {
+            this.idleConnectionEvictionSeconds = idleConnectionEvictionSeconds;
+            return this;
+        }
+
+        public ClientConfigBuilder setApiBaseUrl(final String apiBaseUrl) {
+            this.apiBaseUrl = removeTrailingSlash(apiBaseUrl);
+            return this;
+        }
+
+        public ClientConfigBuilder setPublishApiBaseUrl(final String publishApiBaseUrl) {
+            this.publishApiBaseUrl = removeTrailingSlash(publishApiBaseUrl);
+            return this;
+        }
+
+        public ClientConfigBuilder setApiFallbackUrls(final List<String> apiFallbackUrls) {
+            this.apiFallbackUrls = removeTrailingSlashes(apiFallbackUrls);
+            return this;
+        }
+
+        public ClientConfigBuilder setPublishApiFallbackUrls(final List<String> publishApiFallbackUrls) {
+            this.publishApiFallbackUrls = removeTrailingSlashes(publishApiFallbackUrls);
+            return this;
+        }
+
+        public ClientConfigBuilder setMaxRetries(final int maxRetries) {
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        public ClientConfigBuilder setRetryBackoffMillis(final int retryBackoffMillis) {
+            this.retryBackoffMillis = retryBackoffMillis;
+            return this;
+        }
+
+        public ClientConfigBuilder setMaxRetryBackoffMillis(final int maxRetryBackoffMillis) {
+            this.maxRetryBackoffMillis = maxRetryBackoffMillis;
+            return this;
+        }
+
+        public ClientConfigBuilder setRetryBudgetRatio(final double retryBudgetRatio) {
+            this.retryBudgetRatio = retryBudgetRatio;
+            return this;
+        }
+
+        public ClientConfigBuilder setCircuitBreakerOpenMillis(final int circuitBreakerOpenMillis) {
+            this.circuitBreakerOpenMillis = circuitBreakerOpenMillis;
+            return this;
+        }
+
+        public ClientConfigBuilder setCircuitBreakerWindowSize(final int circuitBreakerWindowSize) {
+            this.circuitBreakerWindowSize = circuitBreakerWindowSize;
+            return this;
+        }
+
+        public ClientConfigBuilder setCircuitBreakerFailureRate(final double circuitBreakerFailureRate) {
+            this.circuitBreakerFailureRate = circuitBreakerFailureRate;
+            return this;
+        }
+
+        public ClientConfigBuilder setCircuitBreakerSlowCallMillis(final int circuitBreakerSlowCallMillis) {
+            this.circuitBreakerSlowCallMillis = circuitBreakerSlowCallMillis;
+            return this;
+        }
+
+        public ClientConfigBuilder setLastKnownGoodSize(final int lastKnownGoodSize) {
+            this.lastKnownGoodSize = lastKnownGoodSize;
+            return this;
+        }
+
+        public ClientConfigBuilder setSnapshotStore(final ContentSnapshotStore snapshotStore) {
+            this.snapshotStore = snapshotStore;
+            return this;
+        }
+
+        public ClientConfigBuilder setSnapshotIntervalSeconds(final int snapshotIntervalSeconds) {
+            this.snapshotIntervalSeconds = snapshotIntervalSeconds;
+            return this;
+        }
+
+        public ClientConfigBuilder setContentBundle(final ContentBundle contentBundle) {
+            this.contentBundle = contentBundle;
+            return this;
+        }
+
+        private static List<String> removeTrailingSlashes(final List<String> urls) {
+            if (urls == null) {
+                return Collections.emptyList();
             }
+            final List<String> result = new ArrayList<>(urls.size());
+            for (final String url : urls) {
+                result.add(removeTrailingSlash(url));
+            }
+            return Collections.unmodifiableList(result);
+        }
 
-            return new ClientConfig(thisUserIdValue, this.apiKey, this.semVer, thisParamsValue,
-                this.cacheExpirationSeconds, thisCacheValue);
+        private static String removeTrailingSlash(final String url) {
+            return url != null && url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+        }
+
+        public ClientConfig build() {
+            return new ClientConfig(this);
         }
 
         @Override
         public String toString() {
-            return "ClientConfig.ClientConfigBuilder(userId$value=" + this.userIdValue + ", apiKey=" + this.apiKey + ", semVer=" + this.semVer + ", params$value=" + this.paramsValue + ", cacheExpirationSeconds=" + this.cacheExpirationSeconds + ", cache$value=" + this.cacheValue + ")";
+            return "ClientConfig.ClientConfigBuilder(userId$value=" + this.userIdValue
+                + ", apiKey=" + maskApiKey(this.apiKey) + ", semVer=" + this.semVer
+                + ", params$value=" + this.paramsValue + ", cacheExpirationSeconds=" + this.cacheExpirationSeconds
+                + ", cache$value=" + this.cacheValue + ", maxStalenessSeconds=" + this.maxStalenessSeconds
+                + ", refreshIntervalSeconds=" + this.refreshIntervalSeconds
+                + ", batchWindowMillis=" + this.batchWindowMillis
+                + ", maxConnectionsPerRoute=" + this.maxConnectionsPerRoute
+                + ", maxConnectionsTotal=" + this.maxConnectionsTotal
+                + ", connectTimeoutMillis=" + this.connectTimeoutMillis
+                + ", responseTimeoutMillis=" + this.responseTimeoutMillis
+                + ", connectionRequestTimeoutMillis=" + this.connectionRequestTimeoutMillis
+                + ", keepAliveSeconds=" + this.keepAliveSeconds
+                + ", idleConnectionEvictionSeconds=" + this.idleConnectionEvictionSeconds
+                + ", apiBaseUrl=" + this.apiBaseUrl + ", publishApiBaseUrl=" + this.publishApiBaseUrl
+                + ", apiFallbackUrls=" + this.apiFallbackUrls
+                + ", publishApiFallbackUrls=" + this.publishApiFallbackUrls + ", maxRetries=" + this.maxRetries
+                + ", retryBackoffMillis=" + this.retryBackoffMillis
+                + ", maxRetryBackoffMillis=" + this.maxRetryBackoffMillis
+                + ", retryBudgetRatio=" + this.retryBudgetRatio
+                + ", circuitBreakerOpenMillis=" + this.circuitBreakerOpenMillis
+                + ", circuitBreakerWindowSize=" + this.circuitBreakerWindowSize
+                + ", circuitBreakerFailureRate=" + this.circuitBreakerFailureRate
+                + ", circuitBreakerSlowCallMillis=" + this.circuitBreakerSlowCallMillis
+                + ", lastKnownGoodSize=" + this.lastKnownGoodSize + ", snapshotStore=" + this.snapshotStore
+                + ", snapshotIntervalSeconds=" + this.snapshotIntervalSeconds
+                + ", contentBundle=" + this.contentBundle + ")";
         }
     }
 
     private static class OverridedClientConfigBuilder extends ClientConfigBuilder {
-        private static final String SEM_VER_REGEXP = "^(0|[1-9]\\d*)\\.(0|[1-9]\\d*)\\.(0|[1-9]\\d*)$";
-        private static final Pattern SEM_VER_PATTERN = Pattern.compile(SEM_VER_REGEXP);
-
         private OverridedClientConfigBuilder() {
             super();
         }
 
-        private void validateSemVersion(final String version) {
-            if (version != null && !SEM_VER_PATTERN.matcher(version).matches()) {
-                throw new ConfigurationException("The semantic version [" + version + "] is incorrect.");
-            }
-        }
-
         private void validateCacheExpiration(final int seconds) {
             if (seconds < 0) {
                 throw new ConfigurationException("Cache expiration time must be defined as seconds and must be positive.");
@@ -252,15 +862,218 @@ public class ClientConfig {
 
         @Override
         public ClientConfigBuilder setSemVer(final String semVer) {
-            this.validateSemVersion(semVer);
+            validateSemVersion(semVer);
             return super.setSemVer(semVer);
         }
 
+        private void validateMaxStaleness(final int seconds) {
+            if (seconds < 0) {
+                throw new ConfigurationException("Max staleness must be defined as seconds and must be positive.");
+            }
+        }
+
+        private void validateRefreshInterval(final int seconds) {
+            if (seconds <= 0) {
+                throw new ConfigurationException("Refresh interval must be defined as seconds and must be positive.");
+            }
+        }
+
+        private void validateBatchWindow(final int millis) {
+            if (millis < 0) {
+                throw new ConfigurationException("Batch window must be defined as milliseconds and must be positive.");
+            }
+        }
+
+        private void validateBaseUrl(final String url, final String message) {
+            if (url == null) {
+                throw new ConfigurationException(message);
+            }
+            try {
+                final URI uri = new URI(url);
+                if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme())
+                    || uri.getHost() == null || uri.getQuery() != null || uri.getFragment() != null) {
+                    throw new ConfigurationException(message);
+                }
+            } catch (URISyntaxException e) {
+                throw new ConfigurationException(message, e);
+            }
+        }
+
+        private void validatePositive(final int value, final String message) {
+            if (value <= 0) {
+                throw new ConfigurationException(message);
+            }
+        }
+
         @Override
         public ClientConfigBuilder setCacheExpirationSeconds(final int cacheTTL) {
             this.validateCacheExpiration(cacheTTL);
             return super.setCacheExpirationSeconds(cacheTTL);
         }
+
+        @Override
+        public ClientConfigBuilder setMaxStalenessSeconds(final int maxStalenessSeconds) {
+            this.validateMaxStaleness(maxStalenessSeconds);
+            return super.setMaxStalenessSeconds(maxStalenessSeconds);
+        }
+
+        @Override
+        public ClientConfigBuilder setRefreshIntervalSeconds(final int refreshIntervalSeconds) {
+            this.validateRefreshInterval(refreshIntervalSeconds);
+            return super.setRefreshIntervalSeconds(refreshIntervalSeconds);
+        }
+
+        @Override
+        public ClientConfigBuilder setBatchWindowMillis(final int batchWindowMillis) {
+            this.validateBatchWindow(batchWindowMillis);
+            return super.setBatchWindowMillis(batchWindowMillis);
+        }
+
+        @Override
+        public ClientConfigBuilder setMaxConnectionsPerRoute(final int maxConnectionsPerRoute) {
+            this.validatePositive(maxConnectionsPerRoute, "Max connections per route must be positive.");
+            return super.setMaxConnectionsPerRoute(maxConnectionsPerRoute);
+        }
+
+        @Override
+        public ClientConfigBuilder setMaxConnectionsTotal(final int maxConnectionsTotal) {
+            this.validatePositive(maxConnectionsTotal, "Max connections total must be positive.");
+            return super.setMaxConnectionsTotal(maxConnectionsTotal);
+        }
+
+        @Override
+        public ClientConfigBuilder setConnectTimeoutMillis(final int connectTimeoutMillis) {
+            this.validatePositive(connectTimeoutMillis, "Connect timeout must be defined as milliseconds and must be positive.");
+            return super.setConnectTimeoutMillis(connectTimeoutMillis);
+        }
+
+        @Override
+        public ClientConfigBuilder setResponseTimeoutMillis(final int responseTimeoutMillis) {
+            this.validatePositive(responseTimeoutMillis, "Response timeout must be defined as milliseconds and must be positive.");
+            return super.setResponseTimeoutMillis(responseTimeoutMillis);
+        }
+
+        @Override
+        public ClientConfigBuilder setConnectionRequestTimeoutMillis(final int connectionRequestTimeoutMillis) {
+            this.validatePositive(connectionRequestTimeoutMillis, "Connection request timeout must be defined as milliseconds and must be positive.");
+            return super.setConnectionRequestTimeoutMillis(connectionRequestTimeoutMillis);
+        }
+
+        @Override
+        public ClientConfigBuilder setKeepAliveSeconds(final int keepAliveSeconds) {
+            this.validatePositive(keepAliveSeconds, "Keep-alive time must be defined as seconds and must be positive.");
+            return super.setKeepAliveSeconds(keepAliveSeconds);
+        }
+
+        @Override
+        public ClientConfigBuilder setIdleConnectionEvictionSeconds(final int idleConnectionEvictionSeconds) {
+            if (idleConnectionEvictionSeconds < 0) {
+                throw new ConfigurationException("Idle connection eviction time must be defined as seconds and must be positive.");
+            }
+            return super.setIdleConnectionEvictionSeconds(idleConnectionEvictionSeconds);
+        }
+        @Override
+        public ClientConfigBuilder setApiBaseUrl(final String apiBaseUrl) {
+            this.validateBaseUrl(apiBaseUrl, "API base URL must be an absolute http or https URL.");
+            return super.setApiBaseUrl(apiBaseUrl);
+        }
+
+        @Override
+        public ClientConfigBuilder setPublishApiBaseUrl(final String publishApiBaseUrl) {
+            this.validateBaseUrl(publishApiBaseUrl, "Publish API base URL must be an absolute http or https URL.");
+            return super.setPublishApiBaseUrl(publishApiBaseUrl);
+        }
+
+        @Override
+        public ClientConfigBuilder setApiFallbackUrls(final List<String> apiFallbackUrls) {
+            if (apiFallbackUrls != null) {
+                apiFallbackUrls.forEach(url ->
+                    this.validateBaseUrl(url, "API fallback URL must be an absolute http or https URL."));
+            }
+            return super.setApiFallbackUrls(apiFallbackUrls);
+        }
+
+        @Override
+        public ClientConfigBuilder setPublishApiFallbackUrls(final List<String> publishApiFallbackUrls) {
+            if (publishApiFallbackUrls != null) {
+                publishApiFallbackUrls.forEach(url ->
+                    this.validateBaseUrl(url, "Publish API fallback URL must be an absolute http or https URL."));
+            }
+            return super.setPublishApiFallbackUrls(publishApiFallbackUrls);
+        }
+
+        @Override
+        public ClientConfigBuilder setMaxRetries(final int maxRetries) {
+            if (maxRetries < 0) {
+                throw new ConfigurationException("Max retries must be positive.");
+            }
+            return super.setMaxRetries(maxRetries);
+        }
+
+        @Override
+        public ClientConfigBuilder setRetryBackoffMillis(final int retryBackoffMillis) {
+            this.validatePositive(retryBackoffMillis, "Retry backoff must be defined as milliseconds and must be positive.");
+            return super.setRetryBackoffMillis(retryBackoffMillis);
+        }
+
+        @Override
+        public ClientConfigBuilder setMaxRetryBackoffMillis(final int maxRetryBackoffMillis) {
+            this.validatePositive(maxRetryBackoffMillis, "Max retry backoff must be defined as milliseconds and must be positive.");
+            return super.setMaxRetryBackoffMillis(maxRetryBackoffMillis);
+        }
+
+        @Override
+        public ClientConfigBuilder setRetryBudgetRatio(final double retryBudgetRatio) {
+            if (!(retryBudgetRatio >= 0 && retryBudgetRatio <= 1)) {
+                throw new ConfigurationException("Retry budget ratio must be between 0 and 1.");
+            }
+            return super.setRetryBudgetRatio(retryBudgetRatio);
+        }
+
+        @Override
+        public ClientConfigBuilder setCircuitBreakerOpenMillis(final int circuitBreakerOpenMillis) {
+            if (circuitBreakerOpenMillis < 0) {
+                throw new ConfigurationException("Circuit breaker open time must be defined as milliseconds and must be positive.");
+            }
+            return super.setCircuitBreakerOpenMillis(circuitBreakerOpenMillis);
+        }
+
+        @Override
+        public ClientConfigBuilder setCircuitBreakerWindowSize(final int circuitBreakerWindowSize) {
+            this.validatePositive(circuitBreakerWindowSize, "Circuit breaker window size must be positive.");
+            return super.setCircuitBreakerWindowSize(circuitBreakerWindowSize);
+        }
+
+        @Override
+        public ClientConfigBuilder setCircuitBreakerFailureRate(final double circuitBreakerFailureRate) {
+            if (!(circuitBreakerFailureRate > 0 && circuitBreakerFailureRate <= 1)) {
+                throw new ConfigurationException("Circuit breaker failure rate must be greater than 0 and not greater than 1.");
+            }
+            return super.setCircuitBreakerFailureRate(circuitBreakerFailureRate);
+        }
+
+        @Override
+        public ClientConfigBuilder setCircuitBreakerSlowCallMillis(final int circuitBreakerSlowCallMillis) {
+            if (circuitBreakerSlowCallMillis < 0) {
+                throw new ConfigurationException("Circuit breaker slow call time must be defined as milliseconds and must be positive.");
+            }
+            return super.setCircuitBreakerSlowCallMillis(circuitBreakerSlowCallMillis);
+        }
+
+        @Override
+        public ClientConfigBuilder setLastKnownGoodSize(final int lastKnownGoodSize) {
+            if (lastKnownGoodSize < 0) {
+                throw new ConfigurationException("Last known good size must be positive.");
+            }
+            return super.setLastKnownGoodSize(lastKnownGoodSize);
+        }
+
+        @Override
+        public ClientConfigBuilder setSnapshotIntervalSeconds(final int snapshotIntervalSeconds) {
+            this.validatePositive(snapshotIntervalSeconds, "Snapshot interval must be defined as seconds and must be positive.");
+            return super.setSnapshotIntervalSeconds(snapshotIntervalSeconds);
+        }
+
         @Override
         public ClientConfig build() {
             if (super.apiKey != null && !super.apiKey.trim().isEmpty()) {
@@ -270,4 +1083,350 @@ public class ClientConfig {
             }
         }
     }
+
+    /**
+     * Connection pool, timeouts and base URLs of Joystick API, shared by the configurations created
+     * for request contexts.
+     */
+    public static final class TransportSettings {
+        private final int maxConnectionsPerRoute;
+        private final int maxConnectionsTotal;
+        private final int connectTimeoutMillis;
+        private final int responseTimeoutMillis;
+        private final int connectionRequestTimeoutMillis;
+        private final int keepAliveSeconds;
+        private final int idleConnectionEvictionSeconds;
+        private final String apiBaseUrl;
+        private final String publishApiBaseUrl;
+        private final List<String> apiFallbackUrls;
+        private final List<String> publishApiFallbackUrls;
+        private final List<String> apiBaseUrls;
+        private final List<String> publishApiBaseUrls;
+
+        /* default */ TransportSettings(final ClientConfigBuilder builder) {
+            this.maxConnectionsPerRoute = builder.maxConnectionsPerRoute;
+            this.maxConnectionsTotal = builder.maxConnectionsTotal;
+            this.connectTimeoutMillis = builder.connectTimeoutMillis;
+            this.responseTimeoutMillis = builder.responseTimeoutMillis;
+            this.connectionRequestTimeoutMillis = builder.connectionRequestTimeoutMillis;
+            this.keepAliveSeconds = builder.keepAliveSeconds;
+            this.idleConnectionEvictionSeconds = builder.idleConnectionEvictionSeconds;
+            this.apiBaseUrl = builder.apiBaseUrl;
+            this.publishApiBaseUrl = builder.publishApiBaseUrl;
+            this.apiFallbackUrls = builder.apiFallbackUrls;
+            this.publishApiFallbackUrls = builder.publishApiFallbackUrls;
+            this.apiBaseUrls = joinUrls(apiBaseUrl, apiFallbackUrls);
+            this.publishApiBaseUrls = joinUrls(publishApiBaseUrl, publishApiFallbackUrls);
+        }
+
+        /* default */ void copyTo(final ClientConfigBuilder builder) {
+            builder.maxConnectionsPerRoute = this.maxConnectionsPerRoute;
+            builder.maxConnectionsTotal = this.maxConnectionsTotal;
+            builder.connectTimeoutMillis = this.connectTimeoutMillis;
+            builder.responseTimeoutMillis = this.responseTimeoutMillis;
+            builder.connectionRequestTimeoutMillis = this.connectionRequestTimeoutMillis;
+            builder.keepAliveSeconds = this.keepAliveSeconds;
+            builder.idleConnectionEvictionSeconds = this.idleConnectionEvictionSeconds;
+            builder.apiBaseUrl = this.apiBaseUrl;
+            builder.publishApiBaseUrl = this.publishApiBaseUrl;
+            builder.apiFallbackUrls = this.apiFallbackUrls;
+            builder.publishApiFallbackUrls = this.publishApiFallbackUrls;
+        }
+
+        public int getMaxConnectionsPerRoute() {
+            return this.maxConnectionsPerRoute;
+        }
+
+        public int getMaxConnectionsTotal() {
+            return this.maxConnectionsTotal;
+        }
+
+        public int getConnectTimeoutMillis() {
+            return this.connectTimeoutMillis;
+        }
+
+        public int getResponseTimeoutMillis() {
+            return this.responseTimeoutMillis;
+        }
+
+        public int getConnectionRequestTimeoutMillis() {
+            return this.connectionRequestTimeoutMillis;
+        }
+
+        public int getKeepAliveSeconds() {
+            return this.keepAliveSeconds;
+        }
+
+        public int getIdleConnectionEvictionSeconds() {
+            return this.idleConnectionEvictionSeconds;
+        }
+
+        public String getApiBaseUrl() {
+            return this.apiBaseUrl;
+        }
+
+        public String getPublishApiBaseUrl() {
+            return this.publishApiBaseUrl;
+        }
+
+        public List<String> getApiFallbackUrls() {
+            return this.apiFallbackUrls;
+        }
+
+        public List<String> getPublishApiFallbackUrls() {
+            return this.publishApiFallbackUrls;
+        }
+
+        public List<String> getApiBaseUrls() {
+            return this.apiBaseUrls;
+        }
+
+        public List<String> getPublishApiBaseUrls() {
+            return this.publishApiBaseUrls;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (object == this) {
+                return true;
+            }
+            if (!(object instanceof TransportSettings)) {
+                return false;
+            }
+            final TransportSettings other = (TransportSettings) object;
+            return this.maxConnectionsPerRoute == other.maxConnectionsPerRoute
+                && this.maxConnectionsTotal == other.maxConnectionsTotal
+                && this.connectTimeoutMillis == other.connectTimeoutMillis
+                && this.responseTimeoutMillis == other.responseTimeoutMillis
+                && this.connectionRequestTimeoutMillis == other.connectionRequestTimeoutMillis
+                && this.keepAliveSeconds == other.keepAliveSeconds
+                && this.idleConnectionEvictionSeconds == other.idleConnectionEvictionSeconds
+                && Objects.equals(this.apiBaseUrl, other.apiBaseUrl)
+                && Objects.equals(this.publishApiBaseUrl, other.publishApiBaseUrl)
+                && Objects.equals(this.apiFallbackUrls, other.apiFallbackUrls)
+                && Objects.equals(this.publishApiFallbackUrls, other.publishApiFallbackUrls);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(maxConnectionsPerRoute, maxConnectionsTotal, connectTimeoutMillis,
+                responseTimeoutMillis, connectionRequestTimeoutMillis, keepAliveSeconds, idleConnectionEvictionSeconds,
+                apiBaseUrl, publishApiBaseUrl, apiFallbackUrls, publishApiFallbackUrls);
+        }
+
+        @Override
+        public String toString() {
+            return "TransportSettings(maxConnectionsPerRoute=" + this.maxConnectionsPerRoute
+                + ", maxConnectionsTotal=" + this.maxConnectionsTotal
+                + ", connectTimeoutMillis=" + this.connectTimeoutMillis
+                + ", responseTimeoutMillis=" + this.responseTimeoutMillis
+                + ", connectionRequestTimeoutMillis=" + this.connectionRequestTimeoutMillis
+                + ", keepAliveSeconds=" + this.keepAliveSeconds
+                + ", idleConnectionEvictionSeconds=" + this.idleConnectionEvictionSeconds
+                + ", apiBaseUrl=" + this.apiBaseUrl + ", publishApiBaseUrl=" + this.publishApiBaseUrl
+                + ", apiFallbackUrls=" + this.apiFallbackUrls
+                + ", publishApiFallbackUrls=" + this.publishApiFallbackUrls + ")";
+        }
+    }
+
+    /**
+     * Retries of requests failed because of connection or server errors.
+     */
+    public static final class RetrySettings {
+        private final int maxRetries;
+        private final int retryBackoffMillis;
+        private final int maxRetryBackoffMillis;
+        private final double retryBudgetRatio;
+
+        /* default */ RetrySettings(final ClientConfigBuilder builder) {
+            this.maxRetries = builder.maxRetries;
+            this.retryBackoffMillis = builder.retryBackoffMillis;
+            this.maxRetryBackoffMillis = builder.maxRetryBackoffMillis;
+            this.retryBudgetRatio = builder.retryBudgetRatio;
+        }
+
+        /* default */ void copyTo(final ClientConfigBuilder builder) {
+            builder.maxRetries = this.maxRetries;
+            builder.retryBackoffMillis = this.retryBackoffMillis;
+            builder.maxRetryBackoffMillis = this.maxRetryBackoffMillis;
+            builder.retryBudgetRatio = this.retryBudgetRatio;
+        }
+
+        public int getMaxRetries() {
+            return this.maxRetries;
+        }
+
+        public int getRetryBackoffMillis() {
+            return this.retryBackoffMillis;
+        }
+
+        public int getMaxRetryBackoffMillis() {
+            return this.maxRetryBackoffMillis;
+        }
+
+        public double getRetryBudgetRatio() {
+            return this.retryBudgetRatio;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (object == this) {
+                return true;
+            }
+            if (!(object instanceof RetrySettings)) {
+                return false;
+            }
+            final RetrySettings other = (RetrySettings) object;
+            return this.maxRetries == other.maxRetries
+                && this.retryBackoffMillis == other.retryBackoffMillis
+                && this.maxRetryBackoffMillis == other.maxRetryBackoffMillis
+                && Double.compare(this.retryBudgetRatio, other.retryBudgetRatio) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(maxRetries, retryBackoffMillis, maxRetryBackoffMillis, retryBudgetRatio);
+        }
+
+        @Override
+        public String toString() {
+            return "RetrySettings(maxRetries=" + this.maxRetries + ", retryBackoffMillis=" + this.retryBackoffMillis
+                + ", maxRetryBackoffMillis=" + this.maxRetryBackoffMillis
+                + ", retryBudgetRatio=" + this.retryBudgetRatio + ")";
+        }
+    }
+
+    /**
+     * Circuit breaker which stops requests to Joystick API while it is unavailable.
+     */
+    public static final class CircuitBreakerSettings {
+        private final int openMillis;
+        private final int windowSize;
+        private final double failureRate;
+        private final int slowCallMillis;
+
+        /* default */ CircuitBreakerSettings(final ClientConfigBuilder builder) {
+            this.openMillis = builder.circuitBreakerOpenMillis;
+            this.windowSize = builder.circuitBreakerWindowSize;
+            this.failureRate = builder.circuitBreakerFailureRate;
+            this.slowCallMillis = builder.circuitBreakerSlowCallMillis;
+        }
+
+        /* default */ void copyTo(final ClientConfigBuilder builder) {
+            builder.circuitBreakerOpenMillis = this.openMillis;
+            builder.circuitBreakerWindowSize = this.windowSize;
+            builder.circuitBreakerFailureRate = this.failureRate;
+            builder.circuitBreakerSlowCallMillis = this.slowCallMillis;
+        }
+
+        public int getOpenMillis() {
+            return this.openMillis;
+        }
+
+        public int getWindowSize() {
+            return this.windowSize;
+        }
+
+        public double getFailureRate() {
+            return this.failureRate;
+        }
+
+        public int getSlowCallMillis() {
+            return this.slowCallMillis;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (object == this) {
+                return true;
+            }
+            if (!(object instanceof CircuitBreakerSettings)) {
+                return false;
+            }
+            final CircuitBreakerSettings other = (CircuitBreakerSettings) object;
+            return this.openMillis == other.openMillis
+                && this.windowSize == other.windowSize
+                && Double.compare(this.failureRate, other.failureRate) == 0
+                && this.slowCallMillis == other.slowCallMillis;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(openMillis, windowSize, failureRate, slowCallMillis);
+        }
+
+        @Override
+        public String toString() {
+            return "CircuitBreakerSettings(openMillis=" + this.openMillis + ", windowSize=" + this.windowSize
+                + ", failureRate=" + this.failureRate + ", slowCallMillis=" + this.slowCallMillis + ")";
+        }
+    }
+
+    /**
+     * Last known good contents, content snapshot and content bundle, which keep contents available
+     * when Joystick API cannot be reached.
+     */
+    public static final class PersistenceSettings {
+        private final int lastKnownGoodSize;
+        private final ContentSnapshotStore snapshotStore;
+        private final int snapshotIntervalSeconds;
+        private final ContentBundle contentBundle;
+
+        /* default */ PersistenceSettings(final ClientConfigBuilder builder) {
+            this.lastKnownGoodSize = builder.lastKnownGoodSize;
+            this.snapshotStore = builder.snapshotStore;
+            this.snapshotIntervalSeconds = builder.snapshotIntervalSeconds;
+            this.contentBundle = builder.contentBundle;
+        }
+
+        /* default */ void copyTo(final ClientConfigBuilder builder) {
+            builder.lastKnownGoodSize = this.lastKnownGoodSize;
+            builder.snapshotStore = this.snapshotStore;
+            builder.snapshotIntervalSeconds = this.snapshotIntervalSeconds;
+            builder.contentBundle = this.contentBundle;
+        }
+
+        public int getLastKnownGoodSize() {
+            return this.lastKnownGoodSize;
+        }
+
+        public ContentSnapshotStore getSnapshotStore() {
+            return this.snapshotStore;
+        }
+
+        public int getSnapshotIntervalSeconds() {
+            return this.snapshotIntervalSeconds;
+        }
+
+        public ContentBundle getContentBundle() {
+            return this.contentBundle;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (object == this) {
+                return true;
+            }
+            if (!(object instanceof PersistenceSettings)) {
+                return false;
+            }
+            final PersistenceSettings other = (PersistenceSettings) object;
+            return this.lastKnownGoodSize == other.lastKnownGoodSize
+                && this.snapshotIntervalSeconds == other.snapshotIntervalSeconds
+                && Objects.equals(this.snapshotStore, other.snapshotStore)
+                && Objects.equals(this.contentBundle, other.contentBundle);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(lastKnownGoodSize, snapshotStore, snapshotIntervalSeconds, contentBundle);
+        }
+
+        @Override
+        public String toString() {
+            return "PersistenceSettings(lastKnownGoodSize=" + this.lastKnownGoodSize
+                + ", snapshotStore=" + this.snapshotStore + ", snapshotIntervalSeconds=" + this.snapshotIntervalSeconds
+                + ", contentBundle=" + this.contentBundle + ")";
+        }
+    }
 }
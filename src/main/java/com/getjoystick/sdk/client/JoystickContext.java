@@ -0,0 +1,126 @@
+package com.getjoystick.sdk.client;
+
+import java.util.Map;
+
+/**
+ * Request scoped user context, which overrides user id, parameters and semantic version of the client configuration
+ * for a single call. Allows to get content for different users with one client, sharing its connections and cache.
+ * Values which are not set are taken from the client configuration.
+ */
+public class JoystickContext {
+    private final String userId;
+    private final Map<Object, Object> params;
+    private final String semVer;
+
+    public static JoystickContextBuilder builder() {
+        return new JoystickContextBuilder();
+    }
+
+    /* default */ JoystickContext(final String userId, final Map<Object, Object> params, final String semVer) {
+        this.userId = userId;
+        this.params = params;
+        this.semVer = semVer;
+    }
+
+    public String getUserId() {
+        return this.userId;
+    }
+
+    public Map<Object, Object> getParams() {
+        return this.params;
+    }
+
+    public String getSemVer() {
+        return this.semVer;
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        if (object == this) {
+            return true;
+        }
+        if (!(object instanceof JoystickContext)) {
+            return false;
+        }
+        final JoystickContext other = (JoystickContext)object;
+
+        final Object thisUserId = this.getUserId();
+        final Object otherUserId = other.getUserId();
+        if (thisUserId == null) {
+            if (otherUserId != null) {
+                return false;
+            }
+        } else if (!thisUserId.equals(otherUserId)) {
+            return false;
+        }
+
+        final Object thisParams = this.getParams();
+        final Object otherParams = other.getParams();
+        if (thisParams == null) {
+            if (otherParams != null) {
+                return false;
+            }
+        } else if (!thisParams.equals(otherParams)) {
+            return false;
+        }
+
+        final Object thisSemVer = this.getSemVer();
+        final Object otherSemVer = other.getSemVer();
+        if (thisSemVer == null) {
+            return otherSemVer == null;
+        }
+        return thisSemVer.equals(otherSemVer);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        final Object userIdObj = this.getUserId();
+        result = result * 59 + (userIdObj == null ? 43 : userIdObj.hashCode());
+        final Object paramsObj = this.getParams();
+        result = result * 59 + (paramsObj == null ? 43 : paramsObj.hashCode());
+        final Object semVerObj = this.getSemVer();
+        result = result * 59 + (semVerObj == null ? 43 : semVerObj.hashCode());
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "JoystickContext(userId=" + this.getUserId() + ", params=" + this.getParams() + ", semVer=" + this.getSemVer() + ")";
+    }
+
+    public static class JoystickContextBuilder {
+        private String userId;
+        private Map<Object, Object> params;
+        private String semVer;
+
+        /* default */ JoystickContextBuilder() {
+        }
+
+        public JoystickContextBuilder setUserId(final String userId) {
+            this.userId = userId;
+            return this;
+        }
+
+        public JoystickContextBuilder setParams(final Map<Object, Object> params) {
+            this.params = params;
+            return this;
+        }
+
+        public JoystickContextBuilder setSemVer(final String semVer) {
+            ClientConfig.validateSemVersion(semVer);
+            this.semVer = semVer;
+            return this;
+        }
+
+        public JoystickContext build() {
+            return new JoystickContext(this.userId, this.params, this.semVer);
+        }
+
+        @Override
+        public String toString() {
+            return "JoystickContext.JoystickContextBuilder(userId=" + this.userId + ", params=" + this.params + ", semVer=" + this.semVer + ")";
+        }
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.getjoystick.sdk.client;
+
+import java.io.Closeable;
+
+/**
+ * HTTP transport shared by several clients: connection pools, TLS sessions and I/O threads.
+ * Clients created on a shared transport do not close it, so the transport must be closed
+ * after all of its clients are no longer used.
+ */
+public interface JoystickTransport extends Closeable {
+
+    /**
+     * Immediately close all connections of the transport.
+     */
+    @Override
+    void close();
+
+}
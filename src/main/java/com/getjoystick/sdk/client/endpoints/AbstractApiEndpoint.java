@@ -7,6 +7,7 @@ import com.getjoystick.sdk.errors.ApiServerException;
 import com.getjoystick.sdk.errors.ApiUnknownException;
 import com.getjoystick.sdk.models.RequestBody;
 import com.getjoystick.sdk.util.JoystickUtil;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
 import org.apache.hc.core5.http.*;
 import org.apache.hc.core5.http.io.entity.HttpEntities;
 import org.apache.hc.core5.http.message.StatusLine;
@@ -14,6 +15,7 @@ import org.apache.hc.core5.http.message.StatusLine;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 public abstract class AbstractApiEndpoint {
@@ -24,13 +26,61 @@ public abstract class AbstractApiEndpoint {
     protected ClientConfig config;
 
     /**
-     * Provides REST API endpoint URL.
+     * Provides REST API endpoint URL on the primary API base URL. Subclasses override either this method
+     * or {@link #getUrl(String)}.
      *
      * @return REST API endpoint of the exact implementation.
      */
-    public abstract String getUrl();
+    public String getUrl() {
+        return getUrl(getBaseUrls().get(0));
+    }
+
+    /**
+     * Provides REST API endpoint URL on the given API base URL. Subclasses override either this method
+     * or {@link #getUrl()}, an endpoint overriding only {@link #getUrl()} is always called on its URL,
+     * without fallback URLs.
+     *
+     * @param baseUrl API base URL, without trailing slash
+     * @return REST API endpoint of the exact implementation.
+     */
+    public String getUrl(final String baseUrl) {
+        return getUrl();
+    }
+
+    /**
+     * Provides base URLs of the API serving the endpoint, in failover order.
+     *
+     * @return API base URLs
+     */
+    public List<String> getBaseUrls() {
+        return config.getApiBaseUrls();
+    }
+
+    public ClientConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Get content hash for the configuration the endpoint was created with. Subclasses override either this
+     * method or the deprecated {@link #getContentHash(ClientConfig)}.
+     *
+     * @return content hash in String format
+     */
+    public String getContentHash() {
+        return getContentHash(config);
+    }
 
-    public abstract String getContentHash(ClientConfig config);
+    /**
+     * Get content hash for the given configuration.
+     *
+     * @param config client configuration
+     * @return content hash in String format
+     * @deprecated the endpoint is bound to its configuration, use {@link #getContentHash()}
+     */
+    @Deprecated
+    public String getContentHash(final ClientConfig config) {
+        return getContentHash();
+    }
 
     /**
      * Provide query parameters for request
@@ -54,6 +104,18 @@ public abstract class AbstractApiEndpoint {
         }
     }
 
+    public JsonNode parseResponseToJson(final SimpleHttpResponse response) {
+        final byte[] responseBody = response.getBodyBytes();
+        if (responseBody == null) {
+            throw new ApiUnknownException("Response body is empty");
+        }
+        try {
+            return JoystickUtil.readTree(responseBody);
+        } catch (Exception exception) {
+            throw new ApiUnknownException("Response is not in JSON format", exception);
+        }
+    }
+
 
     /**
      * Provides {@link RequestBody} instance to make a call on REST API endpoint.
@@ -93,7 +155,13 @@ public abstract class AbstractApiEndpoint {
         return formatJsonResponse(jsonResponse);
     }
 
-    public void processCommonResponseErrors (final ClassicHttpResponse response) {
+    public JsonNode processResponse(final SimpleHttpResponse response) {
+        processCommonResponseErrors(response);
+        final JsonNode jsonResponse =  parseResponseToJson(response);
+        return formatJsonResponse(jsonResponse);
+    }
+
+    public void processCommonResponseErrors (final HttpResponse response) {
         if (response.getCode() >= HttpStatus.SC_SERVER_ERROR) {
             throw new ApiServerException(new StatusLine(response).toString());
         }
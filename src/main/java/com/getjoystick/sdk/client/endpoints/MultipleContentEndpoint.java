@@ -1,28 +1,40 @@
 package com.getjoystick.sdk.client.endpoints;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.JsonNodeType;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.getjoystick.sdk.client.ClientConfig;
+import com.getjoystick.sdk.errors.ApiUnknownException;
 import com.getjoystick.sdk.errors.ConfigurationException;
 import com.getjoystick.sdk.errors.MultipleContentsApiException;
 import com.getjoystick.sdk.util.ApiCacheKeyUtil;
 import com.getjoystick.sdk.util.JoystickUtil;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.core5.http.NameValuePair;
 import org.apache.hc.core5.http.message.BasicNameValuePair;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 public class MultipleContentEndpoint extends AbstractApiEndpoint {
 
     private static final String PARAM_CONTENT_IDS = "c";
     private static final String PARAM_DYNAMIC = "dynamic";
-    private static final String MULTI_CONFIG_URL = "https://api.getjoystick.com/api/v1/combine/";
+    private static final String MULTI_CONFIG_PATH = "/api/v1/combine/";
 
     private final Collection<String> contentIds;
 
@@ -42,8 +54,8 @@ public class MultipleContentEndpoint extends AbstractApiEndpoint {
     }
 
     @Override
-    public String getUrl() {
-        return MULTI_CONFIG_URL;
+    public String getUrl(final String baseUrl) {
+        return baseUrl + MULTI_CONFIG_PATH;
     }
 
     private boolean isSerialized() {
@@ -66,12 +78,12 @@ public class MultipleContentEndpoint extends AbstractApiEndpoint {
     }
 
     /**
-     * Generate content hash
+     * Generate content hash for the configuration the endpoint was created with
      *
      * @return content hash in String format
      */
     @Override
-    public String getContentHash(final ClientConfig config) {
+    public String getContentHash() {
         return ApiCacheKeyUtil.getHash(config, contentIds, isSerialized(), fullResponse);
     }
 
@@ -87,6 +99,94 @@ public class MultipleContentEndpoint extends AbstractApiEndpoint {
         return fullResponse ? jsonNode : extractDataNodesOnly(jsonNode);
     }
 
+    /**
+     * Read response with streaming parser and pass every content in full format to the consumer as soon as
+     * it is read, so the tree of the whole response is never built.
+     *
+     * @param response response of the endpoint
+     * @param consumer receives content id and full content
+     * @throws IOException if the response cannot be read
+     * @throws MultipleContentsApiException if the response contains errors, after the whole response is read
+     */
+    public void readContents(final ClassicHttpResponse response, final BiConsumer<String, JsonNode> consumer)
+        throws IOException {
+        processCommonResponseErrors(response);
+        try (HttpEntity responseEntity = response.getEntity()) {
+            if (responseEntity == null) {
+                throw new ApiUnknownException("Response body is empty");
+            }
+            try (InputStream inputStream = responseEntity.getContent()) {
+                readContents(inputStream, consumer);
+            }
+        }
+    }
+
+    /**
+     * Read response with streaming parser and write every content, in full or data only format of the endpoint,
+     * to JSON object of contents by content id, so the tree of the whole response is never built.
+     *
+     * @param response response of the endpoint
+     * @return JSON of contents by content id
+     * @throws IOException if the response cannot be read
+     * @throws MultipleContentsApiException if the response contains errors, after the whole response is read
+     */
+    public String readContentsAsString(final ClassicHttpResponse response) throws IOException {
+        final StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = JoystickUtil.createGenerator(writer)) {
+            generator.writeStartObject();
+            readContents(response, (contentId, content) -> {
+                try {
+                    generator.writeFieldName(contentId);
+                    generator.writeTree(fullResponse ? content : content.findValue(NODE_DATA));
+                } catch (IOException exception) {
+                    throw new ApiUnknownException("Response is not in JSON format", exception);
+                }
+            });
+            generator.writeEndObject();
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Read response with streaming parser and pass every content in full format to the consumer as soon as
+     * it is read, so the tree of the whole response is never built.
+     *
+     * @param response response of the endpoint
+     * @param consumer receives content id and full content
+     * @throws MultipleContentsApiException if the response contains errors, after the whole response is read
+     */
+    public void readContents(final SimpleHttpResponse response, final BiConsumer<String, JsonNode> consumer) {
+        processCommonResponseErrors(response);
+        final byte[] responseBody = response.getBodyBytes();
+        if (responseBody == null) {
+            throw new ApiUnknownException("Response body is empty");
+        }
+        readContents(new ByteArrayInputStream(responseBody), consumer);
+    }
+
+    private void readContents(final InputStream inputStream, final BiConsumer<String, JsonNode> consumer) {
+        final Map<String, JsonNode> errorMap = new HashMap<>();
+        try (JsonParser parser = JoystickUtil.createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new ApiUnknownException("Response is not in JSON format");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String contentId = parser.getCurrentName();
+                final JsonToken valueToken = parser.nextToken();
+                if (valueToken == JsonToken.START_OBJECT) {
+                    consumer.accept(contentId, parser.readValueAsTree());
+                } else if (valueToken == JsonToken.VALUE_STRING) {
+                    errorMap.put(contentId, JsonNodeFactory.instance.textNode(parser.getText()));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException exception) {
+            throw new ApiUnknownException("Response is not in JSON format", exception);
+        }
+        checkErrors(errorMap);
+    }
+
     private void validateResponse(final JsonNode jsonNode) {
         final Map<String, JsonNode> errorMap = new HashMap<>();
         jsonNode.fields().forEachRemaining(nodeEntry -> {
@@ -95,6 +195,10 @@ public class MultipleContentEndpoint extends AbstractApiEndpoint {
                 errorMap.put(nodeEntry.getKey(), nodeValue);
             }
         });
+        checkErrors(errorMap);
+    }
+
+    private void checkErrors(final Map<String, JsonNode> errorMap) {
         if(!errorMap.isEmpty()) {
             final String errorBuffer = "Response from remote server contains errors:" + System.lineSeparator() +
                 new ObjectNode(JsonNodeFactory.instance, errorMap).toPrettyString();
@@ -5,6 +5,7 @@ import com.getjoystick.sdk.client.ClientConfig;
 import com.getjoystick.sdk.errors.ConfigurationException;
 import com.getjoystick.sdk.models.PublishData;
 import com.getjoystick.sdk.util.JoystickUtil;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
 import org.apache.hc.core5.http.ClassicHttpResponse;
 import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.HttpEntity;
@@ -12,33 +13,59 @@ import org.apache.hc.core5.http.NameValuePair;
 import org.apache.hc.core5.http.io.entity.HttpEntities;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
 
 public class PublishUpdateEndpoint extends AbstractApiEndpoint {
 
-    private static final String API_URL = "https://capi.getjoystick.com/api/v1/config/%s";
+    private static final List<String> DEFAULT_API_BASE_URLS =
+        Collections.singletonList(ClientConfig.DEFAULT_PUBLISH_API_BASE_URL);
+    private static final String API_PATH = "/api/v1/config/%s";
 
     private final String contentId;
     private final PublishData data;
 
     public PublishUpdateEndpoint(final PublishData data, final String contentId) {
+        this(null, data, contentId);
+    }
+
+    /**
+     * Create endpoint publishing the update to the publish API of the client configuration.
+     *
+     * @param config client configuration, if null the default publish API is used
+     * @param data data to be updated
+     * @param contentId id of existing content
+     */
+    public PublishUpdateEndpoint(final ClientConfig config, final PublishData data, final String contentId) {
         if (contentId == null || contentId.trim().isEmpty()) {
             throw new ConfigurationException("Content ID is not provided.");
         }
         if (data == null) {
             throw new ConfigurationException("Data is not provided.");
         }
+        this.config = config;
         this.data = data;
         this.contentId = contentId;
     }
 
     @Override
-    public String getUrl() {
-        return String.format(API_URL, contentId);
+    public String getUrl(final String baseUrl) {
+        return baseUrl + String.format(API_PATH, contentId);
+    }
+
+    @Override
+    public List<String> getBaseUrls() {
+        return config == null ? DEFAULT_API_BASE_URLS : config.getPublishApiBaseUrls();
     }
 
+    /**
+     * Published content is not cached, so the hash only identifies the updated content by its API path.
+     *
+     * @return content hash in String format
+     */
     @Override
-    public String getContentHash(final ClientConfig config) {
-        throw new UnsupportedOperationException("Method is not implemented");
+    public String getContentHash() {
+        return String.format(API_PATH, contentId);
     }
 
     @Override
@@ -63,6 +90,12 @@ public class PublishUpdateEndpoint extends AbstractApiEndpoint {
         return parseResponseToJson(response);
     }
 
+    @Override
+    public JsonNode processResponse(final SimpleHttpResponse response) {
+        processCommonResponseErrors(response);
+        return parseResponseToJson(response);
+    }
+
     @Override
     public HttpEntity prepareRequestEntity() {
         return HttpEntities.create(outputStream -> {
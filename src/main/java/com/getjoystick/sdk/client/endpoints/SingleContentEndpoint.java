@@ -11,7 +11,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 public class SingleContentEndpoint extends AbstractApiEndpoint {
 
-    private static final String SINGLE_CONFIG_URL = "https://api.getjoystick.com/api/v1/config/%s/dynamic";
+    private static final String SINGLE_CONFIG_PATH = "/api/v1/config/%s/dynamic";
 
     private final String contentId;
     private boolean serialized;
@@ -29,22 +29,29 @@ public class SingleContentEndpoint extends AbstractApiEndpoint {
     }
 
     @Override
-    public String getUrl() {
-        return String.format(SINGLE_CONFIG_URL, contentId);
+    public String getUrl(final String baseUrl) {
+        return baseUrl + String.format(SINGLE_CONFIG_PATH, contentId);
     }
 
-    private boolean isSerialized() {
+    public String getContentId() {
+        return contentId;
+    }
+
+    public boolean isSerialized() {
         return serialized;
     }
 
+    public boolean isFullResponse() {
+        return fullResponse;
+    }
+
     /**
-     * Get content hash in String format
+     * Get content hash in String format for the configuration the endpoint was created with
      *
-     * @param config client configuration
      * @return content hash in String format
      */
     @Override
-    public String getContentHash(final ClientConfig config) {
+    public String getContentHash() {
         return ApiCacheKeyUtil.getHash(config, contentId, isSerialized(), fullResponse);
     }
 
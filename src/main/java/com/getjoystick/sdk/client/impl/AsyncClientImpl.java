@@ -0,0 +1,785 @@
+package com.getjoystick.sdk.client.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.getjoystick.sdk.cache.ApiCache;
+import com.getjoystick.sdk.cache.impl.ApiCacheCompact;
+import com.getjoystick.sdk.cache.impl.ApiCacheLRU;
+import com.getjoystick.sdk.client.AsyncClient;
+import com.getjoystick.sdk.client.ClientConfig;
+import com.getjoystick.sdk.client.JoystickContext;
+import com.getjoystick.sdk.client.endpoints.AbstractApiEndpoint;
+import com.getjoystick.sdk.client.endpoints.MultipleContentEndpoint;
+import com.getjoystick.sdk.client.endpoints.PublishUpdateEndpoint;
+import com.getjoystick.sdk.client.endpoints.SingleContentEndpoint;
+import com.getjoystick.sdk.errors.ApiServerException;
+import com.getjoystick.sdk.errors.ApiUnknownException;
+import com.getjoystick.sdk.errors.CircuitBreakerOpenException;
+import com.getjoystick.sdk.errors.ConfigurationException;
+import com.getjoystick.sdk.models.JoystickContentOptions;
+import com.getjoystick.sdk.models.JoystickContentResult;
+import com.getjoystick.sdk.models.JoystickFullContent;
+import com.getjoystick.sdk.models.PublishData;
+import com.getjoystick.sdk.models.ResponseType;
+import com.getjoystick.sdk.util.JoystickUtil;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Check migration guide <a href="https://hc.apache.org/httpcomponents-client-5.2.x/migration-guide/index.html">...</a>
+ * Here implemented async client <a href="https://hc.apache.org/httpcomponents-client-5.2.x/migration-guide/migration-to-async-simple.html">...</a>
+ * Typed content is bound once per loaded version, and the same instance is returned to every caller until
+ * the content is changed, so it must not be modified.
+ */
+public class AsyncClientImpl implements AsyncClient {
+
+    private final CloseableHttpAsyncClient client;
+    private final JoystickTransportImpl transport;
+    private final boolean sharedTransport;
+
+    private final ClientConfig config;
+    private final ApiCache<String, String> cache;
+    private final ApiCache<JoystickContext, ClientConfig> contextConfigs = new ApiCacheLRU<>();
+    private final ParsedContentCache parsedCache;
+    private final ParsedContentCache typedCache;
+    private final InFlightRequests<String, String> inFlightRequests = new InFlightRequests<>();
+    private final InFlightRequests<String, Map<String, String>> inFlightCombinedRequests = new InFlightRequests<>();
+    private final RetryPolicy retryPolicy;
+    private final CircuitBreaker circuitBreaker;
+    private final LastKnownGoodContents lastKnownGood;
+    private ScheduledExecutorService retryExecutor;
+    private final ConcurrentMap<ResponseType, Set<String>> registeredContentIds = new ConcurrentHashMap<>();
+    private ScheduledExecutorService backgroundExecutor;
+    private boolean closed;
+
+    public AsyncClientImpl(final ClientConfig config) {
+        this(checkConfig(config), new JoystickTransportImpl(config), false);
+    }
+
+    /**
+     * Create client on the transport shared with other clients. The transport is not closed with the client.
+     *
+     * @param config client configuration
+     * @param transport shared transport
+     */
+    public AsyncClientImpl(final ClientConfig config, final JoystickTransportImpl transport) {
+        this(checkConfig(config), transport, true);
+    }
+
+    private AsyncClientImpl(final ClientConfig config, final JoystickTransportImpl transport, final boolean sharedTransport) {
+        this.config = config;
+        this.transport = transport;
+        this.sharedTransport = sharedTransport;
+        client = transport.getHttpAsyncClient();
+        cache = config.getCache();
+        final boolean compactCache = cache instanceof ApiCacheCompact;
+        parsedCache = new ParsedContentCache(compactCache);
+        typedCache = new ParsedContentCache(compactCache);
+        retryPolicy = new RetryPolicy(config);
+        circuitBreaker = CircuitBreaker.create(config);
+        lastKnownGood = LastKnownGoodContents.create(config);
+    }
+
+    /**
+     * Reject options provided by the blocking client only, instead of silently ignoring them.
+     */
+    private static ClientConfig checkConfig(final ClientConfig config) {
+        if (config.getMaxStalenessSeconds() > 0) {
+            throw new ConfigurationException("Max staleness is not supported by asynchronous client.");
+        }
+        if (config.getBatchWindowMillis() > 0) {
+            throw new ConfigurationException("Request batching is not supported by asynchronous client.");
+        }
+        if (config.getSnapshotStore() != null) {
+            throw new ConfigurationException("Content snapshot is not supported by asynchronous client.");
+        }
+        if (config.getContentBundle() != null) {
+            throw new ConfigurationException("Content bundle is not supported by asynchronous client.");
+        }
+        return config;
+    }
+
+    @Override
+    public CompletableFuture<JsonNode> getContent(final String contentId) {
+        return getContent(contentId, new JoystickContentOptions(false));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getContent(final String contentId, final Class<T> type) {
+        return getContent(contentId, type, new JoystickContentOptions(false));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getContent(final String contentId, final TypeReference<T> type) {
+        return getContent(contentId, type, new JoystickContentOptions(false));
+    }
+
+    @Override
+    public CompletableFuture<String> getContentSerialized(final String contentId) {
+        return getContentSerialized(contentId, new JoystickContentOptions(false));
+    }
+
+    @Override
+    public CompletableFuture<JoystickFullContent<JsonNode>> getFullContent(final String contentId) {
+        return getFullContent(contentId, new JoystickContentOptions(false));
+    }
+
+    @Override
+    public CompletableFuture<JoystickFullContent<String>> getFullContentSerialized(final String contentId) {
+        return getFullContentSerialized(contentId, new JoystickContentOptions(false));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, JsonNode>> getContents(final Collection<String> contentIds) {
+        return getContents(contentIds, new JoystickContentOptions(false));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, String>> getContentsSerialized(final Collection<String> contentIds) {
+        return getContentsSerialized(contentIds, new JoystickContentOptions(false));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, JoystickFullContent<JsonNode>>> getFullContents(
+        final Collection<String> contentIds) {
+        return getFullContents(contentIds, new JoystickContentOptions(false));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, JoystickFullContent<String>>> getFullContentsSerialized(
+        final Collection<String> contentIds) {
+        return getFullContentsSerialized(contentIds, new JoystickContentOptions(false));
+    }
+
+    @Override
+    public CompletableFuture<JsonNode> getContent(final String contentId,
+                                                  final JoystickContentOptions contentOptions) {
+        final AbstractApiEndpoint singleEndpoint = new SingleContentEndpoint(getConfig(contentOptions), contentId);
+        return getParsedContent(singleEndpoint, contentOptions, ContentParsers.CONTENT_PARSER, parsedCache,
+            ContentParsers::toResult);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getContent(final String contentId, final Class<T> type,
+                                               final JoystickContentOptions contentOptions) {
+        final AbstractApiEndpoint singleEndpoint = new SingleContentEndpoint(getConfig(contentOptions), contentId);
+        return getParsedContent(singleEndpoint, contentOptions, ContentParsers.getTypedParser(type), typedCache,
+            ContentParsers::toResult);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getContent(final String contentId, final TypeReference<T> type,
+                                               final JoystickContentOptions contentOptions) {
+        final AbstractApiEndpoint singleEndpoint = new SingleContentEndpoint(getConfig(contentOptions), contentId);
+        return getParsedContent(singleEndpoint, contentOptions, ContentParsers.getTypedParser(type), typedCache,
+            ContentParsers::toResult);
+    }
+
+    @Override
+    public CompletableFuture<String> getContentSerialized(final String contentId,
+                                                          final JoystickContentOptions contentOptions) {
+        final AbstractApiEndpoint singleEndpoint = new SingleContentEndpoint(getConfig(contentOptions), contentId)
+            .setSerialized(true);
+        return getParsedContent(singleEndpoint, contentOptions, ContentParsers.SERIALIZED_CONTENT_PARSER, parsedCache,
+            ContentParsers::toResult);
+    }
+
+    @Override
+    public CompletableFuture<JoystickFullContent<JsonNode>> getFullContent(final String contentId,
+                                                                           final JoystickContentOptions contentOptions) {
+        final AbstractApiEndpoint singleEndpoint = new SingleContentEndpoint(getConfig(contentOptions), contentId)
+            .setFullResponse(true);
+        return getParsedContent(singleEndpoint, contentOptions, ContentParsers.FULL_CONTENT_PARSER, parsedCache,
+            ContentParsers::toResult);
+    }
+
+    @Override
+    public CompletableFuture<JoystickFullContent<String>> getFullContentSerialized(
+        final String contentId, final JoystickContentOptions contentOptions) {
+        final AbstractApiEndpoint singleEndpoint = new SingleContentEndpoint(getConfig(contentOptions), contentId)
+            .setSerialized(true)
+            .setFullResponse(true);
+        return getParsedContent(singleEndpoint, contentOptions, ContentParsers.FULL_SERIALIZED_CONTENT_PARSER,
+            parsedCache, ContentParsers::toResult);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, JsonNode>> getContents(final Collection<String> contentIds,
+                                                                final JoystickContentOptions contentOptions) {
+        return getContentsById(contentIds, contentOptions, false, false, ContentParsers.CONTENT_PARSER,
+            ContentParsers::toResult);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, String>> getContentsSerialized(final Collection<String> contentIds,
+                                                                        final JoystickContentOptions contentOptions) {
+        return getContentsById(contentIds, contentOptions, true, false, ContentParsers.SERIALIZED_CONTENT_PARSER,
+            ContentParsers::toResult);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, JoystickFullContent<JsonNode>>> getFullContents(
+        final Collection<String> contentIds, final JoystickContentOptions contentOptions) {
+        return getContentsById(contentIds, contentOptions, false, true, ContentParsers.FULL_CONTENT_PARSER,
+            ContentParsers::toResult);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, JoystickFullContent<String>>> getFullContentsSerialized(
+        final Collection<String> contentIds, final JoystickContentOptions contentOptions) {
+        return getContentsById(contentIds, contentOptions, true, true, ContentParsers.FULL_SERIALIZED_CONTENT_PARSER,
+            ContentParsers::toResult);
+    }
+
+    @Override
+    public CompletableFuture<JoystickContentResult<JsonNode>> getContentResult(
+        final String contentId, final JoystickContentOptions contentOptions) {
+        final AbstractApiEndpoint singleEndpoint = new SingleContentEndpoint(getConfig(contentOptions), contentId);
+        return getParsedContent(singleEndpoint, contentOptions, ContentParsers.CONTENT_PARSER, parsedCache,
+            ContentParsers::toContentResult);
+    }
+
+    @Override
+    public <T> CompletableFuture<JoystickContentResult<T>> getContentResult(
+        final String contentId, final Class<T> type, final JoystickContentOptions contentOptions) {
+        final AbstractApiEndpoint singleEndpoint = new SingleContentEndpoint(getConfig(contentOptions), contentId);
+        return getParsedContent(singleEndpoint, contentOptions, ContentParsers.getTypedParser(type), typedCache,
+            ContentParsers::toContentResult);
+    }
+
+    @Override
+    public <T> CompletableFuture<JoystickContentResult<T>> getContentResult(
+        final String contentId, final TypeReference<T> type, final JoystickContentOptions contentOptions) {
+        final AbstractApiEndpoint singleEndpoint = new SingleContentEndpoint(getConfig(contentOptions), contentId);
+        return getParsedContent(singleEndpoint, contentOptions, ContentParsers.getTypedParser(type), typedCache,
+            ContentParsers::toContentResult);
+    }
+
+    @Override
+    public CompletableFuture<JoystickContentResult<String>> getContentSerializedResult(
+        final String contentId, final JoystickContentOptions contentOptions) {
+        final AbstractApiEndpoint singleEndpoint = new SingleContentEndpoint(getConfig(contentOptions), contentId)
+            .setSerialized(true);
+        return getParsedContent(singleEndpoint, contentOptions, ContentParsers.SERIALIZED_CONTENT_PARSER, parsedCache,
+            ContentParsers::toContentResult);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, JoystickContentResult<JsonNode>>> getContentResults(
+        final Collection<String> contentIds, final JoystickContentOptions contentOptions) {
+        return getContentsById(contentIds, contentOptions, false, false, ContentParsers.CONTENT_PARSER,
+            ContentParsers::toContentResult);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, JoystickContentResult<String>>> getContentSerializedResults(
+        final Collection<String> contentIds, final JoystickContentOptions contentOptions) {
+        return getContentsById(contentIds, contentOptions, true, false, ContentParsers.SERIALIZED_CONTENT_PARSER,
+            ContentParsers::toContentResult);
+    }
+
+    /**
+     * Get client configuration with applied user context of the call. Configurations are reused for equal
+     * contexts, so cache keys are not recalculated for every call.
+     *
+     * @param contentOptions optional parameters for getting Joystick content
+     * @return configuration to load content with
+     */
+    private ClientConfig getConfig(final JoystickContentOptions contentOptions) {
+        final JoystickContext context = contentOptions.getContext();
+        if (context == null) {
+            return config;
+        }
+        ClientConfig contextConfig = contextConfigs.get(context);
+        if (contextConfig == null) {
+            contextConfig = config.withContext(context);
+            contextConfigs.put(context, contextConfig);
+        }
+        return contextConfig;
+    }
+
+    /**
+     * Get Joystick content converted by the parser. Content found in cache is returned
+     * as already completed future without making a call to Joystick API.
+     *
+     * @param contentEndpoint endpoint to load Joystick content
+     * @param contentOptions optional parameters for getting Joystick content
+     * @param parser function to convert Joystick content from String format
+     * @param convertedCache cache of content converted by the parser
+     * @param resultConverter converts the cached converted content and its staleness to the returned value
+     * @param <T> type of converted content
+     * @param <R> type of returned value
+     * @return future of converted Joystick content
+     */
+    private <T, R> CompletableFuture<R> getParsedContent(final AbstractApiEndpoint contentEndpoint,
+                                                         final JoystickContentOptions contentOptions,
+                                                         final Function<String, T> parser,
+                                                         final ParsedContentCache convertedCache,
+                                                         final ContentParsers.ResultConverter<T, R> resultConverter) {
+        final String hash = contentEndpoint.getContentHash();
+        final String cachedContents = contentOptions.isRefresh() ? null : cache.get(hash);
+        if (cachedContents != null) {
+            return CompletableFuture.completedFuture(
+                resultConverter.convert(convertedCache.get(hash, cachedContents, parser), false));
+        }
+        CompletableFuture<ContentResult> contents = inFlightRequests
+            .executeAsync(hash, () -> loadContents(contentEndpoint, hash))
+            .thenApply(loadedContents -> new ContentResult(loadedContents, false));
+        if (lastKnownGood != null) {
+            contents = contents.exceptionally(error -> new ContentResult(getFallbackContents(hash, error), true));
+        }
+        return contents.thenApply(result ->
+            resultConverter.convert(convertedCache.get(hash, result.getContents(), parser), result.isStale()));
+    }
+
+    /**
+     * Get map of Joystick contents by content id. Every content is cached separately, so only contents
+     * missing in cache are loaded with a single request. If all contents are found in cache,
+     * already completed future is returned.
+     *
+     * @param contentIds collection of content ids
+     * @param contentOptions optional parameters for getting Joystick content
+     * @param serialized if content is serialized
+     * @param fullResponse if content is in full format
+     * @param parser function to convert a single Joystick content from String format
+     * @param resultConverter converts the cached converted content and its staleness to the returned value
+     * @param <T> type of converted content
+     * @param <R> type of returned values
+     * @return future of map of converted Joystick content by content id
+     */
+    private <T, R> CompletableFuture<Map<String, R>> getContentsById(
+        final Collection<String> contentIds, final JoystickContentOptions contentOptions, final boolean serialized,
+        final boolean fullResponse, final Function<String, T> parser,
+        final ContentParsers.ResultConverter<T, R> resultConverter) {
+        if (contentIds == null || contentIds.isEmpty()) {
+            throw new ConfigurationException("Content IDs are not provided.");
+        }
+        final ClientConfig callConfig = getConfig(contentOptions);
+        final Map<String, String> keysById = new LinkedHashMap<>();
+        final Map<String, String> contentsByKey = new HashMap<>();
+        final Collection<String> missingIds = new LinkedHashSet<>();
+        for (final String contentId : contentIds) {
+            final String key = CombinedContents.getContentKey(callConfig, contentId, serialized, fullResponse);
+            keysById.put(contentId, key);
+            final String contents = contentOptions.isRefresh() ? null : cache.get(key);
+            if (contents == null) {
+                missingIds.add(contentId);
+            } else {
+                contentsByKey.put(key, contents);
+            }
+        }
+        final Set<String> staleKeys = new HashSet<>();
+        if (missingIds.isEmpty()) {
+            return CompletableFuture.completedFuture(
+                toContentMap(keysById, contentsByKey, staleKeys, parser, resultConverter));
+        }
+        CompletableFuture<Map<String, String>> contents = inFlightCombinedRequests.executeAsync(
+            CombinedContents.getRequestKey(callConfig, missingIds, serialized),
+            () -> loadContentsById(callConfig, missingIds, serialized));
+        if (lastKnownGood != null) {
+            contents = contents.exceptionally(error -> {
+                final Map<String, String> fallbackContents = new HashMap<>();
+                for (final String contentId : missingIds) {
+                    final String key = keysById.get(contentId);
+                    fallbackContents.put(key, getFallbackContents(key, error));
+                }
+                // Dependent stages see the stale keys once this stage completes
+                staleKeys.addAll(fallbackContents.keySet());
+                return fallbackContents;
+            });
+        }
+        return contents.thenApply(loadedContents -> {
+            contentsByKey.putAll(loadedContents);
+            return toContentMap(keysById, contentsByKey, staleKeys, parser, resultConverter);
+        });
+    }
+
+    /**
+     * Get last known good content to return when it cannot be loaded from Joystick API because of server
+     * or connection error.
+     *
+     * @param key cache key of the content
+     * @param error exception the content request failed with
+     * @return last known good content
+     * @throws CompletionException with the request error if there is no last known good content
+     */
+    private String getFallbackContents(final String key, final Throwable error) {
+        final Throwable cause = error instanceof CompletionException && error.getCause() != null
+            ? error.getCause() : error;
+        final String fallbackContents = cause instanceof ApiServerException || cause instanceof ApiUnknownException
+            ? lastKnownGood.get(key) : null;
+        if (fallbackContents == null) {
+            throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(cause);
+        }
+        return fallbackContents;
+    }
+
+    private <T, R> Map<String, R> toContentMap(final Map<String, String> keysById,
+                                               final Map<String, String> contentsByKey, final Set<String> staleKeys,
+                                               final Function<String, T> parser,
+                                               final ContentParsers.ResultConverter<T, R> resultConverter) {
+        final Map<String, R> contentMap = new HashMap<>();
+        keysById.forEach((contentId, key) -> {
+            final String contents = contentsByKey.get(key);
+            if (contents != null) {
+                contentMap.put(contentId,
+                    resultConverter.convert(parsedCache.get(key, contents, parser), staleKeys.contains(key)));
+            }
+        });
+        return Collections.unmodifiableMap(contentMap);
+    }
+
+    /**
+     * Load multiple contents with a single request to Joystick API and put every content to cache
+     * in both full and data only formats.
+     *
+     * @param callConfig client configuration with applied user context
+     * @param contentIds content ids to load
+     * @param serialized if content is serialized
+     * @return future of loaded content in String format by cache key
+     */
+    private CompletableFuture<Map<String, String>> loadContentsById(final ClientConfig callConfig,
+                                                                    final Collection<String> contentIds,
+                                                                    final boolean serialized) {
+        final MultipleContentEndpoint endpoint = CombinedContents.getEndpoint(callConfig, contentIds, serialized);
+        return fetchContents(endpoint, response ->
+            CombinedContents.toCacheEntries(callConfig, endpoint, response, serialized, parsedCache)
+        ).thenApply(entries -> {
+            entries.forEach(this::putContents);
+            return entries;
+        });
+    }
+
+    /**
+     * Load Joystick content from the API and put it to cache.
+     *
+     * @param contentEndpoint endpoint to load Joystick content
+     * @param hash cache key of the content
+     * @return future of Joystick content in String format
+     */
+    private CompletableFuture<String> loadContents(final AbstractApiEndpoint contentEndpoint, final String hash) {
+        return fetchContents(contentEndpoint).thenApply(responseData -> {
+            final String contents = responseData != null ? responseData.toString() : null;
+            if (contents != null && isJsonContent(contentEndpoint)) {
+                // Loaded content is returned as JSON without parsing it again from String format
+                parsedCache.put(hash, contents, ContentParsers.CONTENT_PARSER,
+                    JoystickUtil.toReadOnly(responseData));
+            }
+            putContents(hash, contents);
+            return contents;
+        });
+    }
+
+    private static boolean isJsonContent(final AbstractApiEndpoint contentEndpoint) {
+        if (!(contentEndpoint instanceof SingleContentEndpoint)) {
+            return false;
+        }
+        final SingleContentEndpoint singleEndpoint = (SingleContentEndpoint) contentEndpoint;
+        return !singleEndpoint.isSerialized() && !singleEndpoint.isFullResponse();
+    }
+
+    /**
+     * Put loaded content to cache, and keep it as last known good content if it is enabled.
+     *
+     * @param hash cache key of the content
+     * @param contents content in String format
+     */
+    private void putContents(final String hash, final String contents) {
+        if (contents != null) {
+            cache.put(hash, contents);
+            if (lastKnownGood != null) {
+                lastKnownGood.put(hash, contents);
+            }
+        }
+    }
+
+    /**
+     * Make request to Joystick API without blocking, unless it is rejected by the circuit breaker.
+     * Rejected request returns future completed with {@link CircuitBreakerOpenException}.
+     *
+     * @param contentEndpoint endpoint to load Joystick content
+     * @return future of formatted response of the endpoint
+     */
+    private CompletableFuture<JsonNode> fetchContents(final AbstractApiEndpoint contentEndpoint) {
+        return fetchContents(contentEndpoint, contentEndpoint::processResponse);
+    }
+
+    /**
+     * Make request to Joystick API without blocking, unless it is rejected by the circuit breaker.
+     * Rejected request returns future completed with {@link CircuitBreakerOpenException}.
+     *
+     * @param contentEndpoint endpoint to load Joystick content
+     * @param responseHandler processes response of the endpoint
+     * @return future of processed response of the endpoint
+     */
+    private <T> CompletableFuture<T> fetchContents(final AbstractApiEndpoint contentEndpoint,
+                                                   final Function<SimpleHttpResponse, T> responseHandler) {
+        if (circuitBreaker == null) {
+            return execute(contentEndpoint, SimpleRequestBuilder::post, responseHandler, true);
+        }
+        try {
+            circuitBreaker.acquire();
+        } catch (CircuitBreakerOpenException e) {
+            final CompletableFuture<T> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(e);
+            return rejected;
+        }
+        final long startedAt = System.nanoTime();
+        try {
+            return execute(contentEndpoint, SimpleRequestBuilder::post, responseHandler, true).whenComplete((response, error) ->
+                circuitBreaker.onComplete(System.nanoTime() - startedAt, error));
+        } catch (RuntimeException | Error e) {
+            circuitBreaker.onComplete(System.nanoTime() - startedAt, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Publish update for already existing content in Joystick
+     *
+     * @param contentId id of existing content
+     * @param data includes data to be updated in Joystick
+     * @return future completed when update is published
+     */
+    @Override
+    public CompletableFuture<Void> publishContentUpdate(final String contentId, final PublishData data) {
+        if (contentId == null || contentId.trim().isEmpty()) {
+            throw new IllegalArgumentException("No Content ID provided.");
+        }
+        final AbstractApiEndpoint endpoint = new PublishUpdateEndpoint(config, data, contentId);
+        return execute(endpoint, SimpleRequestBuilder::put, endpoint::processResponse, false)
+            .thenApply(response -> null);
+    }
+
+    /**
+     * Execute request of the endpoint without blocking. Request failed because of a transient error is repeated
+     * on the next fallback URL, and then retried with backoff, as allowed by the retry policy.
+     *
+     * @param endpoint endpoint of the request
+     * @param requestBuilder creates request builder with the HTTP method of the endpoint for the URL
+     * @param responseHandler processes response of the endpoint
+     * @param idempotent if the request can be repeated after it was received by the server
+     * @return future of processed response
+     */
+    private <T> CompletableFuture<T> execute(final AbstractApiEndpoint endpoint,
+                                             final Function<String, SimpleRequestBuilder> requestBuilder,
+                                             final Function<SimpleHttpResponse, T> responseHandler,
+                                             final boolean idempotent) {
+        retryPolicy.onRequest();
+        final RequestExecution<T> execution =
+            new RequestExecution<>(endpoint, requestBuilder, responseHandler, idempotent);
+        execution.execute();
+        return execution.result;
+    }
+
+    /**
+     * Get executor delaying retries, which is created on the first retry.
+     *
+     * @return executor for delayed retries
+     */
+    private synchronized ScheduledExecutorService getRetryExecutor() {
+        if (retryExecutor == null) {
+            retryExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("joystick-retry-%d")
+                .setDaemon(true)
+                .build());
+        }
+        return retryExecutor;
+    }
+
+    /**
+     * Register content ids to be loaded in background and refreshed before cache expiration.
+     *
+     * @param contentIds collection of content ids
+     * @param responseType declares if content should be serialized or not serialized
+     */
+    @Override
+    public void registerContentIds(final Collection<String> contentIds, final ResponseType responseType) {
+        if (contentIds == null || contentIds.isEmpty()) {
+            throw new IllegalArgumentException("No Content ID provided.");
+        }
+        final ResponseType type = responseType == null ? ResponseType.NONE : responseType;
+        registeredContentIds.computeIfAbsent(type, key -> ConcurrentHashMap.newKeySet()).addAll(contentIds);
+        getBackgroundExecutor().execute(() -> refreshRegisteredContents(type));
+    }
+
+    private void refreshRegisteredContents() {
+        registeredContentIds.keySet().forEach(this::refreshRegisteredContents);
+    }
+
+    /**
+     * Load all registered content ids with a single request to Joystick API and put each content to cache.
+     * Failed refresh is ignored, registered content is loaded on demand until the next successful refresh.
+     *
+     * @param responseType declares if content should be serialized or not serialized
+     */
+    private void refreshRegisteredContents(final ResponseType responseType) {
+        final boolean isSerialized = responseType == ResponseType.SERIALIZED;
+        final Collection<String> contentIds = new ArrayList<>(registeredContentIds.get(responseType));
+        try {
+            inFlightCombinedRequests.executeAsync(CombinedContents.getRequestKey(config, contentIds, isSerialized),
+                () -> loadContentsById(config, contentIds, isSerialized));
+        } catch (RuntimeException ignored) {
+            // Any exception would cancel the periodic refresh
+        }
+    }
+
+    /**
+     * Get executor for background loading, which is created on the first use.
+     * Registered content ids are refreshed by the executor every refresh interval.
+     *
+     * @return executor for background tasks
+     */
+    private synchronized ScheduledExecutorService getBackgroundExecutor() {
+        if (closed) {
+            throw new RejectedExecutionException("Client is closed.");
+        }
+        if (backgroundExecutor == null) {
+            backgroundExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("joystick-refresh-%d")
+                .setDaemon(true)
+                .build());
+            final long refreshInterval = config.getRefreshIntervalSeconds();
+            if (refreshInterval > 0) {
+                backgroundExecutor.scheduleAtFixedRate(this::refreshRegisteredContents,
+                    refreshInterval, refreshInterval, TimeUnit.SECONDS);
+            }
+        }
+        return backgroundExecutor;
+    }
+
+    /**
+     * Single request to Joystick API, together with its fallback URLs and retries.
+     */
+    private final class RequestExecution<T> implements FutureCallback<SimpleHttpResponse> {
+
+        private final AbstractApiEndpoint endpoint;
+        private final Function<String, SimpleRequestBuilder> requestBuilder;
+        private final Function<SimpleHttpResponse, T> responseHandler;
+        private final boolean idempotent;
+        private final byte[] body;
+        private final List<String> baseUrls;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private int retry;
+        private int urlIndex;
+
+        private RequestExecution(final AbstractApiEndpoint endpoint,
+                                 final Function<String, SimpleRequestBuilder> requestBuilder,
+                                 final Function<SimpleHttpResponse, T> responseHandler,
+                                 final boolean idempotent) {
+            this.endpoint = endpoint;
+            this.requestBuilder = requestBuilder;
+            this.responseHandler = responseHandler;
+            this.idempotent = idempotent;
+            this.body = toBytes(endpoint);
+            this.baseUrls = endpoint.getBaseUrls();
+        }
+
+        private void execute() {
+            final SimpleHttpRequest request = requestBuilder.apply(endpoint.getUrl(baseUrls.get(urlIndex)))
+                .setBody(body, ContentType.APPLICATION_JSON)
+                .addParameters(endpoint.getQueryParameters())
+                .addHeader(HttpClientFactory.API_KEY_HEADER, config.getApiKey())
+                .build();
+            client.execute(request, this);
+        }
+
+        @Override
+        public void completed(final SimpleHttpResponse response) {
+            try {
+                result.complete(responseHandler.apply(response));
+            } catch (ApiServerException e) {
+                onError(e, e);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public void failed(final Exception exception) {
+            onError(exception, new ApiUnknownException("Unable to complete the request", exception));
+        }
+
+        @Override
+        public void cancelled() {
+            result.completeExceptionally(new CancellationException("Request was cancelled."));
+        }
+
+        private void onError(final Exception cause, final RuntimeException error) {
+            if (!RetryPolicy.isRetryable(cause, idempotent)) {
+                result.completeExceptionally(error);
+            } else if (urlIndex < baseUrls.size() - 1) {
+                urlIndex++;
+                execute();
+            } else if (retryPolicy.tryRetry(retry)) {
+                final long backoff = retryPolicy.getBackoffMillis(retry);
+                retry++;
+                urlIndex = 0;
+                try {
+                    getRetryExecutor().schedule(this::execute, backoff, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    result.completeExceptionally(error);
+                }
+            } else {
+                result.completeExceptionally(error);
+            }
+        }
+    }
+
+    private static byte[] toBytes(final AbstractApiEndpoint endpoint) {
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            endpoint.prepareRequestEntity().writeTo(outputStream);
+            return outputStream.toByteArray();
+        } catch (IOException e) {
+            throw new ApiUnknownException("Unable to prepare the request", e);
+        }
+    }
+
+    /**
+     * Immediately close the client. Transport shared with other clients is not closed.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            if (retryExecutor != null) {
+                retryExecutor.shutdownNow();
+            }
+            if (backgroundExecutor != null) {
+                backgroundExecutor.shutdownNow();
+            }
+        }
+        if (!sharedTransport) {
+            transport.close();
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.getjoystick.sdk.client.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.getjoystick.sdk.client.ClientConfig;
+import com.getjoystick.sdk.models.ContentBundle;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Contents of the {@link ContentBundle} stored under cache keys of the client configuration, in every format
+ * returned by the client. Bundle content is returned until the content is loaded from Joystick API for the first time.
+ */
+/* default */ class BootstrapContents {
+
+    private static final String DATA_FIELD = "data";
+
+    private final Map<String, String> contents = new ConcurrentHashMap<>();
+
+    /* default */ BootstrapContents(final ClientConfig config, final ContentBundle bundle) {
+        final ObjectNode response = JsonNodeFactory.instance.objectNode();
+        final ObjectNode serializedResponse = JsonNodeFactory.instance.objectNode();
+        for (final String contentId : bundle.getContentIds()) {
+            final JsonNode fullContent = bundle.getFullContent(contentId);
+            response.set(contentId, fullContent);
+            serializedResponse.set(contentId, ((ObjectNode) fullContent.deepCopy())
+                .put(DATA_FIELD, fullContent.get(DATA_FIELD).toString()));
+        }
+        contents.putAll(CombinedContents.toCacheEntries(config, response, false));
+        contents.putAll(CombinedContents.toCacheEntries(config, serializedResponse, true));
+    }
+
+    /**
+     * Create bootstrap contents if content bundle is set in the client configuration.
+     *
+     * @param config client configuration
+     * @return bootstrap contents or null if content bundle is not set
+     */
+    /* default */ static BootstrapContents create(final ClientConfig config) {
+        return config.getContentBundle() != null ? new BootstrapContents(config, config.getContentBundle()) : null;
+    }
+
+    /**
+     * Get bundle content, which was not loaded from Joystick API yet
+     *
+     * @param key cache key of the content
+     * @return bundle content or null if there is no such content or it was already loaded
+     */
+    /* default */ String get(final String key) {
+        return contents.get(key);
+    }
+
+    /**
+     * Stop returning bundle content once the content is loaded from Joystick API.
+     *
+     * @param key cache key of the loaded content
+     */
+    /* default */ void remove(final String key) {
+        contents.remove(key);
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.getjoystick.sdk.client.impl;
+
+import com.getjoystick.sdk.client.ClientConfig;
+import com.getjoystick.sdk.errors.ApiServerException;
+import com.getjoystick.sdk.errors.ApiUnknownException;
+import com.getjoystick.sdk.errors.CircuitBreakerOpenException;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stops sending content requests to Joystick API while it fails. The breaker opens when the share of failed
+ * or slow requests among the latest requests reaches the threshold. While open, requests are rejected without
+ * a call to the API, and after the open time a single probe request is allowed: the breaker closes if the probe
+ * succeeds and opens again if it fails.
+ */
+/* default */ class CircuitBreaker {
+
+    private enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final long openNanos;
+
+    private final long slowCallNanos;
+
+    private final int failureThreshold;
+
+    private final boolean[] window;
+
+    private State state = State.CLOSED;
+
+    private int calls;
+
+    private int failures;
+
+    private long openedAtNanos;
+
+    private boolean probeInFlight;
+
+    /* default */ CircuitBreaker(final ClientConfig config) {
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(config.getCircuitBreakerOpenMillis());
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(config.getCircuitBreakerSlowCallMillis());
+        this.window = new boolean[config.getCircuitBreakerWindowSize()];
+        this.failureThreshold = Math.max(1,
+            (int) Math.ceil(config.getCircuitBreakerFailureRate() * config.getCircuitBreakerWindowSize()));
+    }
+
+    /**
+     * Create circuit breaker if it is enabled in the client configuration.
+     *
+     * @param config client configuration
+     * @return circuit breaker or null if it is disabled
+     */
+    /* default */ static CircuitBreaker create(final ClientConfig config) {
+        return config.getCircuitBreakerOpenMillis() > 0 ? new CircuitBreaker(config) : null;
+    }
+
+    /**
+     * Check if the request can be sent, or throw exception if the breaker is open.
+     * Every permitted request must be reported with {@link #onComplete(long, Throwable)}.
+     *
+     * @throws CircuitBreakerOpenException if the breaker is open
+     */
+    /* default */ synchronized void acquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAtNanos < openNanos) {
+                throw new CircuitBreakerOpenException("Joystick API is unavailable, circuit breaker is open.");
+            }
+            state = State.HALF_OPEN;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                throw new CircuitBreakerOpenException("Joystick API is unavailable, circuit breaker is open.");
+            }
+            probeInFlight = true;
+        }
+    }
+
+    /**
+     * Record result of the permitted request. Client errors (4xx) mean that the API is available,
+     * so they are counted as successful requests.
+     *
+     * @param elapsedNanos duration of the request
+     * @param error exception the request failed with, or null if it succeeded
+     */
+    /* default */ synchronized void onComplete(final long elapsedNanos, final Throwable error) {
+        final boolean failed = isFailure(error) || slowCallNanos > 0 && elapsedNanos >= slowCallNanos;
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+            if (failed) {
+                open();
+            } else {
+                reset(State.CLOSED);
+            }
+        } else if (state == State.CLOSED) {
+            final int index = calls % window.length;
+            if (calls >= window.length && window[index]) {
+                failures--;
+            }
+            window[index] = failed;
+            calls++;
+            if (failed) {
+                failures++;
+            }
+            if (calls >= window.length && failures >= failureThreshold) {
+                open();
+            }
+        }
+    }
+
+    private void open() {
+        reset(State.OPEN);
+        openedAtNanos = System.nanoTime();
+    }
+
+    private void reset(final State newState) {
+        state = newState;
+        calls = 0;
+        failures = 0;
+    }
+
+    private static boolean isFailure(final Throwable error) {
+        final Throwable cause = error instanceof CompletionException && error.getCause() != null
+            ? error.getCause() : error;
+        return cause instanceof ApiServerException || cause instanceof ApiUnknownException;
+    }
+
+}
@@ -1,37 +1,59 @@
 package com.getjoystick.sdk.client.impl;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.getjoystick.sdk.cache.ApiCache;
+import com.getjoystick.sdk.cache.impl.ApiCacheCompact;
+import com.getjoystick.sdk.cache.impl.ApiCacheLRU;
 import com.getjoystick.sdk.client.Client;
 import com.getjoystick.sdk.client.ClientConfig;
+import com.getjoystick.sdk.client.JoystickContext;
 import com.getjoystick.sdk.client.endpoints.AbstractApiEndpoint;
 import com.getjoystick.sdk.client.endpoints.ApiEndpointFactory;
-import com.getjoystick.sdk.client.endpoints.PublishUpdateEndpoint;
 import com.getjoystick.sdk.client.endpoints.MultipleContentEndpoint;
+import com.getjoystick.sdk.client.endpoints.PublishUpdateEndpoint;
 import com.getjoystick.sdk.client.endpoints.SingleContentEndpoint;
+import com.getjoystick.sdk.errors.ApiHttpException;
+import com.getjoystick.sdk.errors.ApiServerException;
 import com.getjoystick.sdk.errors.ApiUnknownException;
+import com.getjoystick.sdk.errors.CircuitBreakerOpenException;
+import com.getjoystick.sdk.errors.ConfigurationException;
+import com.getjoystick.sdk.errors.JoystickException;
+import com.getjoystick.sdk.errors.MultipleContentsApiException;
 import com.getjoystick.sdk.models.JoystickContentOptions;
+import com.getjoystick.sdk.models.JoystickContentResult;
 import com.getjoystick.sdk.models.JoystickFullContent;
 import com.getjoystick.sdk.models.PublishData;
 import com.getjoystick.sdk.models.ResponseType;
 import com.getjoystick.sdk.util.JoystickUtil;
-import org.apache.hc.client5.http.config.RequestConfig;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.core5.http.ClassicHttpRequest;
-import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.io.HttpClientResponseHandler;
 import org.apache.hc.core5.http.io.support.ClassicRequestBuilder;
-import org.apache.hc.core5.http.message.BasicHeader;
-import org.apache.hc.core5.io.CloseMode;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-
-import static com.getjoystick.sdk.util.JoystickUtil.removeTrailingQuotes;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 /**
  * Check migration guide <a href="https://hc.apache.org/httpcomponents-client-5.2.x/migration-guide/index.html">...</a>
@@ -39,28 +61,78 @@ import static com.getjoystick.sdk.util.JoystickUtil.removeTrailingQuotes;
  */
 public class ClientImpl implements Client {
 
-    private static final String API_KEY_HEADER = "x-api-key";
+    private static final JoystickContentOptions REFRESH_OPTIONS = new JoystickContentOptions(true);
+
+    private static final String HASH_FIELD = "hash";
+
+    /**
+     * Response of the conditional request, when content was not changed since it was loaded
+     */
+    private static final JsonNode NOT_MODIFIED = JsonNodeFactory.instance.objectNode();
 
     private final CloseableHttpClient client;
+    private final JoystickTransportImpl transport;
+    private final boolean sharedTransport;
 
     private final ClientConfig config;
     private final ApiCache<String, String> cache;
+    private final ApiCache<JoystickContext, ClientConfig> contextConfigs = new ApiCacheLRU<>();
+    private final ParsedContentCache parsedCache;
+    private final ParsedContentCache typedCache;
+    private final InFlightRequests<String, String> inFlightRequests = new InFlightRequests<>();
+    private final InFlightRequests<String, Map<String, String>> inFlightCombinedRequests = new InFlightRequests<>();
+    private final StaleContentCache staleCache;
+    private final RequestBatcher batcher;
+    private final RetryPolicy retryPolicy;
+    private final CircuitBreaker circuitBreaker;
+    private final LastKnownGoodContents lastKnownGood;
+    private final ContentSnapshot snapshot;
+    private final BootstrapContents bootstrap;
+    private final ContentVersions contentVersions = new ContentVersions();
+    private final Set<String> revalidatedKeys = ConcurrentHashMap.newKeySet();
+    private final ConcurrentMap<ResponseType, Set<String>> registeredContentIds = new ConcurrentHashMap<>();
+    private ScheduledExecutorService backgroundExecutor;
+    private boolean closed;
 
     public ClientImpl(final ClientConfig config) {
+        this(config, new JoystickTransportImpl(config), false);
+    }
+
+    /**
+     * Create client on the transport shared with other clients. The transport is not closed with the client.
+     *
+     * @param config client configuration
+     * @param transport shared transport
+     */
+    public ClientImpl(final ClientConfig config, final JoystickTransportImpl transport) {
+        this(config, transport, true);
+    }
+
+    private ClientImpl(final ClientConfig config, final JoystickTransportImpl transport, final boolean sharedTransport) {
         this.config = config;
-        final Collection<Header> defaultHeaders = new ArrayList<>();
-        defaultHeaders.add(new BasicHeader(API_KEY_HEADER, config.getApiKey()));
-        defaultHeaders.add(new BasicHeader("Content-Type", "application/json"));
-        final RequestConfig requestConfig = RequestConfig.custom()
-            .setConnectionRequestTimeout(5000, TimeUnit.MILLISECONDS)
-            .setResponseTimeout(5000, TimeUnit.MILLISECONDS)
-            .setDefaultKeepAlive(30_000, TimeUnit.MILLISECONDS)
-            .build();
-        client = HttpClientBuilder.create()
-            .setDefaultRequestConfig(requestConfig)
-            .setDefaultHeaders(defaultHeaders)
-            .build();
+        this.transport = transport;
+        this.sharedTransport = sharedTransport;
+        client = transport.getHttpClient();
         cache = config.getCache();
+        final boolean compactCache = cache instanceof ApiCacheCompact;
+        parsedCache = new ParsedContentCache(compactCache);
+        typedCache = new ParsedContentCache(compactCache);
+        retryPolicy = new RetryPolicy(config);
+        circuitBreaker = CircuitBreaker.create(config);
+        lastKnownGood = LastKnownGoodContents.create(config);
+        snapshot = ContentSnapshot.create(config);
+        bootstrap = BootstrapContents.create(config);
+        if (config.getMaxStalenessSeconds() > 0) {
+            staleCache = new StaleContentCache(config.getCacheExpirationSeconds(), config.getMaxStalenessSeconds(),
+                ContentCodec.forCache(cache));
+        } else {
+            staleCache = null;
+        }
+        if (config.getBatchWindowMillis() > 0) {
+            batcher = new RequestBatcher(config.getBatchWindowMillis(), this::loadContentsById);
+        } else {
+            batcher = null;
+        }
     }
 
     /**
@@ -165,9 +237,44 @@ public class ClientImpl implements Client {
      */
     @Override
     public JsonNode getContent(final String contentId, final JoystickContentOptions contentOptions) {
-        final AbstractApiEndpoint singleEndpoint = new SingleContentEndpoint(config, contentId);
-        final String singleContent =  getContentsAsString(singleEndpoint, contentOptions);
-        return JoystickUtil.readTree(singleContent);
+        final AbstractApiEndpoint singleEndpoint = new SingleContentEndpoint(getConfig(contentOptions), contentId);
+        return getParsedContent(singleEndpoint, contentOptions, ContentParsers.CONTENT_PARSER, parsedCache,
+            ContentParsers::toResult);
+    }
+
+    /**
+     * Get content from Joystick API by contentId, bound to the type. Content is bound once per loaded version,
+     * and the same instance is returned to every caller until the content is changed, so it must not be modified.
+     *
+     * @param contentId content id in string format
+     * @param type type to bind content to
+     * @param contentOptions optional parameters for getting Joystick content
+     * @param <T> type of returned content
+     * @return configuration content from Joystick bound to the type
+     */
+    @Override
+    public <T> T getContent(final String contentId, final Class<T> type, final JoystickContentOptions contentOptions) {
+        final AbstractApiEndpoint singleEndpoint = new SingleContentEndpoint(getConfig(contentOptions), contentId);
+        return getParsedContent(singleEndpoint, contentOptions, ContentParsers.getTypedParser(type), typedCache,
+            ContentParsers::toResult);
+    }
+
+    /**
+     * Get content from Joystick API by contentId, bound to the generic type. Content is bound once per loaded version,
+     * and the same instance is returned to every caller until the content is changed, so it must not be modified.
+     *
+     * @param contentId content id in string format
+     * @param type reference to the type to bind content to
+     * @param contentOptions optional parameters for getting Joystick content
+     * @param <T> type of returned content
+     * @return configuration content from Joystick bound to the type
+     */
+    @Override
+    public <T> T getContent(final String contentId, final TypeReference<T> type,
+                            final JoystickContentOptions contentOptions) {
+        final AbstractApiEndpoint singleEndpoint = new SingleContentEndpoint(getConfig(contentOptions), contentId);
+        return getParsedContent(singleEndpoint, contentOptions, ContentParsers.getTypedParser(type), typedCache,
+            ContentParsers::toResult);
     }
 
     /**
@@ -179,9 +286,10 @@ public class ClientImpl implements Client {
      */
     @Override
     public String getContentSerialized(final String contentId, final JoystickContentOptions contentOptions) {
-        final AbstractApiEndpoint singleEndpoint = new SingleContentEndpoint(config, contentId).setSerialized(true);
-        final String serializedString = getContentsAsString(singleEndpoint, contentOptions);
-        return removeTrailingQuotes(serializedString);
+        final AbstractApiEndpoint singleEndpoint = new SingleContentEndpoint(getConfig(contentOptions), contentId)
+            .setSerialized(true);
+        return getParsedContent(singleEndpoint, contentOptions, ContentParsers.SERIALIZED_CONTENT_PARSER, parsedCache,
+            ContentParsers::toResult);
     }
 
     /**
@@ -194,10 +302,10 @@ public class ClientImpl implements Client {
     @Override
     public JoystickFullContent<JsonNode> getFullContent(final String contentId,
                                                      final JoystickContentOptions contentOptions) {
-        final AbstractApiEndpoint singleEndpoint = new SingleContentEndpoint(config, contentId)
+        final AbstractApiEndpoint singleEndpoint = new SingleContentEndpoint(getConfig(contentOptions), contentId)
             .setFullResponse(true);
-        final String content =  getContentsAsString(singleEndpoint, contentOptions);
-        return new JoystickFullContent<>(content, false);
+        return getParsedContent(singleEndpoint, contentOptions, ContentParsers.FULL_CONTENT_PARSER, parsedCache,
+            ContentParsers::toResult);
     }
 
     /**
@@ -210,11 +318,11 @@ public class ClientImpl implements Client {
     @Override
     public JoystickFullContent<String> getFullContentSerialized(final String contentId,
                                                                 final JoystickContentOptions contentOptions) {
-        final AbstractApiEndpoint singleEndpoint = new SingleContentEndpoint(config, contentId)
+        final AbstractApiEndpoint singleEndpoint = new SingleContentEndpoint(getConfig(contentOptions), contentId)
             .setSerialized(true)
             .setFullResponse(true);
-        final String content =  getContentsAsString(singleEndpoint,  contentOptions);
-        return new JoystickFullContent<>(content, true);
+        return getParsedContent(singleEndpoint, contentOptions, ContentParsers.FULL_SERIALIZED_CONTENT_PARSER,
+            parsedCache, ContentParsers::toResult);
     }
 
     /**
@@ -227,14 +335,8 @@ public class ClientImpl implements Client {
     @Override
     public Map<String, JsonNode> getContents(final Collection<String> contentIds,
                                                     final JoystickContentOptions contentOptions) {
-        final AbstractApiEndpoint multiEndpoint = new MultipleContentEndpoint(config, contentIds);
-        final String content =  getContentsAsString(multiEndpoint, contentOptions);
-        final JsonNode jsonNode = JoystickUtil.readTree(content);
-        final Map<String, JsonNode> contentMap = new HashMap<>();
-        jsonNode.fields().forEachRemaining(nodeEntry ->
-            contentMap.put(nodeEntry.getKey(), nodeEntry.getValue())
-        );
-        return contentMap;
+        return getContentsById(contentIds, contentOptions, false, false, ContentParsers.CONTENT_PARSER,
+            ContentParsers::toResult);
     }
 
     /**
@@ -247,17 +349,8 @@ public class ClientImpl implements Client {
     @Override
     public Map<String, String> getContentsSerialized(final Collection<String> contentIds,
                                                      final JoystickContentOptions contentOptions) {
-        final AbstractApiEndpoint multiEndpoint = new MultipleContentEndpoint(config, contentIds)
-            .setSerialized(true);
-        final String content =  getContentsAsString(multiEndpoint, contentOptions);
-        final JsonNode jsonNode = JoystickUtil.readTree(content);
-        final Map<String, String> contentMap = new HashMap<>();
-        jsonNode.fields().forEachRemaining(nodeEntry -> {
-            final JsonNode nodeValue = nodeEntry.getValue();
-            final String serializedContent = nodeValue != null ? nodeValue.toString() : null;
-            contentMap.put(nodeEntry.getKey(), removeTrailingQuotes(serializedContent));
-        });
-        return contentMap;
+        return getContentsById(contentIds, contentOptions, true, false, ContentParsers.SERIALIZED_CONTENT_PARSER,
+            ContentParsers::toResult);
     }
 
     /**
@@ -270,17 +363,8 @@ public class ClientImpl implements Client {
     @Override
     public Map<String, JoystickFullContent<JsonNode>> getFullContents(final Collection<String> contentIds,
                                                                 final JoystickContentOptions contentOptions) {
-        final AbstractApiEndpoint multiEndpoint = new MultipleContentEndpoint(config, contentIds)
-            .setFullResponse(true);
-        final String content =  getContentsAsString(multiEndpoint, contentOptions);
-        final JsonNode jsonNode = JoystickUtil.readTree(content);
-        final Map<String, JoystickFullContent<JsonNode>> contentMap = new HashMap<>();
-        jsonNode.fields().forEachRemaining(nodeEntry -> {
-            final JsonNode jsonContent = nodeEntry.getValue();
-            contentMap.put(nodeEntry.getKey(),
-                new JoystickFullContent<>(jsonContent, false));
-        });
-        return contentMap;
+        return getContentsById(contentIds, contentOptions, false, true, ContentParsers.FULL_CONTENT_PARSER,
+            ContentParsers::toResult);
     }
 
     /**
@@ -293,21 +377,55 @@ public class ClientImpl implements Client {
     @Override
     public Map<String, JoystickFullContent<String>> getFullContentsSerialized(final Collection<String> contentIds,
                                                                               final JoystickContentOptions contentOptions) {
-        final AbstractApiEndpoint multiEndpoint = new MultipleContentEndpoint(config, contentIds)
-            .setSerialized(true)
-            .setFullResponse(true);
-        final String content =  getContentsAsString(multiEndpoint, contentOptions);
-        final JsonNode jsonNode = JoystickUtil.readTree(content);
-        final Map<String, JoystickFullContent<String>> contentMap = new HashMap<>();
-        jsonNode.fields().forEachRemaining(nodeEntry -> {
-            final JsonNode jsonContent = nodeEntry.getValue();
-            if(jsonContent == null) {
-                contentMap.put(nodeEntry.getKey(), null);
-            } else {
-                contentMap.put(nodeEntry.getKey(), new JoystickFullContent<>(jsonContent, true));
-            }
-        });
-        return contentMap;
+        return getContentsById(contentIds, contentOptions, true, true, ContentParsers.FULL_SERIALIZED_CONTENT_PARSER,
+            ContentParsers::toResult);
+    }
+
+    @Override
+    public JoystickContentResult<JsonNode> getContentResult(final String contentId,
+                                                            final JoystickContentOptions contentOptions) {
+        final AbstractApiEndpoint singleEndpoint = new SingleContentEndpoint(getConfig(contentOptions), contentId);
+        return getParsedContent(singleEndpoint, contentOptions, ContentParsers.CONTENT_PARSER, parsedCache,
+            ContentParsers::toContentResult);
+    }
+
+    @Override
+    public <T> JoystickContentResult<T> getContentResult(final String contentId, final Class<T> type,
+                                                         final JoystickContentOptions contentOptions) {
+        final AbstractApiEndpoint singleEndpoint = new SingleContentEndpoint(getConfig(contentOptions), contentId);
+        return getParsedContent(singleEndpoint, contentOptions, ContentParsers.getTypedParser(type), typedCache,
+            ContentParsers::toContentResult);
+    }
+
+    @Override
+    public <T> JoystickContentResult<T> getContentResult(final String contentId, final TypeReference<T> type,
+                                                         final JoystickContentOptions contentOptions) {
+        final AbstractApiEndpoint singleEndpoint = new SingleContentEndpoint(getConfig(contentOptions), contentId);
+        return getParsedContent(singleEndpoint, contentOptions, ContentParsers.getTypedParser(type), typedCache,
+            ContentParsers::toContentResult);
+    }
+
+    @Override
+    public JoystickContentResult<String> getContentSerializedResult(final String contentId,
+                                                                    final JoystickContentOptions contentOptions) {
+        final AbstractApiEndpoint singleEndpoint = new SingleContentEndpoint(getConfig(contentOptions), contentId)
+            .setSerialized(true);
+        return getParsedContent(singleEndpoint, contentOptions, ContentParsers.SERIALIZED_CONTENT_PARSER, parsedCache,
+            ContentParsers::toContentResult);
+    }
+
+    @Override
+    public Map<String, JoystickContentResult<JsonNode>> getContentResults(final Collection<String> contentIds,
+                                                                          final JoystickContentOptions contentOptions) {
+        return getContentsById(contentIds, contentOptions, false, false, ContentParsers.CONTENT_PARSER,
+            ContentParsers::toContentResult);
+    }
+
+    @Override
+    public Map<String, JoystickContentResult<String>> getContentSerializedResults(
+        final Collection<String> contentIds, final JoystickContentOptions contentOptions) {
+        return getContentsById(contentIds, contentOptions, true, false, ContentParsers.SERIALIZED_CONTENT_PARSER,
+            ContentParsers::toContentResult);
     }
 
 
@@ -365,6 +483,161 @@ public class ClientImpl implements Client {
         return getContentsAsString(contentEndpoint, new JoystickContentOptions(refresh));
     }
 
+    /**
+     * Get client configuration with applied user context of the call. Configurations are reused for equal
+     * contexts, so cache keys are not recalculated for every call.
+     *
+     * @param contentOptions optional parameters for getting Joystick content
+     * @return configuration to load content with
+     */
+    private ClientConfig getConfig(final JoystickContentOptions contentOptions) {
+        final JoystickContext context = contentOptions.getContext();
+        if (context == null) {
+            return config;
+        }
+        ClientConfig contextConfig = contextConfigs.get(context);
+        if (contextConfig == null) {
+            contextConfig = config.withContext(context);
+            contextConfigs.put(context, contextConfig);
+        }
+        return contextConfig;
+    }
+
+    /**
+     * Get Joystick content converted by the parser. Converted content is cached together with
+     * the cached String content, so the parser is called only when the cached content changes.
+     *
+     * @param contentEndpoint endpoint to load Joystick content
+     * @param contentOptions optional parameters for getting Joystick content
+     * @param parser function to convert Joystick content from String format
+     * @param convertedCache cache of content converted by the parser
+     * @param resultConverter converts the cached converted content and its staleness to the returned value
+     * @param <T> type of converted content
+     * @param <R> type of returned value
+     * @return converted Joystick content
+     */
+    private <T, R> R getParsedContent(final AbstractApiEndpoint contentEndpoint,
+                                      final JoystickContentOptions contentOptions,
+                                      final Function<String, T> parser, final ParsedContentCache convertedCache,
+                                      final ContentParsers.ResultConverter<T, R> resultConverter) {
+        final String hash = contentEndpoint.getContentHash();
+        final ContentResult result = getContentResult(contentEndpoint, hash, contentOptions);
+        return resultConverter.convert(convertedCache.get(hash, result.getContents(), parser), result.isStale());
+    }
+
+    /**
+     * Get map of Joystick contents by content id. Every content is cached separately, so contents found in cache
+     * are reused by any call including them, and only missing contents are loaded with a single request.
+     *
+     * @param contentIds collection of content ids
+     * @param contentOptions optional parameters for getting Joystick content
+     * @param serialized if content is serialized
+     * @param fullResponse if content is in full format
+     * @param parser function to convert a single Joystick content from String format
+     * @param resultConverter converts the cached converted content and its staleness to the returned value
+     * @param <T> type of converted content
+     * @param <R> type of returned values
+     * @return map of converted Joystick content by content id
+     */
+    private <T, R> Map<String, R> getContentsById(final Collection<String> contentIds,
+                                                  final JoystickContentOptions contentOptions,
+                                                  final boolean serialized, final boolean fullResponse,
+                                                  final Function<String, T> parser,
+                                                  final ContentParsers.ResultConverter<T, R> resultConverter) {
+        if (contentIds == null || contentIds.isEmpty()) {
+            throw new ConfigurationException("Content IDs are not provided.");
+        }
+        final ClientConfig callConfig = getConfig(contentOptions);
+        final Map<String, String> keysById = new LinkedHashMap<>();
+        final Map<String, String> contentsByKey = new HashMap<>();
+        final Collection<String> missingIds = new LinkedHashSet<>();
+        final Collection<String> expiredIds = new ArrayList<>();
+        final Set<String> staleKeys = new HashSet<>();
+        for (final String contentId : contentIds) {
+            final String key = CombinedContents.getContentKey(callConfig, contentId, serialized, fullResponse);
+            keysById.put(contentId, key);
+            String contents = contentOptions.isRefresh() ? null : cache.get(key);
+            if (contents != null && staleCache != null && staleCache.isExpired(key)) {
+                expiredIds.add(contentId);
+                staleKeys.add(key);
+            } else if (contents == null && !contentOptions.isRefresh()) {
+                contents = getStaleContents(key);
+                if (contents != null) {
+                    expiredIds.add(contentId);
+                    staleKeys.add(key);
+                }
+            }
+            if (contents == null) {
+                missingIds.add(contentId);
+            } else {
+                contentsByKey.put(key, contents);
+            }
+        }
+        if (!expiredIds.isEmpty()) {
+            revalidateContents(callConfig, expiredIds, serialized, fullResponse);
+        }
+        if (!missingIds.isEmpty()) {
+            try {
+                contentsByKey.putAll(inFlightCombinedRequests.execute(
+                    CombinedContents.getRequestKey(callConfig, missingIds, serialized),
+                    () -> loadContentsById(callConfig, missingIds, serialized)));
+            } catch (ApiServerException | ApiUnknownException e) {
+                putFallbackContents(missingIds, keysById, contentsByKey, e);
+                missingIds.forEach(contentId -> staleKeys.add(keysById.get(contentId)));
+            }
+        }
+        final Map<String, R> contentMap = new HashMap<>();
+        keysById.forEach((contentId, key) -> {
+            final String contents = contentsByKey.get(key);
+            if (contents != null) {
+                contentMap.put(contentId,
+                    resultConverter.convert(parsedCache.get(key, contents, parser), staleKeys.contains(key)));
+            }
+        });
+        return Collections.unmodifiableMap(contentMap);
+    }
+
+    /**
+     * Use fallback contents for the contents which cannot be loaded from Joystick API.
+     *
+     * @param contentIds content ids which are not found in cache
+     * @param keysById cache keys by content id
+     * @param contentsByKey contents to return by cache key
+     * @param error exception thrown if some content has no fallback
+     */
+    private void putFallbackContents(final Collection<String> contentIds, final Map<String, String> keysById,
+                                     final Map<String, String> contentsByKey, final ApiHttpException error) {
+        for (final String contentId : contentIds) {
+            final String key = keysById.get(contentId);
+            final String fallbackContents = getFallbackContents(key, error);
+            if (fallbackContents == null) {
+                throw error;
+            }
+            contentsByKey.put(key, fallbackContents);
+        }
+    }
+
+    /**
+     * Get content to return when it cannot be loaded from Joystick API: the last known good content, or
+     * the last loaded content, even if it exceeds max staleness, when the circuit breaker is open.
+     *
+     * @param key cache key of the content
+     * @param error exception the content request failed with
+     * @return fallback content or null if there is no fallback
+     */
+    private String getFallbackContents(final String key, final ApiHttpException error) {
+        if (lastKnownGood != null) {
+            final String lastKnownGoodContents = lastKnownGood.get(key);
+            if (lastKnownGoodContents != null) {
+                return lastKnownGoodContents;
+            }
+        }
+        if (staleCache != null && error instanceof CircuitBreakerOpenException) {
+            return staleCache.getLastLoaded(key);
+        }
+        return null;
+    }
+
     /**
      * Get Joystick content in String format
      *
@@ -374,28 +647,476 @@ public class ClientImpl implements Client {
      */
     private String getContentsAsString(final AbstractApiEndpoint contentEndpoint,
                                        final JoystickContentOptions contentOptions) {
-        final String hash = contentEndpoint.getContentHash(config);
+        return getContentResult(contentEndpoint, contentEndpoint.getContentHash(), contentOptions).getContents();
+    }
+
+    /**
+     * Get Joystick content in String format together with its staleness
+     *
+     * @param contentEndpoint endpoint to load Joystick content
+     * @param hash cache key of the content
+     * @param contentOptions optional parameters for getting Joystick content
+     * @return Joystick content in String format and if it is stale
+     */
+    private ContentResult getContentResult(final AbstractApiEndpoint contentEndpoint, final String hash,
+                                           final JoystickContentOptions contentOptions) {
         final String cachedContents = contentOptions.isRefresh() ? null: cache.get(hash);
         if (cachedContents != null) {
-            return cachedContents;
+            final boolean expired = staleCache != null && staleCache.isExpired(hash);
+            if (expired) {
+                revalidate(contentEndpoint, hash);
+            }
+            return new ContentResult(cachedContents, expired);
+        }
+        if (!contentOptions.isRefresh()) {
+            final String staleContents = getStaleContents(hash);
+            if (staleContents != null) {
+                revalidate(contentEndpoint, hash);
+                return new ContentResult(staleContents, true);
+            }
         }
+        try {
+            return new ContentResult(
+                inFlightRequests.execute(hash, () -> loadContents(contentEndpoint, hash, contentOptions)), false);
+        } catch (ApiServerException | ApiUnknownException e) {
+            final String fallbackContents = getFallbackContents(hash, e);
+            if (fallbackContents == null) {
+                throw e;
+            }
+            return new ContentResult(fallbackContents, true);
+        }
+    }
 
-        final ClassicHttpRequest httpPost = ClassicRequestBuilder.post(contentEndpoint.getUrl())
-            .setEntity(contentEndpoint.prepareRequestEntity())
-            .addParameters(contentEndpoint.getQueryParameters())
-            .build();
+    /**
+     * Get content which is not found in cache, but can be returned while it is reloaded in background:
+     * expired content within max staleness, or content restored from the snapshot or the content bundle
+     * and not loaded yet.
+     *
+     * @param key cache key of the content
+     * @return stale content or null if there is no such content
+     */
+    private String getStaleContents(final String key) {
+        String staleContents = null;
+        if (staleCache != null) {
+            staleContents = staleCache.getStale(key);
+        }
+        if (staleContents == null && snapshot != null) {
+            staleContents = snapshot.getRestored(key);
+        }
+        if (staleContents == null && bootstrap != null) {
+            staleContents = bootstrap.get(key);
+        }
+        return staleContents;
+    }
 
-        JsonNode responseData;
+    /**
+     * Reload expired content in background. Only one background reload per cache key is scheduled at a time.
+     *
+     * @param contentEndpoint endpoint to load Joystick content
+     * @param hash cache key of the content
+     */
+    private void revalidate(final AbstractApiEndpoint contentEndpoint, final String hash) {
+        if (!revalidatedKeys.add(hash)) {
+            return;
+        }
         try {
-            responseData = client.execute(httpPost, contentEndpoint::processResponse);
-        } catch (IOException e) {
-            throw new ApiUnknownException("Unable to complete the request", e);
+            getBackgroundExecutor().execute(() -> {
+                try {
+                    inFlightRequests.execute(hash, () -> loadContents(contentEndpoint, hash, REFRESH_OPTIONS));
+                } catch (JoystickException ignored) {
+                    // Stale content is returned until it exceeds max staleness, then the error is thrown to caller
+                } finally {
+                    revalidatedKeys.remove(hash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            revalidatedKeys.remove(hash);
+        }
+    }
+
+    /**
+     * Reload expired contents in background with a single request. Contents already reloaded are skipped.
+     *
+     * @param callConfig client configuration with applied user context
+     * @param contentIds expired content ids
+     * @param serialized if content is serialized
+     * @param fullResponse if content is in full format
+     */
+    private void revalidateContents(final ClientConfig callConfig, final Collection<String> contentIds,
+                                    final boolean serialized, final boolean fullResponse) {
+        final Collection<String> revalidatedIds = new ArrayList<>();
+        for (final String contentId : contentIds) {
+            if (revalidatedKeys.add(CombinedContents.getContentKey(callConfig, contentId, serialized, fullResponse))) {
+                revalidatedIds.add(contentId);
+            }
+        }
+        if (revalidatedIds.isEmpty()) {
+            return;
+        }
+        final Runnable releaseKeys = () -> revalidatedIds.forEach(contentId -> revalidatedKeys.remove(
+            CombinedContents.getContentKey(callConfig, contentId, serialized, fullResponse)));
+        try {
+            getBackgroundExecutor().execute(() -> {
+                try {
+                    loadContentsById(callConfig, revalidatedIds, serialized);
+                } catch (JoystickException ignored) {
+                    // Stale content is returned until it exceeds max staleness, then the error is thrown to caller
+                } finally {
+                    releaseKeys.run();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            releaseKeys.run();
+        }
+    }
+
+    /**
+     * Load multiple contents with a single request to Joystick API and put every content to cache
+     * in both full and data only formats.
+     *
+     * @param callConfig client configuration with applied user context
+     * @param contentIds content ids to load
+     * @param serialized if content is serialized
+     * @return loaded content in String format by cache key
+     */
+    private Map<String, String> loadContentsById(final ClientConfig callConfig, final Collection<String> contentIds,
+                                                 final boolean serialized) {
+        final MultipleContentEndpoint endpoint = CombinedContents.getEndpoint(callConfig, contentIds, serialized);
+        final Map<String, String> entries = fetchContents(endpoint, ClassicRequestBuilder::post,
+            response -> CombinedContents.toCacheEntries(callConfig, endpoint, response, serialized, parsedCache));
+        entries.forEach(this::putContents);
+        return entries;
+    }
+
+    /**
+     * Load Joystick content from the API and put it to cache. Only one load per cache key is made at a time.
+     *
+     * @param contentEndpoint endpoint to load Joystick content
+     * @param hash cache key of the content
+     * @param contentOptions optional parameters for getting Joystick content
+     * @return Joystick content in String format
+     */
+    private String loadContents(final AbstractApiEndpoint contentEndpoint, final String hash,
+                                final JoystickContentOptions contentOptions) {
+        // Content could be put to cache by the request that has just completed
+        final String cachedContents = contentOptions.isRefresh() ? null: cache.get(hash);
+        if (cachedContents != null) {
+            return cachedContents;
+        }
+
+        if (contentEndpoint instanceof SingleContentEndpoint) {
+            final SingleContentEndpoint singleEndpoint = (SingleContentEndpoint) contentEndpoint;
+            // Batching takes precedence over conditional requests, which are sent only if the batch
+            // cannot return the content
+            if (batcher != null) {
+                final String batchedContents = loadBatchedContents(singleEndpoint, hash);
+                if (batchedContents != null) {
+                    return batchedContents;
+                }
+            }
+            return loadSingleContents(singleEndpoint, hash);
+        }
+
+        final String contents;
+        if (contentEndpoint instanceof MultipleContentEndpoint) {
+            // Contents are written to String as they are read, without the tree of the whole response
+            contents = fetchContents(contentEndpoint, ClassicRequestBuilder::post,
+                ((MultipleContentEndpoint) contentEndpoint)::readContentsAsString);
+        } else {
+            final JsonNode responseData = fetchContents(contentEndpoint);
+            contents = responseData != null ? responseData.toString() : null;
+        }
+        putContents(hash, contents);
+        return contents;
+    }
+
+    /**
+     * Load single content and remember its hash. If the hash of the loaded content is known and the content
+     * is still kept by the client, the request is conditional, so Joystick API does not send content which
+     * was not changed, and the kept content is reused together with its parsed value. Content expired in cache
+     * is kept only by the stale cache and last known good contents, so without them expired content is loaded
+     * with an unconditional request.
+     *
+     * @param contentEndpoint endpoint of the single content
+     * @param hash cache key of the content
+     * @return Joystick content in String format
+     */
+    private String loadSingleContents(final SingleContentEndpoint contentEndpoint, final String hash) {
+        final ContentVersions.ContentVersion version = contentVersions.get(hash);
+        final String knownContents = version != null ? getVersionContents(hash, version) : null;
+        final AtomicReference<String> contentHash = new AtomicReference<>();
+        final JsonNode responseData = fetchContents(contentEndpoint,
+            url -> knownContents == null ? ClassicRequestBuilder.post(url)
+                : ClassicRequestBuilder.post(url).addHeader(HttpHeaders.IF_NONE_MATCH, '"' + version.getHash() + '"'),
+            response -> {
+                if (knownContents != null && response.getCode() == HttpStatus.SC_NOT_MODIFIED) {
+                    return NOT_MODIFIED;
+                }
+                contentEndpoint.processCommonResponseErrors(response);
+                final JsonNode fullContent = contentEndpoint.parseResponseToJson(response);
+                contentHash.set(fullContent.path(HASH_FIELD).textValue());
+                return contentEndpoint.formatJsonResponse(fullContent);
+            });
+        if (responseData == NOT_MODIFIED) {
+            putContents(hash, knownContents);
+            return knownContents;
         }
         final String contents = responseData != null ? responseData.toString() : null;
+        if (contents != null && contentHash.get() != null) {
+            contentVersions.put(hash, contentHash.get(), contents);
+        }
+        if (contents != null && !contentEndpoint.isSerialized() && !contentEndpoint.isFullResponse()) {
+            // Loaded content is returned as JSON without parsing it again from String format
+            parsedCache.put(hash, contents, ContentParsers.CONTENT_PARSER,
+                JoystickUtil.toReadOnly(responseData));
+        }
+        putContents(hash, contents);
+        return contents;
+    }
+
+    /**
+     * Get content of the version still kept by the client: in cache when it is refreshed before expiration,
+     * otherwise as stale or last known good content. Content put later by another request, e.g. a combine
+     * request, is not returned, because its hash is not known.
+     *
+     * @param hash cache key of the content
+     * @param version latest loaded version of the content
+     * @return content in String format or null if the client does not keep it
+     */
+    private String getVersionContents(final String hash, final ContentVersions.ContentVersion version) {
+        final String cachedContents = cache.get(hash);
+        if (cachedContents != null && version.isVersionOf(cachedContents)) {
+            return cachedContents;
+        }
+        final String staleContents = staleCache != null ? staleCache.getLastLoaded(hash) : null;
+        if (staleContents != null && version.isVersionOf(staleContents)) {
+            return staleContents;
+        }
+        final String lastKnownGoodContents = lastKnownGood != null ? lastKnownGood.get(hash) : null;
+        return lastKnownGoodContents != null && version.isVersionOf(lastKnownGoodContents)
+            ? lastKnownGoodContents : null;
+    }
+
+    /**
+     * Load single content together with other contents requested during the batch window.
+     * If some content of the batch cannot be loaded, null is returned, so the content is requested separately
+     * and errors of other contents do not affect the caller.
+     *
+     * @param contentEndpoint endpoint of the single content
+     * @param hash cache key of the content
+     * @return Joystick content in String format, or null if it was not loaded by the batch
+     */
+    private String loadBatchedContents(final SingleContentEndpoint contentEndpoint, final String hash) {
+        try {
+            return batcher.load(contentEndpoint.getConfig(), contentEndpoint.getContentId(),
+                contentEndpoint.isSerialized()).get(hash);
+        } catch (MultipleContentsApiException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Make request to Joystick API, unless it is rejected by the circuit breaker
+     *
+     * @param contentEndpoint endpoint to load Joystick content
+     * @return formatted response of the endpoint
+     * @throws CircuitBreakerOpenException if the circuit breaker is open
+     */
+    private JsonNode fetchContents(final AbstractApiEndpoint contentEndpoint) {
+        return fetchContents(contentEndpoint, ClassicRequestBuilder::post, contentEndpoint::processResponse);
+    }
+
+    /**
+     * Make request to Joystick API, unless it is rejected by the circuit breaker
+     *
+     * @param contentEndpoint endpoint to load Joystick content
+     * @param requestBuilder creates request builder for the URL
+     * @param responseHandler processes response of the endpoint
+     * @return processed response of the endpoint
+     * @throws CircuitBreakerOpenException if the circuit breaker is open
+     */
+    private <T> T fetchContents(final AbstractApiEndpoint contentEndpoint,
+                                final Function<String, ClassicRequestBuilder> requestBuilder,
+                                final HttpClientResponseHandler<T> responseHandler) {
+        if (circuitBreaker == null) {
+            return execute(contentEndpoint, requestBuilder, responseHandler, true);
+        }
+        circuitBreaker.acquire();
+        final long startedAt = System.nanoTime();
+        Throwable error = null;
+        try {
+            return execute(contentEndpoint, requestBuilder, responseHandler, true);
+        } catch (RuntimeException | Error e) {
+            error = e;
+            throw e;
+        } finally {
+            circuitBreaker.onComplete(System.nanoTime() - startedAt, error);
+        }
+    }
+
+    /**
+     * Execute request of the endpoint. Request failed because of a transient error is retried with backoff,
+     * as allowed by the retry policy.
+     *
+     * @param endpoint endpoint of the request
+     * @param requestBuilder creates request builder with the HTTP method of the endpoint for the URL
+     * @param responseHandler processes response of the endpoint
+     * @param idempotent if the request can be repeated after it was received by the server
+     * @return processed response of the endpoint
+     */
+    private <T> T execute(final AbstractApiEndpoint endpoint,
+                          final Function<String, ClassicRequestBuilder> requestBuilder,
+                          final HttpClientResponseHandler<T> responseHandler, final boolean idempotent) {
+        retryPolicy.onRequest();
+        for (int retry = 0; ; retry++) {
+            final RuntimeException error;
+            try {
+                return executeWithFailover(endpoint, requestBuilder, responseHandler, idempotent);
+            } catch (IOException e) {
+                error = new ApiUnknownException("Unable to complete the request", e);
+                if (!RetryPolicy.isRetryable(e, idempotent)) {
+                    throw error;
+                }
+            } catch (ApiServerException e) {
+                error = e;
+                if (!RetryPolicy.isRetryable(e, idempotent)) {
+                    throw error;
+                }
+            }
+            if (!retryPolicy.tryRetry(retry)) {
+                throw error;
+            }
+            try {
+                Thread.sleep(retryPolicy.getBackoffMillis(retry));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw error;
+            }
+        }
+    }
+
+    /**
+     * Execute request of the endpoint. If the API is not available on the base URL because of a transient error,
+     * the request is repeated on the next fallback URL.
+     *
+     * @param endpoint endpoint of the request
+     * @param requestBuilder creates request builder with the HTTP method of the endpoint for the URL
+     * @param responseHandler processes response of the endpoint
+     * @param idempotent if the request can be repeated after it was received by the server
+     * @return processed response of the endpoint
+     * @throws IOException if the request failed on the last URL
+     */
+    private <T> T executeWithFailover(final AbstractApiEndpoint endpoint,
+                                      final Function<String, ClassicRequestBuilder> requestBuilder,
+                                      final HttpClientResponseHandler<T> responseHandler,
+                                      final boolean idempotent) throws IOException {
+        final List<String> baseUrls = endpoint.getBaseUrls();
+        for (int i = 0; ; i++) {
+            final ClassicHttpRequest request = requestBuilder.apply(endpoint.getUrl(baseUrls.get(i)))
+                .setEntity(endpoint.prepareRequestEntity())
+                .addParameters(endpoint.getQueryParameters())
+                .addHeader(HttpClientFactory.API_KEY_HEADER, config.getApiKey())
+                .build();
+            try {
+                return client.execute(request, responseHandler);
+            } catch (IOException | ApiServerException e) {
+                if (i == baseUrls.size() - 1 || !RetryPolicy.isRetryable(e, idempotent)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void putContents(final String hash, final String contents) {
         if (contents != null) {
+            // Other tiers are updated first, so content seen in cache is already in the snapshot saved on close
+            if (staleCache != null) {
+                staleCache.put(hash, contents);
+            }
+            if (lastKnownGood != null) {
+                lastKnownGood.put(hash, contents);
+            }
+            if (snapshot != null && snapshot.put(hash, contents)) {
+                scheduleSnapshotSave();
+            }
             cache.put(hash, contents);
+            if (bootstrap != null) {
+                bootstrap.remove(hash);
+            }
         }
-        return contents;
+    }
+
+    /**
+     * Save the content snapshot in background after the snapshot interval, so it is saved at most once
+     * per interval.
+     */
+    private void scheduleSnapshotSave() {
+        try {
+            getBackgroundExecutor().schedule(snapshot::save, config.getSnapshotIntervalSeconds(), TimeUnit.SECONDS);
+        } catch (RejectedExecutionException ignored) {
+            // Client is closed, snapshot is saved on close
+        }
+    }
+
+    /**
+     * Register content ids to be loaded in background and refreshed before cache expiration.
+     *
+     * @param contentIds collection of content ids
+     * @param responseType declares if content should be serialized or not serialized
+     */
+    @Override
+    public void registerContentIds(final Collection<String> contentIds, final ResponseType responseType) {
+        if (contentIds == null || contentIds.isEmpty()) {
+            throw new IllegalArgumentException("No Content ID provided.");
+        }
+        final ResponseType type = responseType == null ? ResponseType.NONE : responseType;
+        registeredContentIds.computeIfAbsent(type, key -> ConcurrentHashMap.newKeySet()).addAll(contentIds);
+        getBackgroundExecutor().execute(() -> refreshRegisteredContents(type));
+    }
+
+    private void refreshRegisteredContents() {
+        registeredContentIds.keySet().forEach(this::refreshRegisteredContents);
+    }
+
+    /**
+     * Load all registered content ids with a single request to Joystick API and put each content to cache
+     * in both full and data only formats.
+     *
+     * @param responseType declares if content should be serialized or not serialized
+     */
+    private void refreshRegisteredContents(final ResponseType responseType) {
+        final boolean isSerialized = responseType == ResponseType.SERIALIZED;
+        final Collection<String> contentIds = new ArrayList<>(registeredContentIds.get(responseType));
+        try {
+            loadContentsById(config, contentIds, isSerialized);
+        } catch (RuntimeException ignored) {
+            // Any exception would cancel the periodic refresh, registered content is loaded on demand
+            // until the next successful refresh
+        }
+    }
+
+    /**
+     * Get executor for background loading, which is created on the first use.
+     * Registered content ids are refreshed by the executor every refresh interval.
+     *
+     * @return executor for background tasks
+     */
+    private synchronized ScheduledExecutorService getBackgroundExecutor() {
+        if (closed) {
+            throw new RejectedExecutionException("Client is closed.");
+        }
+        if (backgroundExecutor == null) {
+            backgroundExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("joystick-refresh-%d")
+                .setDaemon(true)
+                .build());
+            final long refreshInterval = config.getRefreshIntervalSeconds();
+            if (refreshInterval > 0) {
+                backgroundExecutor.scheduleAtFixedRate(this::refreshRegisteredContents,
+                    refreshInterval, refreshInterval, TimeUnit.SECONDS);
+            }
+        }
+        return backgroundExecutor;
     }
 
     /**
@@ -409,25 +1130,26 @@ public class ClientImpl implements Client {
         if (contentId == null || contentId.trim().isEmpty()) {
             throw new IllegalArgumentException("No Content ID provided.");
         }
-        final AbstractApiEndpoint endpoint = new PublishUpdateEndpoint(data, contentId);
-        final ClassicHttpRequest httpPut = ClassicRequestBuilder.put(endpoint.getUrl())
-            .setEntity(endpoint.prepareRequestEntity())
-            .addParameters(endpoint.getQueryParameters())
-            .build();
-        try {
-            client.execute(httpPut, endpoint::processResponse);
-        } catch (IOException e) {
-            throw new ApiUnknownException("Unable to complete the request", e);
-        }
+        final PublishUpdateEndpoint endpoint = new PublishUpdateEndpoint(config, data, contentId);
+        execute(endpoint, ClassicRequestBuilder::put, endpoint::processResponse, false);
     }
 
     /**
-     * Immediately close the client.
+     * Immediately close the client. Transport shared with other clients is not closed.
      */
     @Override
     public void close() {
-        if (client != null) {
-            client.close(CloseMode.IMMEDIATE);
+        synchronized (this) {
+            closed = true;
+            if (backgroundExecutor != null) {
+                backgroundExecutor.shutdownNow();
+            }
+        }
+        if (snapshot != null) {
+            snapshot.save();
+        }
+        if (!sharedTransport) {
+            transport.close();
         }
     }
 
@@ -0,0 +1,155 @@
+package com.getjoystick.sdk.client.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.getjoystick.sdk.client.ClientConfig;
+import com.getjoystick.sdk.client.endpoints.AbstractApiEndpoint;
+import com.getjoystick.sdk.client.endpoints.MultipleContentEndpoint;
+import com.getjoystick.sdk.client.endpoints.SingleContentEndpoint;
+import com.getjoystick.sdk.util.ApiCacheKeyUtil;
+import com.getjoystick.sdk.util.JoystickUtil;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Helpers to load multiple contents with a single request to Joystick API and to store every content
+ * in cache separately, under the same keys as used by single content requests.
+ */
+/* default */ final class CombinedContents {
+
+    /**
+     * Get cache key of a single content.
+     *
+     * @param config client configuration
+     * @param contentId content id
+     * @param serialized if content is serialized
+     * @param fullResponse if content is in full format
+     * @return cache key of the content
+     */
+    /* default */ static String getContentKey(final ClientConfig config, final String contentId,
+                                             final boolean serialized, final boolean fullResponse) {
+        return ApiCacheKeyUtil.getHash(config, contentId, serialized, fullResponse);
+    }
+
+    /**
+     * Get key of the request loading multiple contents in full format.
+     *
+     * @param config client configuration
+     * @param contentIds content ids to load
+     * @param serialized if content is serialized
+     * @return request key
+     */
+    /* default */ static String getRequestKey(final ClientConfig config, final Collection<String> contentIds,
+                                             final boolean serialized) {
+        return ApiCacheKeyUtil.getHash(config, contentIds, serialized, true);
+    }
+
+    /**
+     * Get endpoint loading multiple contents in full format, so both full content and data can be cached.
+     *
+     * @param config client configuration
+     * @param contentIds content ids to load
+     * @param serialized if content is serialized
+     * @return combine endpoint
+     */
+    /* default */ static MultipleContentEndpoint getEndpoint(final ClientConfig config,
+                                                             final Collection<String> contentIds,
+                                                             final boolean serialized) {
+        return new MultipleContentEndpoint(config, contentIds)
+            .setSerialized(serialized)
+            .setFullResponse(true);
+    }
+
+    /**
+     * Split response of the combine endpoint into cache entries of every content, in both full and data only formats.
+     *
+     * @param config client configuration
+     * @param response full response of the combine endpoint
+     * @param serialized if content is serialized
+     * @return content in String format by cache key
+     */
+    /* default */ static Map<String, String> toCacheEntries(final ClientConfig config, final JsonNode response,
+                                                            final boolean serialized) {
+        final Map<String, String> entries = new HashMap<>();
+        response.fields().forEachRemaining(nodeEntry ->
+            putCacheEntries(config, nodeEntry.getKey(), nodeEntry.getValue(), serialized, entries));
+        return entries;
+    }
+
+    /**
+     * Read response of the combine endpoint content by content, and split it into cache entries of every content,
+     * in both full and data only formats.
+     *
+     * @param config client configuration
+     * @param endpoint combine endpoint in full format
+     * @param response response of the endpoint
+     * @param serialized if content is serialized
+     * @param parsedCache receives data of every content parsed from the response
+     * @return content in String format by cache key
+     * @throws IOException if the response cannot be read
+     */
+    /* default */ static Map<String, String> toCacheEntries(final ClientConfig config,
+                                                            final MultipleContentEndpoint endpoint,
+                                                            final ClassicHttpResponse response,
+                                                            final boolean serialized,
+                                                            final ParsedContentCache parsedCache) throws IOException {
+        final Map<String, String> entries = new HashMap<>();
+        endpoint.readContents(response, (contentId, fullContent) ->
+            putCacheEntries(config, contentId, fullContent, serialized, entries, parsedCache));
+        return entries;
+    }
+
+    /**
+     * Read response of the combine endpoint content by content, and split it into cache entries of every content,
+     * in both full and data only formats.
+     *
+     * @param config client configuration
+     * @param endpoint combine endpoint in full format
+     * @param response response of the endpoint
+     * @param serialized if content is serialized
+     * @param parsedCache receives data of every content parsed from the response
+     * @return content in String format by cache key
+     */
+    /* default */ static Map<String, String> toCacheEntries(final ClientConfig config,
+                                                            final MultipleContentEndpoint endpoint,
+                                                            final SimpleHttpResponse response,
+                                                            final boolean serialized,
+                                                            final ParsedContentCache parsedCache) {
+        final Map<String, String> entries = new HashMap<>();
+        endpoint.readContents(response, (contentId, fullContent) ->
+            putCacheEntries(config, contentId, fullContent, serialized, entries, parsedCache));
+        return entries;
+    }
+
+    private static void putCacheEntries(final ClientConfig config, final String contentId, final JsonNode fullContent,
+                                        final boolean serialized, final Map<String, String> entries) {
+        putCacheEntries(config, contentId, fullContent, serialized, entries, null);
+    }
+
+    private static void putCacheEntries(final ClientConfig config, final String contentId, final JsonNode fullContent,
+                                        final boolean serialized, final Map<String, String> entries,
+                                        final ParsedContentCache parsedCache) {
+        entries.put(getContentKey(config, contentId, serialized, true), fullContent.toString());
+        final AbstractApiEndpoint dataEndpoint = new SingleContentEndpoint(config, contentId)
+            .setSerialized(serialized);
+        final JsonNode dataContent = dataEndpoint.formatJsonResponse(fullContent);
+        if (dataContent != null) {
+            final String dataKey = getContentKey(config, contentId, serialized, false);
+            final String dataContents = dataContent.toString();
+            entries.put(dataKey, dataContents);
+            if (parsedCache != null && !serialized) {
+                parsedCache.put(dataKey, dataContents, ContentParsers.CONTENT_PARSER,
+                    JoystickUtil.toReadOnly(dataContent));
+            }
+        }
+    }
+
+    private CombinedContents() {
+        throw new IllegalStateException("Utility class.");
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.getjoystick.sdk.client.impl;
+
+import com.getjoystick.sdk.cache.ApiCache;
+import com.getjoystick.sdk.cache.impl.ApiCacheCompact;
+import com.getjoystick.sdk.cache.impl.CompactContent;
+
+/**
+ * Form of content kept by the client next to the cache. Content is kept as {@link CompactContent} if the client
+ * uses {@link ApiCacheCompact}, so the memory saved by the cache is not taken back by stale, last known good
+ * and snapshot contents. Otherwise content is kept as the String shared with the cache.
+ */
+/* default */ final class ContentCodec {
+
+    private static final ContentCodec STRING = new ContentCodec(false, 0);
+
+    private final boolean compact;
+
+    private final int compressionThreshold;
+
+    private ContentCodec(final boolean compact, final int compressionThreshold) {
+        this.compact = compact;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    /**
+     * Get codec keeping content in the same form as the cache of the client
+     *
+     * @param cache cache of the client
+     * @return content codec
+     */
+    /* default */ static ContentCodec forCache(final ApiCache<String, String> cache) {
+        return cache instanceof ApiCacheCompact
+            ? new ContentCodec(true, ((ApiCacheCompact) cache).getCompressionThreshold()) : STRING;
+    }
+
+    /**
+     * Convert content to the kept form
+     *
+     * @param contents content in String format
+     * @return content to keep
+     */
+    /* default */ Object encode(final String contents) {
+        return compact && contents != null ? CompactContent.encode(contents, compressionThreshold) : contents;
+    }
+
+    /**
+     * Convert kept content back to String
+     *
+     * @param value kept content or null
+     * @return content in String format or null
+     */
+    /* default */ String decode(final Object value) {
+        return value instanceof CompactContent ? ((CompactContent) value).decode() : (String) value;
+    }
+
+}
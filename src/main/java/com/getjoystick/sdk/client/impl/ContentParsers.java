@@ -0,0 +1,126 @@
+package com.getjoystick.sdk.client.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.getjoystick.sdk.errors.JoystickException;
+import com.getjoystick.sdk.models.JoystickContentResult;
+import com.getjoystick.sdk.models.JoystickFullContent;
+import com.getjoystick.sdk.util.JoystickUtil;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Functions converting Joystick content from String format to the types returned by clients.
+ * Each type has a single function instance, which is used by {@link ParsedContentCache} to match cached values.
+ * JSON trees are parsed read-only, since parsed values are shared by all callers.
+ */
+/* default */ final class ContentParsers {
+
+    /* default */ static final Function<String, JsonNode> CONTENT_PARSER =
+        content -> JoystickUtil.toReadOnly(JoystickUtil.readTree(content));
+
+    /* default */ static final Function<String, String> SERIALIZED_CONTENT_PARSER = JoystickUtil::removeTrailingQuotes;
+
+    /* default */ static final Function<String, JoystickFullContent<JsonNode>> FULL_CONTENT_PARSER =
+        content -> new JoystickFullContent<>(content, false);
+
+    /* default */ static final Function<String, JoystickFullContent<String>> FULL_SERIALIZED_CONTENT_PARSER =
+        content -> new JoystickFullContent<>(content, true);
+
+    private static final ConcurrentMap<Type, Function<String, ?>> TYPED_PARSERS = new ConcurrentHashMap<>();
+
+    /**
+     * Get function binding content to the type with the reader created once for the type.
+     *
+     * @param type type to bind content to
+     * @param <T> type of parsed content
+     * @return parser of the type, the same instance for every call with the same type
+     */
+    @SuppressWarnings("unchecked")
+    /* default */ static <T> Function<String, T> getTypedParser(final Class<T> type) {
+        return (Function<String, T>) TYPED_PARSERS.computeIfAbsent(type,
+            key -> typedParser(JoystickUtil.readerFor(type), type));
+    }
+
+    /**
+     * Get function binding content to the generic type with the reader created once for the type.
+     *
+     * @param type reference to the type to bind content to
+     * @param <T> type of parsed content
+     * @return parser of the type, the same instance for every call with the same type
+     */
+    @SuppressWarnings("unchecked")
+    /* default */ static <T> Function<String, T> getTypedParser(final TypeReference<T> type) {
+        return (Function<String, T>) TYPED_PARSERS.computeIfAbsent(type.getType(),
+            key -> typedParser(JoystickUtil.readerFor(type), key));
+    }
+
+    /**
+     * Get value to return to the caller from a parsed value shared by all callers. Full content is copied,
+     * so its setters do not change the shared value, and the copy is marked with the staleness of the content.
+     * Other values are returned as is.
+     *
+     * @param value shared parsed value
+     * @param stale if the content is stale
+     * @param <T> type of parsed content
+     * @return value to return to the caller
+     */
+    @SuppressWarnings("unchecked")
+    /* default */ static <T> T toResult(final T value, final boolean stale) {
+        if (value instanceof JoystickFullContent) {
+            final JoystickFullContent<?> copy = ((JoystickFullContent<?>) value).copy();
+            copy.setStale(stale);
+            return (T) copy;
+        }
+        return value;
+    }
+
+    /**
+     * Get value to return to the caller together with the staleness of the content.
+     *
+     * @param value shared parsed value
+     * @param stale if the content is stale
+     * @param <T> type of parsed content
+     * @return value to return to the caller and its staleness
+     */
+    /* default */ static <T> JoystickContentResult<T> toContentResult(final T value, final boolean stale) {
+        return new JoystickContentResult<>(toResult(value, stale), stale);
+    }
+
+    private static <T> Function<String, T> typedParser(final ObjectReader reader, final Type type) {
+        return content -> {
+            if (content == null) {
+                return null;
+            }
+            try {
+                return reader.readValue(content);
+            } catch (IOException e) {
+                throw new JoystickException("Unable to convert Joystick content to " + type, e);
+            }
+        };
+    }
+
+    /**
+     * Converts a parsed value shared by all callers to the value returned to the caller,
+     * e.g. {@link #toResult} or {@link #toContentResult}
+     *
+     * @param <T> type of parsed content
+     * @param <R> type of returned value
+     */
+    @FunctionalInterface
+    /* default */ interface ResultConverter<T, R> {
+
+        R convert(T value, boolean stale);
+
+    }
+
+    private ContentParsers() {
+        throw new IllegalStateException("Utility class.");
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.getjoystick.sdk.client.impl;
+
+/**
+ * Content in String format returned by a call, together with its staleness.
+ */
+/* default */ final class ContentResult {
+
+    private final String contents;
+
+    /**
+     * If the content is expired in cache and returned while being revalidated, or it is returned
+     * because Joystick API failed
+     */
+    private final boolean stale;
+
+    /* default */ ContentResult(final String contents, final boolean stale) {
+        this.contents = contents;
+        this.stale = stale;
+    }
+
+    /* default */ String getContents() {
+        return contents;
+    }
+
+    /* default */ boolean isStale() {
+        return stale;
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.getjoystick.sdk.client.impl;
+
+import com.getjoystick.sdk.cache.ContentSnapshotStore;
+import com.getjoystick.sdk.client.ClientConfig;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Snapshot of the latest loaded contents, persisted by {@link ContentSnapshotStore}. Contents restored from
+ * the snapshot are returned until the content is loaded from Joystick API for the first time.
+ */
+/* default */ class ContentSnapshot {
+
+    private static final int MAX_SIZE = 1000;
+
+    private final ContentSnapshotStore store;
+
+    private final Map<String, String> restored = new ConcurrentHashMap<>();
+
+    private final Cache<String, Object> latest = CacheBuilder.newBuilder().maximumSize(MAX_SIZE).build();
+
+    private final ContentCodec codec;
+
+    private final AtomicBoolean changed = new AtomicBoolean();
+
+    /* default */ ContentSnapshot(final ContentSnapshotStore store, final ContentCodec codec) {
+        this.store = store;
+        this.codec = codec;
+        try {
+            final Map<String, String> contents = store.load();
+            restored.putAll(contents);
+            // Restored strings are shared with the restored contents until the content is loaded
+            latest.putAll(contents);
+        } catch (IOException | RuntimeException ignored) {
+            // Snapshot cannot be read, contents are loaded from Joystick API
+        }
+    }
+
+    /**
+     * Create content snapshot if snapshot store is set in the client configuration.
+     *
+     * @param config client configuration
+     * @return content snapshot or null if it is disabled
+     */
+    /* default */ static ContentSnapshot create(final ClientConfig config) {
+        return config.getSnapshotStore() != null
+            ? new ContentSnapshot(config.getSnapshotStore(), ContentCodec.forCache(config.getCache())) : null;
+    }
+
+    /**
+     * Get content restored from the snapshot, which was not loaded from Joystick API yet
+     *
+     * @param key cache key of the content
+     * @return restored content or null if there is no such content or it was already loaded
+     */
+    /* default */ String getRestored(final String key) {
+        return restored.get(key);
+    }
+
+    /**
+     * Store just loaded content
+     *
+     * @param key cache key of the content
+     * @param contents content in String format
+     * @return true if this is the first change since the snapshot was saved, so the save should be scheduled
+     */
+    /* default */ boolean put(final String key, final String contents) {
+        restored.remove(key);
+        latest.put(key, codec.encode(contents));
+        return changed.compareAndSet(false, true);
+    }
+
+    /**
+     * Save the snapshot if contents were changed since the last save. Errors are ignored,
+     * the snapshot is saved again after the next change.
+     */
+    /* default */ void save() {
+        if (!changed.getAndSet(false)) {
+            return;
+        }
+        try {
+            final Map<String, String> contents = new HashMap<>();
+            latest.asMap().forEach((key, value) -> contents.put(key, codec.decode(value)));
+            store.save(contents);
+        } catch (IOException | RuntimeException ignored) {
+            // Previous snapshot is kept
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.getjoystick.sdk.client.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * Keeps hash of the latest loaded version of every single content, so expired content can be revalidated
+ * with a conditional request. The content itself is not kept, it is read back from the cache, stale cache or
+ * last known good content when Joystick API reports it as not modified, so the compact cache is not defeated
+ * by a second copy of every content. The content read back is checked against the fingerprint of the version,
+ * so content put by another request is never returned as not modified.
+ */
+/* default */ class ContentVersions {
+
+    private static final int MAX_SIZE = 1000;
+
+    private static final HashFunction FINGERPRINT = Hashing.murmur3_128();
+
+    private final Cache<String, ContentVersion> versions = CacheBuilder.newBuilder().maximumSize(MAX_SIZE).build();
+
+    /**
+     * Store hash of just loaded content
+     *
+     * @param key cache key of the content
+     * @param hash content hash returned by Joystick API
+     * @param contents content in String format
+     */
+    /* default */ void put(final String key, final String hash, final String contents) {
+        versions.put(key, new ContentVersion(hash, contents));
+    }
+
+    /**
+     * Get the latest loaded version of the content
+     *
+     * @param key cache key of the content
+     * @return content version or null if content hash is not known
+     */
+    /* default */ ContentVersion get(final String key) {
+        return versions.getIfPresent(key);
+    }
+
+    /* default */ static final class ContentVersion {
+
+        private final String hash;
+
+        private final int contentsLength;
+
+        /**
+         * 128-bit fingerprint of the loaded content, so a different content kept by the client is never
+         * taken for this version, as it could be with 32-bit {@link String#hashCode()}
+         */
+        private final HashCode contentsFingerprint;
+
+        private ContentVersion(final String hash, final String contents) {
+            this.hash = hash;
+            this.contentsLength = contents.length();
+            this.contentsFingerprint = FINGERPRINT.hashUnencodedChars(contents);
+        }
+
+        /* default */ String getHash() {
+            return hash;
+        }
+
+        /**
+         * Check if the content is the one loaded with this version, and not content put to the cache later
+         * by another request
+         *
+         * @param contents content in String format
+         * @return true if the content belongs to this version
+         */
+        /* default */ boolean isVersionOf(final String contents) {
+            return contents.length() == contentsLength
+                && contentsFingerprint.equals(FINGERPRINT.hashUnencodedChars(contents));
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.getjoystick.sdk.client.impl;
+
+import com.getjoystick.sdk.client.ClientConfig;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClientBuilder;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.message.BasicHeader;
+import org.apache.hc.core5.util.TimeValue;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates HTTP clients with connection pool and timeouts defined by the client configuration.
+ * Automatic retries of the HTTP clients are disabled, failed requests are retried by {@link RetryPolicy}.
+ * API key is not a default header of the created clients, so the clients can be shared by configurations
+ * with different API keys.
+ */
+/* default */ final class HttpClientFactory {
+
+    /**
+     * Header with API key, added to every request by the client making it.
+     */
+    /* default */ static final String API_KEY_HEADER = "x-api-key";
+
+    /**
+     * Create blocking HTTP client.
+     *
+     * @param config client configuration
+     * @return HTTP client
+     */
+    /* default */ static CloseableHttpClient createClient(final ClientConfig config) {
+        final HttpClientBuilder builder = HttpClientBuilder.create()
+            .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnPerRoute(config.getMaxConnectionsPerRoute())
+                .setMaxConnTotal(config.getMaxConnectionsTotal())
+                .setDefaultConnectionConfig(getConnectionConfig(config))
+                .build())
+            .setDefaultRequestConfig(getRequestConfig(config))
+            .disableAutomaticRetries()
+            .setDefaultHeaders(Collections.singletonList(new BasicHeader("Content-Type", "application/json")));
+        if (config.getIdleConnectionEvictionSeconds() > 0) {
+            builder.evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(config.getIdleConnectionEvictionSeconds()));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Create non-blocking HTTP client. The client is started and ready to execute requests.
+     *
+     * @param config client configuration
+     * @return started HTTP client
+     */
+    /* default */ static CloseableHttpAsyncClient createAsyncClient(final ClientConfig config) {
+        final HttpAsyncClientBuilder builder = HttpAsyncClients.custom()
+            .setConnectionManager(PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnPerRoute(config.getMaxConnectionsPerRoute())
+                .setMaxConnTotal(config.getMaxConnectionsTotal())
+                .setDefaultConnectionConfig(getConnectionConfig(config))
+                .build())
+            .setDefaultRequestConfig(getRequestConfig(config))
+            .disableAutomaticRetries();
+        if (config.getIdleConnectionEvictionSeconds() > 0) {
+            builder.evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(config.getIdleConnectionEvictionSeconds()));
+        }
+        final CloseableHttpAsyncClient client = builder.build();
+        client.start();
+        return client;
+    }
+
+    private static ConnectionConfig getConnectionConfig(final ClientConfig config) {
+        return ConnectionConfig.custom()
+            .setConnectTimeout(config.getConnectTimeoutMillis(), TimeUnit.MILLISECONDS)
+            .build();
+    }
+
+    private static RequestConfig getRequestConfig(final ClientConfig config) {
+        return RequestConfig.custom()
+            .setConnectionRequestTimeout(config.getConnectionRequestTimeoutMillis(), TimeUnit.MILLISECONDS)
+            .setResponseTimeout(config.getResponseTimeoutMillis(), TimeUnit.MILLISECONDS)
+            .setDefaultKeepAlive(config.getKeepAliveSeconds(), TimeUnit.SECONDS)
+            .build();
+    }
+
+    private HttpClientFactory() {
+        throw new IllegalStateException("Utility class.");
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.getjoystick.sdk.client.impl;
+
+import com.getjoystick.sdk.errors.ApiUnknownException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates concurrent requests by key: while a request is in flight, other callers with the same key
+ * wait for its result instead of making their own call.
+ *
+ * @param <K> request key type
+ * @param <V> request result type
+ */
+/* default */ class InFlightRequests<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> requests = new ConcurrentHashMap<>();
+
+    /**
+     * Execute the loader, or wait for the result of the loader already executed for the same key.
+     *
+     * @param key request key
+     * @param loader function making the actual request
+     * @return result shared by all callers with the same key
+     */
+    /* default */ V execute(final K key, final Supplier<V> loader) {
+        final CompletableFuture<V> request = new CompletableFuture<>();
+        final CompletableFuture<V> inFlight = requests.putIfAbsent(key, request);
+        if (inFlight != null) {
+            return join(inFlight);
+        }
+        try {
+            final V result = loader.get();
+            request.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            request.completeExceptionally(e);
+            throw e;
+        } finally {
+            requests.remove(key, request);
+        }
+    }
+
+    /**
+     * Execute the asynchronous loader, or return the pending result of the loader already executed for the same key.
+     *
+     * @param key request key
+     * @param loader function starting the actual request
+     * @return result shared by all callers with the same key
+     */
+    /* default */ CompletableFuture<V> executeAsync(final K key, final Supplier<CompletableFuture<V>> loader) {
+        final CompletableFuture<V> request = new CompletableFuture<>();
+        final CompletableFuture<V> inFlight = requests.putIfAbsent(key, request);
+        if (inFlight != null) {
+            return inFlight;
+        }
+        try {
+            loader.get().whenComplete((result, error) -> {
+                requests.remove(key, request);
+                if (error == null) {
+                    request.complete(result);
+                } else {
+                    request.completeExceptionally(
+                        error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            requests.remove(key, request);
+            request.completeExceptionally(e);
+        }
+        return request;
+    }
+
+    /**
+     * Wait for the result of the request, rethrowing the exception the request failed with.
+     *
+     * @param request pending request
+     * @param <V> request result type
+     * @return request result
+     */
+    /* default */ static <V> V join(final CompletableFuture<V> request) {
+        try {
+            return request.join();
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new ApiUnknownException("Unable to complete the request", cause);
+        }
+    }
+
+}
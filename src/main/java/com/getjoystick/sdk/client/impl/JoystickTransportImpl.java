@@ -0,0 +1,76 @@
+package com.getjoystick.sdk.client.impl;
+
+import com.getjoystick.sdk.client.ClientConfig;
+import com.getjoystick.sdk.client.JoystickTransport;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.io.CloseMode;
+
+/**
+ * Transport holding HTTP clients with connection pool and timeouts defined by the configuration.
+ * Blocking and non-blocking clients are created on the first use, API key is sent with every request
+ * by the client using the transport, so one transport serves any number of API keys.
+ */
+public class JoystickTransportImpl implements JoystickTransport {
+
+    private final ClientConfig config;
+    private CloseableHttpClient httpClient;
+    private CloseableHttpAsyncClient httpAsyncClient;
+    private boolean closed;
+
+    /**
+     * Create transport. Only connection pool and timeout settings of the configuration are used.
+     *
+     * @param config configuration with connection settings
+     */
+    public JoystickTransportImpl(final ClientConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Get blocking HTTP client of the transport, creating it on the first call.
+     *
+     * @return HTTP client
+     */
+    /* default */ synchronized CloseableHttpClient getHttpClient() {
+        checkNotClosed();
+        if (httpClient == null) {
+            httpClient = HttpClientFactory.createClient(config);
+        }
+        return httpClient;
+    }
+
+    /**
+     * Get started non-blocking HTTP client of the transport, creating it on the first call.
+     *
+     * @return HTTP client
+     */
+    /* default */ synchronized CloseableHttpAsyncClient getHttpAsyncClient() {
+        checkNotClosed();
+        if (httpAsyncClient == null) {
+            httpAsyncClient = HttpClientFactory.createAsyncClient(config);
+        }
+        return httpAsyncClient;
+    }
+
+    private void checkNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("Transport is closed.");
+        }
+    }
+
+    /**
+     * Immediately close all connections of the transport.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (httpClient != null) {
+            httpClient.close(CloseMode.IMMEDIATE);
+        }
+        if (httpAsyncClient != null) {
+            httpAsyncClient.close(CloseMode.IMMEDIATE);
+        }
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.getjoystick.sdk.client.impl;
+
+import com.getjoystick.sdk.client.ClientConfig;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Keeps the latest content loaded for every cache key, independently of the cache expiration.
+ * Contents are evicted only when the store is full, so they can be returned when Joystick API fails
+ * for longer than the cache expiration time. Contents are kept in the same form as in the cache of the client.
+ */
+/* default */ class LastKnownGoodContents {
+
+    private final Cache<String, Object> contents;
+
+    private final ContentCodec codec;
+
+    /* default */ LastKnownGoodContents(final int maximumSize, final ContentCodec codec) {
+        this.contents = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .build();
+        this.codec = codec;
+    }
+
+    /**
+     * Create store of last known good contents if it is enabled in the client configuration.
+     *
+     * @param config client configuration
+     * @return store of last known good contents or null if it is disabled
+     */
+    /* default */ static LastKnownGoodContents create(final ClientConfig config) {
+        return config.getLastKnownGoodSize() > 0
+            ? new LastKnownGoodContents(config.getLastKnownGoodSize(), ContentCodec.forCache(config.getCache())) : null;
+    }
+
+    /**
+     * Store just loaded content
+     *
+     * @param key cache key of the content
+     * @param content content in String format
+     */
+    /* default */ void put(final String key, final String content) {
+        contents.put(key, codec.encode(content));
+    }
+
+    /**
+     * Get the latest loaded content
+     *
+     * @param key cache key of the content
+     * @return last known good content or null if content was never loaded
+     */
+    /* default */ String get(final String key) {
+        return codec.decode(contents.getIfPresent(key));
+    }
+
+}
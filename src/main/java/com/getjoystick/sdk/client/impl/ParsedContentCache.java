@@ -0,0 +1,130 @@
+package com.getjoystick.sdk.client.impl;
+
+import com.getjoystick.sdk.cache.ApiCache;
+import com.getjoystick.sdk.cache.impl.ApiCacheCompact;
+import com.getjoystick.sdk.cache.impl.ApiCacheLRU;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.lang.ref.WeakReference;
+import java.util.function.Function;
+
+/**
+ * Second cache tier which keeps the content already converted to the type returned by the client.
+ * Entries are bound to the exact cached string they were built from, so the tier always follows
+ * the expiration and eviction policy of the configured {@link ApiCache}.
+ * <p>
+ * With {@link ApiCacheCompact} the cache decodes a new string when the previous one is no longer used,
+ * so keeping the string would keep a second, decoded copy of the content. In compact mode the string is kept
+ * weakly and matched by identity while it is still used, and by its fingerprint otherwise.
+ */
+/* default */ class ParsedContentCache {
+
+    private static final HashFunction FINGERPRINT = Hashing.murmur3_128();
+
+    private final ApiCache<String, ParsedContent> cache = new ApiCacheLRU<>();
+
+    private final boolean compact;
+
+    /**
+     * @param compact if the source strings are not kept, so the tier does not hold strings which the content cache
+     *                stores in another form
+     */
+    /* default */ ParsedContentCache(final boolean compact) {
+        this.compact = compact;
+    }
+
+    /**
+     * Get parsed content for the cache key, parsing the source only if it was changed since last call.
+     *
+     * @param key cache key of the content
+     * @param source content in String format, as stored in the content cache
+     * @param parser function to convert content to the returned type, expected to be the same instance
+     *               for every call with the same type
+     * @param <T> type of parsed content
+     * @return parsed content
+     */
+    @SuppressWarnings("unchecked")
+    /* default */ <T> T get(final String key, final String source, final Function<String, T> parser) {
+        if (source == null) {
+            return parser.apply(null);
+        }
+        final ParsedContent cached = cache.get(key);
+        if (cached != null && cached.parser == parser && cached.isParsedFrom(source)) {
+            return (T) cached.value;
+        }
+        final T value = parser.apply(source);
+        cache.put(key, createParsedContent(source, parser, value));
+        return value;
+    }
+
+    /**
+     * Keep content already parsed while it was loaded, so it is not parsed again from its String format.
+     *
+     * @param key cache key of the content
+     * @param source content in String format, as stored in the content cache
+     * @param parser function which would convert the source to the value
+     * @param value parsed content
+     * @param <T> type of parsed content
+     */
+    /* default */ <T> void put(final String key, final String source, final Function<String, T> parser,
+                               final T value) {
+        cache.put(key, createParsedContent(source, parser, value));
+    }
+
+    private ParsedContent createParsedContent(final String source, final Function<String, ?> parser,
+                                              final Object value) {
+        return compact ? new FingerprintedContent(source, parser, value) : new ParsedContent(source, parser, value);
+    }
+
+    private static class ParsedContent {
+
+        private final String source;
+
+        private final Function<String, ?> parser;
+
+        private final Object value;
+
+        private ParsedContent(final String source, final Function<String, ?> parser, final Object value) {
+            this.source = source;
+            this.parser = parser;
+            this.value = value;
+        }
+
+        /* default */ boolean isParsedFrom(final String contents) {
+            return contents.equals(source);
+        }
+    }
+
+    private static final class FingerprintedContent extends ParsedContent {
+
+        private volatile WeakReference<String> weakSource;
+
+        private final int sourceLength;
+
+        private final HashCode sourceFingerprint;
+
+        private FingerprintedContent(final String source, final Function<String, ?> parser, final Object value) {
+            super(null, parser, value);
+            this.weakSource = new WeakReference<>(source);
+            this.sourceLength = source.length();
+            this.sourceFingerprint = FINGERPRINT.hashUnencodedChars(source);
+        }
+
+        @Override
+        /* default */ boolean isParsedFrom(final String contents) {
+            if (weakSource.get() == contents) {
+                return true;
+            }
+            if (sourceLength == contents.length()
+                && sourceFingerprint.equals(FINGERPRINT.hashUnencodedChars(contents))) {
+                // The cache returns the same string while it is used, so following hits match it by identity
+                weakSource = new WeakReference<>(contents);
+                return true;
+            }
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.getjoystick.sdk.client.impl;
+
+import com.getjoystick.sdk.client.ClientConfig;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects content ids requested by concurrent callers during the batch window and loads them with a single request.
+ * The caller which opens a batch waits for the window and makes the request, other callers wait for its result.
+ */
+/* default */ class RequestBatcher {
+
+    /**
+     * Maximum number of content ids in one request, to keep the request URL short.
+     */
+    private static final int MAX_BATCH_SIZE = 50;
+
+    private final long windowMillis;
+
+    private final BatchLoader loader;
+
+    private final ConcurrentMap<String, Batch> batches = new ConcurrentHashMap<>();
+
+    /* default */ RequestBatcher(final long windowMillis, final BatchLoader loader) {
+        this.windowMillis = windowMillis;
+        this.loader = loader;
+    }
+
+    /**
+     * Load content id together with other content ids requested during the batch window.
+     *
+     * @param config client configuration with applied user context
+     * @param contentId content id to load
+     * @param serialized if content is serialized
+     * @return loaded content of the batch in String format by cache key
+     */
+    /* default */ Map<String, String> load(final ClientConfig config, final String contentId, final boolean serialized) {
+        final String batchKey = config.getConfigHash() + (serialized ? ":s" : ":");
+        while (true) {
+            Batch batch = batches.get(batchKey);
+            boolean leader = false;
+            if (batch == null) {
+                final Batch created = new Batch(config, serialized);
+                batch = batches.putIfAbsent(batchKey, created);
+                if (batch == null) {
+                    batch = created;
+                    leader = true;
+                }
+            }
+            if (batch.add(contentId)) {
+                if (leader) {
+                    execute(batchKey, batch);
+                }
+                return InFlightRequests.join(batch.result);
+            }
+            batches.remove(batchKey, batch);
+        }
+    }
+
+    private void execute(final String batchKey, final Batch batch) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(windowMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        batches.remove(batchKey, batch);
+        final Collection<String> contentIds = batch.close();
+        try {
+            batch.result.complete(loader.load(batch.config, contentIds, batch.serialized));
+        } catch (RuntimeException | Error e) {
+            batch.result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Function loading multiple contents with a single request.
+     */
+    @FunctionalInterface
+    /* default */ interface BatchLoader {
+
+        /**
+         * Load contents and put them to cache.
+         *
+         * @param config client configuration with applied user context
+         * @param contentIds content ids to load
+         * @param serialized if content is serialized
+         * @return loaded content in String format by cache key
+         */
+        Map<String, String> load(ClientConfig config, Collection<String> contentIds, boolean serialized);
+    }
+
+    private static final class Batch {
+
+        private final ClientConfig config;
+
+        private final boolean serialized;
+
+        private final Set<String> contentIds = new LinkedHashSet<>();
+
+        private final CompletableFuture<Map<String, String>> result = new CompletableFuture<>();
+
+        private boolean closed;
+
+        private Batch(final ClientConfig config, final boolean serialized) {
+            this.config = config;
+            this.serialized = serialized;
+        }
+
+        private synchronized boolean add(final String contentId) {
+            if (closed) {
+                return false;
+            }
+            contentIds.add(contentId);
+            closed = contentIds.size() >= MAX_BATCH_SIZE;
+            return true;
+        }
+
+        private synchronized Collection<String> close() {
+            closed = true;
+            return new ArrayList<>(contentIds);
+        }
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.getjoystick.sdk.client.impl;
+
+import com.getjoystick.sdk.client.ClientConfig;
+import com.getjoystick.sdk.errors.ApiServerException;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides if a failed request is retried and how long to wait before the retry.
+ * Backoff grows exponentially with full jitter, and retries are limited by a budget: every request adds
+ * a share of a retry token and every retry takes a whole token, so retries cannot multiply the load
+ * on Joystick API during an outage.
+ */
+/* default */ class RetryPolicy {
+
+    private static final long TOKEN = 1000;
+
+    private static final long MAX_BUDGET = 10 * TOKEN;
+
+    private static final int MAX_BACKOFF_SHIFT = 30;
+
+    private final int maxRetries;
+
+    private final long backoffMillis;
+
+    private final long maxBackoffMillis;
+
+    private final long budgetDeposit;
+
+    private final AtomicLong budget = new AtomicLong(MAX_BUDGET);
+
+    /* default */ RetryPolicy(final ClientConfig config) {
+        this.maxRetries = config.getMaxRetries();
+        this.backoffMillis = config.getRetryBackoffMillis();
+        this.maxBackoffMillis = config.getMaxRetryBackoffMillis();
+        this.budgetDeposit = Math.round(config.getRetryBudgetRatio() * TOKEN);
+    }
+
+    /**
+     * Check if the error is caused by a transient failure and the request can be repeated.
+     * Requests which are not idempotent are repeated only if they were not sent to the server.
+     *
+     * @param error exception the request failed with
+     * @param idempotent if the request can be safely repeated after it was received by the server
+     * @return true if the request can be repeated
+     */
+    /* default */ static boolean isRetryable(final Throwable error, final boolean idempotent) {
+        if (error instanceof ConnectException || error instanceof ConnectTimeoutException
+            || error instanceof UnknownHostException || error instanceof ConnectionRequestTimeoutException) {
+            return true;
+        }
+        return idempotent && (error instanceof IOException || error instanceof ApiServerException);
+    }
+
+    /**
+     * Register a new request, adding its share to the retry budget.
+     */
+    /* default */ void onRequest() {
+        if (budgetDeposit > 0) {
+            budget.accumulateAndGet(budgetDeposit, (current, deposit) -> Math.min(MAX_BUDGET, current + deposit));
+        }
+    }
+
+    /**
+     * Check if one more retry is allowed and take it from the retry budget.
+     *
+     * @param retry number of retries already made for the request
+     * @return true if the request can be retried
+     */
+    /* default */ boolean tryRetry(final int retry) {
+        if (retry >= maxRetries) {
+            return false;
+        }
+        long current;
+        do {
+            current = budget.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!budget.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    /**
+     * Get random time to wait before the retry, up to the exponentially growing backoff.
+     *
+     * @param retry number of retries already made for the request
+     * @return backoff in milliseconds
+     */
+    /* default */ long getBackoffMillis(final int retry) {
+        final long backoff = Math.min(maxBackoffMillis, backoffMillis << Math.min(retry, MAX_BACKOFF_SHIFT));
+        return ThreadLocalRandom.current().nextLong(backoff + 1);
+    }
+
+}
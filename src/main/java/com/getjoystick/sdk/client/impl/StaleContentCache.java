@@ -0,0 +1,93 @@
+package com.getjoystick.sdk.client.impl;
+
+import com.getjoystick.sdk.cache.ApiCache;
+import com.getjoystick.sdk.cache.impl.ApiCacheLRU;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps loaded content together with its load time, so content can be returned after it expires
+ * in the main cache while it is revalidated in background. Content is kept in the same form as in the main cache.
+ */
+/* default */ class StaleContentCache {
+
+    private final long expirationMillis;
+
+    private final long maxStalenessMillis;
+
+    private final ApiCache<String, LoadedContent> cache;
+
+    private final ContentCodec codec;
+
+    /* default */ StaleContentCache(final int expirationSeconds, final int maxStalenessSeconds,
+                                    final ContentCodec codec) {
+        this.expirationMillis = TimeUnit.SECONDS.toMillis(expirationSeconds);
+        this.maxStalenessMillis = TimeUnit.SECONDS.toMillis(maxStalenessSeconds);
+        this.cache = new ApiCacheLRU<>(expirationSeconds + maxStalenessSeconds);
+        this.codec = codec;
+    }
+
+    /**
+     * Store just loaded content
+     *
+     * @param key cache key of the content
+     * @param contents content in String format
+     */
+    /* default */ void put(final String key, final String contents) {
+        cache.put(key, new LoadedContent(codec.encode(contents), System.currentTimeMillis()));
+    }
+
+    /**
+     * Check if content was loaded more than cache expiration time ago.
+     * Content which was not loaded by the client is considered to be fresh.
+     *
+     * @param key cache key of the content
+     * @return true if content should be revalidated
+     */
+    /* default */ boolean isExpired(final String key) {
+        final LoadedContent loaded = cache.get(key);
+        return loaded != null && loaded.getAgeMillis() >= expirationMillis;
+    }
+
+    /**
+     * Get content if it is expired for no longer than max staleness time.
+     *
+     * @param key cache key of the content
+     * @return stale content or null if there is no content or it is too old
+     */
+    /* default */ String getStale(final String key) {
+        final LoadedContent loaded = cache.get(key);
+        if (loaded == null || loaded.getAgeMillis() >= expirationMillis + maxStalenessMillis) {
+            return null;
+        }
+        return codec.decode(loaded.contents);
+    }
+
+    /**
+     * Get content loaded by the client, regardless of its age.
+     *
+     * @param key cache key of the content
+     * @return last loaded content or null if it was evicted
+     */
+    /* default */ String getLastLoaded(final String key) {
+        final LoadedContent loaded = cache.get(key);
+        return loaded != null ? codec.decode(loaded.contents) : null;
+    }
+
+    private static final class LoadedContent {
+
+        private final Object contents;
+
+        private final long loadedAtMillis;
+
+        private LoadedContent(final Object contents, final long loadedAtMillis) {
+            this.contents = contents;
+            this.loadedAtMillis = loadedAtMillis;
+        }
+
+        private long getAgeMillis() {
+            return System.currentTimeMillis() - loadedAtMillis;
+        }
+    }
+
+}
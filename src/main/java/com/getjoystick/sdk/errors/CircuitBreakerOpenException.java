@@ -0,0 +1,10 @@
+package com.getjoystick.sdk.errors;
+
+public class CircuitBreakerOpenException extends ApiUnknownException {
+    private static final long serialVersionUID = -1L;
+
+    public CircuitBreakerOpenException(final String message) {
+        super(message);
+    }
+
+}
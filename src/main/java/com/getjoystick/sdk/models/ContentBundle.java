@@ -0,0 +1,152 @@
+package com.getjoystick.sdk.models;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.getjoystick.sdk.errors.ConfigurationException;
+import com.getjoystick.sdk.errors.JoystickException;
+import com.getjoystick.sdk.util.JoystickUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Contents exported from Joystick, in the full format including data, meta and hash, by content id.
+ * The bundle is returned by the client until contents are loaded from Joystick API, so the application
+ * can start without waiting for the network.
+ */
+public class ContentBundle {
+
+    private static final String DATA_FIELD = "data";
+
+    private static final String META_FIELD = "meta";
+
+    private static final String HASH_FIELD = "hash";
+
+    private static final String JSON_EXTENSION = ".json";
+
+    private final Map<String, JsonNode> contents;
+
+    private ContentBundle(final Map<String, JsonNode> contents) {
+        this.contents = Collections.unmodifiableMap(contents);
+    }
+
+    /**
+     * Read the bundle from a JSON resource on the classpath. The resource has the format of the response
+     * of Joystick combine API in full format: object of full contents by content id.
+     *
+     * @param name resource name, resolved by the context class loader
+     * @return content bundle
+     * @throws ConfigurationException if the resource is not found or it is not a valid bundle
+     */
+    public static ContentBundle fromResource(final String name) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = ContentBundle.class.getClassLoader();
+        }
+        try (InputStream inputStream = classLoader.getResourceAsStream(name)) {
+            if (inputStream == null) {
+                throw new ConfigurationException("Content bundle resource " + name + " is not found.");
+            }
+            return fromJson(JoystickUtil.readTree(inputStream), name);
+        } catch (IOException e) {
+            throw new ConfigurationException("Unable to read content bundle resource " + name, e);
+        }
+    }
+
+    /**
+     * Read the bundle from a JSON file or a directory. The file has the same format as the bundle resource.
+     * The directory contains a JSON file with a single full content per content id, named as content id
+     * with .json extension.
+     *
+     * @param path path of the bundle file or directory
+     * @return content bundle
+     * @throws ConfigurationException if the path does not exist or it is not a valid bundle
+     */
+    public static ContentBundle fromPath(final Path path) {
+        try {
+            if (!Files.isDirectory(path)) {
+                return fromJson(JoystickUtil.readTree(Files.readAllBytes(path)), path.toString());
+            }
+            final Map<String, JsonNode> contents = new LinkedHashMap<>();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(path, "*" + JSON_EXTENSION)) {
+                for (final Path file : files) {
+                    final String fileName = file.getFileName().toString();
+                    final String contentId = fileName.substring(0, fileName.length() - JSON_EXTENSION.length());
+                    contents.put(contentId, toFullContent(contentId, JoystickUtil.readTree(Files.readAllBytes(file))));
+                }
+            }
+            return new ContentBundle(contents);
+        } catch (IOException e) {
+            throw new ConfigurationException("Unable to read content bundle " + path, e);
+        }
+    }
+
+    private static ContentBundle fromJson(final JsonNode json, final String source) {
+        if (json == null || !json.isObject()) {
+            throw new ConfigurationException("Content bundle " + source + " must be a JSON object.");
+        }
+        final Map<String, JsonNode> contents = new LinkedHashMap<>();
+        final Iterator<Map.Entry<String, JsonNode>> fields = json.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            contents.put(field.getKey(), toFullContent(field.getKey(), field.getValue()));
+        }
+        return new ContentBundle(contents);
+    }
+
+    /**
+     * Validate full content and convert its data exported in serialized format to JSON.
+     *
+     * @param contentId content id
+     * @param fullContent full content from the bundle
+     * @return full content with JSON data
+     */
+    private static JsonNode toFullContent(final String contentId, final JsonNode fullContent) {
+        if (fullContent == null || !fullContent.isObject() || !fullContent.hasNonNull(DATA_FIELD)
+            || !fullContent.has(META_FIELD) || !fullContent.hasNonNull(HASH_FIELD)) {
+            throw new ConfigurationException("Content " + contentId + " of content bundle must contain data, meta and hash.");
+        }
+        final JsonNode data = fullContent.get(DATA_FIELD);
+        if (!data.isTextual()) {
+            return fullContent;
+        }
+        try {
+            return ((ObjectNode) fullContent.deepCopy()).set(DATA_FIELD, JoystickUtil.readTree(data.asText()));
+        } catch (JoystickException e) {
+            throw new ConfigurationException("Data of content " + contentId + " of content bundle is not valid JSON.", e);
+        }
+    }
+
+    /**
+     * Get ids of the contents in the bundle
+     *
+     * @return content ids
+     */
+    public Set<String> getContentIds() {
+        return contents.keySet();
+    }
+
+    /**
+     * Get content in full format, where data is not serialized
+     *
+     * @param contentId content id
+     * @return full content or null if the bundle does not contain the content
+     */
+    public JsonNode getFullContent(final String contentId) {
+        return contents.get(contentId);
+    }
+
+    @Override
+    public String toString() {
+        return "ContentBundle(contentIds=" + getContentIds() + ")";
+    }
+
+}
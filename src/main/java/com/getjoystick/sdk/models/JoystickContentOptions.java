@@ -1,21 +1,42 @@
 package com.getjoystick.sdk.models;
 
+import com.getjoystick.sdk.client.JoystickContext;
+
 /**
- * Class to store optional parameters for loading Joystick content
+ * Class to store optional parameters for loading Joystick content. Options are immutable,
+ * so the same instance can be shared by concurrent calls.
  */
 public class JoystickContentOptions {
 
     /**
      * If true, then content is loaded via Joystick API remote call, skipping cache.
      */
-    private boolean refresh;
+    private final boolean refresh;
+
+    /**
+     * Request scoped user context, overriding user id, parameters and semantic version of the client configuration.
+     */
+    private final JoystickContext context;
 
     public JoystickContentOptions(final boolean refresh) {
+        this(refresh, null);
+    }
+
+    public JoystickContentOptions(final JoystickContext context) {
+        this(false, context);
+    }
+
+    public JoystickContentOptions(final boolean refresh, final JoystickContext context) {
         this.refresh = refresh;
+        this.context = context;
     }
 
     public boolean isRefresh() {
         return refresh;
     }
 
+    public JoystickContext getContext() {
+        return context;
+    }
+
 }
@@ -0,0 +1,40 @@
+package com.getjoystick.sdk.models;
+
+/**
+ * Content returned by the client together with its staleness, for content types which cannot carry it
+ * themselves, like {@code JsonNode}, serialized or typed content. Full content tells its staleness
+ * with {@link JoystickFullContent#isStale()}.
+ *
+ * @param <T> type of the content
+ */
+public final class JoystickContentResult<T> {
+
+    private final T content;
+
+    private final boolean stale;
+
+    public JoystickContentResult(final T content, final boolean stale) {
+        this.content = content;
+        this.stale = stale;
+    }
+
+    public T getContent() {
+        return content;
+    }
+
+    /**
+     * Check if the content is stale: it is expired in cache and returned while being revalidated,
+     * or it is returned because Joystick API failed.
+     *
+     * @return true if the content is stale
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    @Override
+    public String toString() {
+        return "JoystickContentResult(content=" + content + ", stale=" + stale + ")";
+    }
+
+}
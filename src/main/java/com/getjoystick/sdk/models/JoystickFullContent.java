@@ -1,10 +1,29 @@
 package com.getjoystick.sdk.models;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.getjoystick.sdk.errors.JoystickException;
 import com.getjoystick.sdk.util.JoystickUtil;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
 import static com.getjoystick.sdk.util.JoystickUtil.removeTrailingQuotes;
 
+/**
+ * Joystick content in full format. Content created from its String or byte form is parsed lazily:
+ * the first access reads all fields which are not loaded yet in a single pass over the source, except data,
+ * which is only located unless it is requested, so reading the hash does not build the tree of the data.
+ * The source is released once all fields are loaded. A {@link #copy()} reads its fields from the original content.
+ *
+ * @param <T> type of content data
+ */
 public class JoystickFullContent<T> {
 
     private static final String DATA_FIELD = "data";
@@ -13,17 +32,67 @@ public class JoystickFullContent<T> {
 
     private static final String HASH_FIELD = "hash";
 
+    private final boolean isSerialized;
+
+    private String content;
+
+    private byte[] contentBytes;
+
+    private JsonNode jsonContent;
+
+    /**
+     * Content this content is copied from, or null
+     */
+    private JoystickFullContent<T> origin;
+
+    /**
+     * If data of this content is shared with its copies and can no longer be modified
+     */
+    private boolean dataShared;
+
+    /**
+     * If fields were changed by setters after creation
+     */
+    private boolean modified;
+
+    /**
+     * If the content is expired in cache and returned while being revalidated, or it is the last known good
+     * content returned because Joystick API failed
+     */
+    private volatile boolean stale;
+
+    /**
+     * Offset of data in the source, or -1 if data is not located yet
+     */
+    private int dataOffset = -1;
+
+    private int dataEnd = -1;
+
     private String dataString;
 
+    private JsonNode metaNode;
+
     private T data;
 
     private JoystickMeta meta;
 
     private String hash;
 
-    public JoystickFullContent() {}
+    private volatile boolean dataLoaded;
+
+    private volatile boolean metaLoaded;
+
+    private volatile boolean hashLoaded;
+
+    public JoystickFullContent() {
+        this.isSerialized = false;
+        this.dataLoaded = true;
+        this.metaLoaded = true;
+        this.hashLoaded = true;
+    }
 
     public JoystickFullContent(final T data, final String dataString, final JoystickMeta meta, final String hash) {
+        this();
         this.data = data;
         this.dataString = dataString;
         this.meta = meta;
@@ -31,50 +100,255 @@ public class JoystickFullContent<T> {
     }
 
     public JoystickFullContent(final String content, final boolean isSerialized) {
-        final JsonNode jsonContent = JoystickUtil.readTree(content);
-        if(isSerialized) {
-            this.data = (T) removeTrailingQuotes(jsonContent.get(DATA_FIELD).toString());
-        } else {
-            this.data = (T) jsonContent.get(DATA_FIELD);
-        }
-        this.dataString = content;
-        this.meta = JoystickUtil.treeToValue(jsonContent.get(META_FIELD), JoystickMeta.class);
-        this.hash = jsonContent.get(HASH_FIELD).asText();
+        this.content = content;
+        this.isSerialized = isSerialized;
+    }
+
+    /**
+     * Create content backed by the JSON of full content in UTF-8, which is parsed on first access.
+     *
+     * @param content full content in UTF-8
+     * @param isSerialized if content data is serialized
+     */
+    public JoystickFullContent(final byte[] content, final boolean isSerialized) {
+        this.contentBytes = content;
+        this.isSerialized = isSerialized;
     }
 
     public JoystickFullContent(final JsonNode jsonContent, final boolean isSerialized) {
-        if(isSerialized) {
-            this.data = (T) removeTrailingQuotes(jsonContent.get(DATA_FIELD).toString());
-        } else {
-            this.data = (T) jsonContent.get(DATA_FIELD);
-        }
-        this.dataString = removeTrailingQuotes(jsonContent.toString());
-        this.meta = JoystickUtil.treeToValue(jsonContent.get(META_FIELD), JoystickMeta.class);
-        this.hash = jsonContent.get(HASH_FIELD).asText();
+        this.jsonContent = jsonContent;
+        this.isSerialized = isSerialized;
+    }
+
+    private JoystickFullContent(final JoystickFullContent<T> origin) {
+        this.origin = origin;
+        this.isSerialized = origin.isSerialized;
+    }
+
+    /**
+     * Create a copy of the content, which reads its fields from this content on first access.
+     * JSON data is shared by the copies, so it becomes read-only: modification of it throws
+     * {@link UnsupportedOperationException}. Setters of a copy do not affect this content or other copies.
+     *
+     * @return copy of the content
+     */
+    public JoystickFullContent<T> copy() {
+        return new JoystickFullContent<>(this);
     }
 
     public T getData() {
+        if (!dataLoaded) {
+            load(true);
+        }
         return this.data;
     }
 
     public JoystickMeta getMeta() {
+        if (!metaLoaded) {
+            load(false);
+        }
         return this.meta;
     }
 
     public String getHash() {
+        if (!hashLoaded) {
+            load(false);
+        }
         return this.hash;
     }
 
-    public void setData(final T data) {
+    /**
+     * Check if the content returned by the client is stale: it is expired in cache and returned while being
+     * revalidated, or it is returned because Joystick API failed. Staleness is not compared by {@link #equals}.
+     *
+     * @return true if the content is stale
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    public void setStale(final boolean stale) {
+        this.stale = stale;
+    }
+
+    public synchronized void setData(final T data) {
         this.data = data;
+        this.dataLoaded = true;
+        this.modified = true;
+        releaseSourceIfLoaded();
     }
 
-    public void setMeta(final JoystickMeta meta) {
+    public synchronized void setMeta(final JoystickMeta meta) {
         this.meta = meta;
+        this.metaNode = null;
+        this.metaLoaded = true;
+        this.modified = true;
+        releaseSourceIfLoaded();
     }
 
-    public void setHash(final String hash) {
+    public synchronized void setHash(final String hash) {
         this.hash = hash;
+        this.hashLoaded = true;
+        this.modified = true;
+        releaseSourceIfLoaded();
+    }
+
+    /**
+     * Load fields which are not loaded yet.
+     *
+     * @param withData if data should be loaded, otherwise data is only located in the source
+     */
+    private synchronized void load(final boolean withData) {
+        if (origin != null) {
+            loadFromOrigin(withData);
+        } else if (jsonContent != null) {
+            loadFields(true, jsonContent.get(DATA_FIELD), jsonContent.get(META_FIELD), jsonContent.get(HASH_FIELD));
+        } else if (content != null || contentBytes != null) {
+            if (metaLoaded && hashLoaded && dataOffset >= 0) {
+                loadFields(true, readData(), null, null);
+            } else {
+                readSource(withData);
+            }
+        }
+        releaseSourceIfLoaded();
+    }
+
+    private void loadFields(final boolean withData, final JsonNode dataValue, final JsonNode metaValue,
+                            final JsonNode hashValue) {
+        if (withData && !dataLoaded) {
+            data = toData(dataValue);
+            dataLoaded = true;
+        }
+        if (!metaLoaded) {
+            metaNode = metaValue;
+            meta = metaValue == null ? null : JoystickUtil.treeToValue(metaValue, JoystickMeta.class);
+            metaLoaded = true;
+        }
+        if (!hashLoaded) {
+            hash = hashValue == null ? null : hashValue.asText();
+            hashLoaded = true;
+        }
+    }
+
+    private void loadFromOrigin(final boolean withData) {
+        if (withData && !dataLoaded) {
+            data = origin.getSharedData();
+            dataLoaded = true;
+        }
+        if (!metaLoaded) {
+            final JoystickMeta originMeta = origin.getMeta();
+            metaNode = origin.getMetaNode();
+            meta = originMeta == null ? null : new JoystickMeta(originMeta.getUid(), originMeta.getMod(),
+                copyOf(originMeta.getVariants()), copyOf(originMeta.getSeg()));
+            metaLoaded = true;
+        }
+        if (!hashLoaded) {
+            hash = origin.getHash();
+            hashLoaded = true;
+        }
+    }
+
+    private static List<Object> copyOf(final List<Object> list) {
+        return list == null ? null : new ArrayList<>(list);
+    }
+
+    /**
+     * Get data shared with copies of this content, converting JSON data to read-only tree on first call.
+     *
+     * @return data of the content
+     */
+    @SuppressWarnings("unchecked")
+    private synchronized T getSharedData() {
+        final T contentData = getData();
+        if (!dataShared) {
+            if (contentData instanceof JsonNode) {
+                data = (T) JoystickUtil.toReadOnly((JsonNode) contentData);
+            }
+            dataShared = true;
+        }
+        return data;
+    }
+
+    private synchronized JsonNode getMetaNode() {
+        return metaNode;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T toData(final JsonNode dataValue) {
+        if (dataValue == null) {
+            return null;
+        }
+        return isSerialized ? (T) removeTrailingQuotes(dataValue.toString()) : (T) dataValue;
+    }
+
+    /**
+     * Read all fields which are not loaded yet in a single pass over the source. Data which is not requested
+     * is skipped without building its tree, and its position is kept to read it later.
+     *
+     * @param withData if data should be read
+     */
+    private void readSource(final boolean withData) {
+        JsonNode dataValue = null;
+        JsonNode metaValue = null;
+        JsonNode hashValue = null;
+        try (JsonParser parser = createSourceParser()) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JoystickException("Joystick content is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String name = parser.getCurrentName();
+                parser.nextToken();
+                if (DATA_FIELD.equals(name) && !withData) {
+                    dataOffset = getOffset(parser.currentTokenLocation());
+                    parser.skipChildren();
+                    parser.finishToken();
+                    dataEnd = getOffset(parser.currentLocation());
+                } else if (DATA_FIELD.equals(name) && !dataLoaded
+                    || META_FIELD.equals(name) && !metaLoaded || HASH_FIELD.equals(name) && !hashLoaded) {
+                    final JsonNode value = parser.readValueAsTree();
+                    if (DATA_FIELD.equals(name)) {
+                        dataValue = value;
+                    } else if (META_FIELD.equals(name)) {
+                        metaValue = value;
+                    } else {
+                        hashValue = value;
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new JoystickException("Unable to parse Joystick content", e);
+        }
+        // Data which is located in the source is read later from its position
+        loadFields(withData || dataOffset < 0, dataValue, metaValue, hashValue);
+    }
+
+    private JsonNode readData() {
+        try (JsonParser parser = content != null
+            ? JoystickUtil.createParser(content.substring(dataOffset, dataEnd))
+            : JoystickUtil.createParser(contentBytes, dataOffset, dataEnd - dataOffset)) {
+            parser.nextToken();
+            return parser.readValueAsTree();
+        } catch (IOException e) {
+            throw new JoystickException("Unable to parse Joystick content", e);
+        }
+    }
+
+    private JsonParser createSourceParser() throws IOException {
+        return content != null ? JoystickUtil.createParser(content) : JoystickUtil.createParser(contentBytes);
+    }
+
+    private int getOffset(final JsonLocation location) {
+        return (int) (content != null ? location.getCharOffset() : location.getByteOffset());
+    }
+
+    private void releaseSourceIfLoaded() {
+        if (dataLoaded && metaLoaded && hashLoaded) {
+            content = null;
+            contentBytes = null;
+            jsonContent = null;
+        }
     }
 
     @Override
@@ -129,7 +403,53 @@ public class JoystickFullContent<T> {
 
     @Override
     public String toString() {
-        return dataString;
+        if (dataString != null) {
+            return dataString;
+        }
+        synchronized (this) {
+            if (origin != null && !modified) {
+                return origin.toString();
+            }
+            if (content != null) {
+                return content;
+            }
+            if (contentBytes != null) {
+                return new String(contentBytes, StandardCharsets.UTF_8);
+            }
+            if (jsonContent != null) {
+                return removeTrailingQuotes(jsonContent.toString());
+            }
+        }
+        return buildString();
+    }
+
+    /**
+     * Build full content in JSON format from loaded fields, once the source is released.
+     *
+     * @return full content in JSON format
+     */
+    private String buildString() {
+        final T contentData = getData();
+        final JoystickMeta contentMeta = getMeta();
+        final String contentHash = getHash();
+        if (contentData == null && contentMeta == null && contentHash == null) {
+            return null;
+        }
+        final StringBuilder builder = new StringBuilder("{\"data\":");
+        if (isSerialized && contentData != null) {
+            builder.append('"').append(contentData).append('"');
+        } else {
+            builder.append(contentData);
+        }
+        builder.append(",\"hash\":").append(contentHash == null ? null : TextNode.valueOf(contentHash));
+        try {
+            final JsonNode contentMetaNode = metaNode;
+            builder.append(",\"meta\":").append(contentMetaNode != null ? contentMetaNode.toString()
+                : JoystickUtil.writeValueAsString(contentMeta));
+        } catch (JsonProcessingException e) {
+            throw new JoystickException("Unable to convert Joystick content to JSON", e);
+        }
+        return builder.append('}').toString();
     }
 
 }
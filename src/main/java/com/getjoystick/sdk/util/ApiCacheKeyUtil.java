@@ -9,38 +9,69 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
 import java.util.TreeMap;
-import java.util.stream.Collectors;
 
 public final class ApiCacheKeyUtil {
 
+    private static final char KEY_SEPARATOR = ':';
+
     /**
      * GCSC-01
-     * Implementation of SHA-256 hash algorithm to calculate configuration hash.
+     * Build cache key of the content. Configuration part of the key is calculated once per configuration.
      *
      * @param config client configuration
      * @param contentIds collection of content ids
      * @param serialized if true, then result will be returned in serialized format
      * @param fullResponse if true - return full content, including data, meta and hash
-     * @return string hash based on input parameters
+     * @return cache key based on input parameters
      */
     public static String getHash(final ClientConfig config, final Collection<String> contentIds,
                                  final boolean serialized, final boolean fullResponse) {
-        final String contentIdsString = contentIds.stream().sorted().collect(Collectors.joining(","));
-        return getHash(config, contentIdsString, serialized, fullResponse);
+        if (contentIds.size() == 1) {
+            return getHash(config, contentIds.iterator().next(), serialized, fullResponse);
+        }
+        final String[] sortedIds = contentIds.toArray(new String[0]);
+        Arrays.sort(sortedIds);
+        return getHash(config, String.join(",", sortedIds), serialized, fullResponse);
     }
 
     /**
      * GCSC-01
-     * Implementation of SHA-256 hash algorithm to calculate configuration hash.
+     * Build cache key of the content. Configuration part of the key is calculated once per configuration.
      *
      * @param config client configuration
      * @param contentIdsString content id or ids in string format
      * @param serialized if true, then result will be returned in serialized format
      * @param fullResponse if true - return full content, including data, meta and hash
-     * @return string hash based on input parameters
+     * @return cache key based on input parameters
      */
     public static String getHash(final ClientConfig config, final String contentIdsString,
                                  final boolean serialized, final boolean fullResponse) {
+        return config.getCacheKeyPrefix(serialized, fullResponse).concat(contentIdsString);
+    }
+
+    /**
+     * Build prefixes of cache keys for every response format, indexed by 1 for serialized content
+     * plus 2 for full content.
+     *
+     * @param configHash hash of the configuration
+     * @return array of 4 cache key prefixes
+     */
+    public static String[] getKeyPrefixes(final String configHash) {
+        final String[] prefixes = new String[4];
+        for (int format = 0; format < prefixes.length; format++) {
+            prefixes[format] = configHash + KEY_SEPARATOR + format + KEY_SEPARATOR;
+        }
+        return prefixes;
+    }
+
+    /**
+     * Implementation of SHA-256 hash algorithm to calculate hash of the configuration values,
+     * which define content returned by Joystick API.
+     *
+     * @param config client configuration
+     * @return string hash of API key, params, semantic version and user id
+     */
+    public static String getConfigHash(final ClientConfig config) {
         final String key = config.getApiKey();
         final Map<Object, Object> props = new TreeMap<>(config.getParams());
         String propsString;
@@ -51,8 +82,7 @@ public final class ApiCacheKeyUtil {
         }
         final String semVer = config.getSemVer();
         final String userId = config.getUserId();
-        final String [] hashArray = {key, propsString, semVer, userId, contentIdsString,
-            Boolean.toString(serialized), Boolean.toString(fullResponse)};
+        final String [] hashArray = {key, propsString, semVer, userId};
         String hashString;
         try {
             hashString = JoystickUtil.writeValueAsString(hashArray);
@@ -1,18 +1,32 @@
 package com.getjoystick.sdk.util;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.getjoystick.sdk.errors.JoystickException;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 public class JoystickUtil {
     private static final ObjectMapper OBJECT_MAPPER;
@@ -37,11 +51,102 @@ public class JoystickUtil {
         }
     }
 
+    public static <T> T treeToValue(final TreeNode node, final TypeReference<T> type) {
+        try {
+            return OBJECT_MAPPER.readerFor(type).readValue(OBJECT_MAPPER.treeAsTokens(node));
+        } catch (IOException e) {
+            throw new JoystickException("Unable to convert Joystick response to " + type.getType(), e);
+        }
+    }
+
+    /**
+     * Create reader binding JSON to the type. Readers are immutable and should be reused for the same type.
+     *
+     * @param type type to bind JSON to
+     * @return reader of the type
+     */
+    public static ObjectReader readerFor(final Class<?> type) {
+        return OBJECT_MAPPER.readerFor(type);
+    }
+
+    /**
+     * Create reader binding JSON to the generic type. Readers are immutable and should be reused for the same type.
+     *
+     * @param type reference to the type to bind JSON to
+     * @return reader of the type
+     */
+    public static ObjectReader readerFor(final TypeReference<?> type) {
+        return OBJECT_MAPPER.readerFor(type);
+    }
+
+    /**
+     * Create streaming parser of JSON, which can read values of the parser position as trees.
+     *
+     * @param inputStream JSON input
+     * @return JSON parser, to be closed by the caller
+     * @throws IOException if the parser cannot be created
+     */
+    public static JsonParser createParser(final InputStream inputStream) throws IOException {
+        return OBJECT_MAPPER.createParser(inputStream);
+    }
+
+    /**
+     * Create streaming parser of JSON, which can read values of the parser position as trees.
+     *
+     * @param content JSON in UTF-8
+     * @return JSON parser, to be closed by the caller
+     * @throws IOException if the parser cannot be created
+     */
+    public static JsonParser createParser(final byte[] content) throws IOException {
+        return OBJECT_MAPPER.createParser(content);
+    }
+
+    /**
+     * Create streaming parser of a part of JSON, which can read values of the parser position as trees.
+     *
+     * @param content JSON in UTF-8
+     * @param offset offset of the part in bytes
+     * @param length length of the part in bytes
+     * @return JSON parser, to be closed by the caller
+     * @throws IOException if the parser cannot be created
+     */
+    public static JsonParser createParser(final byte[] content, final int offset, final int length)
+        throws IOException {
+        return OBJECT_MAPPER.createParser(content, offset, length);
+    }
+
+    /**
+     * Create streaming parser of JSON, which can read values of the parser position as trees.
+     *
+     * @param content JSON
+     * @return JSON parser, to be closed by the caller
+     * @throws IOException if the parser cannot be created
+     */
+    public static JsonParser createParser(final String content) throws IOException {
+        return OBJECT_MAPPER.createParser(content);
+    }
+
+    /**
+     * Create streaming generator of JSON, which can write trees.
+     *
+     * @param writer JSON output
+     * @return JSON generator, to be closed by the caller
+     * @throws IOException if the generator cannot be created
+     */
+    public static JsonGenerator createGenerator(final Writer writer) throws IOException {
+        return OBJECT_MAPPER.createGenerator(writer);
+    }
+
     public static JsonNode readTree(final InputStream inputStream) throws IOException
     {
         return OBJECT_MAPPER.readTree(inputStream);
     }
 
+    public static JsonNode readTree(final byte[] input) throws IOException
+    {
+        return OBJECT_MAPPER.readTree(input);
+    }
+
     public static JsonNode readTree(final String input) {
         try {
             return OBJECT_MAPPER.readTree(input);
@@ -50,6 +155,35 @@ public class JoystickUtil {
         }
     }
 
+    /**
+     * Create read-only copy of JSON tree, which can be shared between callers. Object and array nodes
+     * of the copy throw {@link UnsupportedOperationException} on modification, {@link JsonNode#deepCopy()}
+     * creates a modifiable copy.
+     *
+     * @param node JSON tree
+     * @return read-only JSON tree, or the node itself if it has no children
+     */
+    public static JsonNode toReadOnly(final JsonNode node) {
+        if (node == null || !node.isContainerNode()) {
+            return node;
+        }
+        final JsonNodeFactory factory = JsonNodeFactory.instance;
+        if (node.isObject()) {
+            final Map<String, JsonNode> children = new LinkedHashMap<>();
+            final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                children.put(field.getKey(), toReadOnly(field.getValue()));
+            }
+            return new ObjectNode(factory, Collections.unmodifiableMap(children));
+        }
+        final List<JsonNode> children = new ArrayList<>(node.size());
+        for (final JsonNode child : node) {
+            children.add(toReadOnly(child));
+        }
+        return new ArrayNode(factory, Collections.unmodifiableList(children));
+    }
+
     public static void writeValue(final OutputStream outputStream, final Object value)
         throws IOException {
         OBJECT_MAPPER.writeValue(outputStream, value);
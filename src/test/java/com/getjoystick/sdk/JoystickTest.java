@@ -1,10 +1,15 @@
 package com.getjoystick.sdk;
 
+import com.getjoystick.sdk.client.AsyncClient;
 import com.getjoystick.sdk.client.Client;
 import com.getjoystick.sdk.client.ClientConfig;
+import com.getjoystick.sdk.client.JoystickTransport;
+import com.getjoystick.sdk.errors.ConfigurationException;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -35,6 +40,29 @@ class JoystickTest {
         final Client client2 = Joystick.create(ClientConfig.builder().setApiKey(API_KEY).setSemVer("0.0.1").build());
         assertNotSame(client1, client2);
     }
+    @Test
+    void createAsync_validConfig_success() throws IOException {
+        try (AsyncClient client = Joystick.createAsync(ClientConfig.builder().setApiKey(API_KEY).build())) {
+            assertNotNull(client);
+        }
+    }
+
+    @Test
+    void create_sharedTransport_clientsCreated() throws IOException {
+        try (JoystickTransport transport = Joystick.createTransport(ClientConfig.builder().setApiKey(API_KEY).build());
+             Client client1 = Joystick.create(ClientConfig.builder().setApiKey("api-key-1").build(), transport);
+             AsyncClient client2 = Joystick.createAsync(ClientConfig.builder().setApiKey("api-key-2").build(),
+                 transport)) {
+            assertNotSame(client1, client2);
+        }
+    }
+
+    @Test
+    void create_transportNotCreatedByJoystick_exceptionIsThrown() {
+        final ClientConfig config = ClientConfig.builder().setApiKey(API_KEY).build();
+        assertThrows(ConfigurationException.class, () -> Joystick.create(config, () -> { }));
+    }
+
     @Test
     void constructor_default_unsupportedOperation() {
         assertThrows(UnsupportedOperationException.class, Joystick::new);
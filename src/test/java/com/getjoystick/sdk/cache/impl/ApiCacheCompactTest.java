@@ -0,0 +1,39 @@
+package com.getjoystick.sdk.cache.impl;
+
+import com.google.common.base.Strings;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ApiCacheCompactTest {
+
+    @Test
+    void get_smallContent_contentReturned() {
+        final ApiCacheCompact cache = new ApiCacheCompact();
+        cache.put("key", "{\"config_name\":\"конфигурация\",\"emoji\":\"🚀\"}");
+        assertEquals("{\"config_name\":\"конфигурация\",\"emoji\":\"🚀\"}", cache.get("key"));
+    }
+
+    @Test
+    void get_contentAboveCompressionThreshold_decompressedContentReturned() {
+        final ApiCacheCompact cache = new ApiCacheCompact(300, 16, ApiCacheCompact.DEFAULT_MAX_BYTES);
+        final String content = "{\"items\":[" + Strings.repeat("{\"name\":\"élément\",\"value\":42},", 1000)
+            + "{}]}";
+        cache.put("key", content);
+        assertEquals(content, cache.get("key"));
+    }
+
+    @Test
+    void get_missingKey_nullReturned() {
+        assertNull(new ApiCacheCompact().get("missing"));
+    }
+
+    @Test
+    void put_contentLargerThanMaxBytes_contentEvicted() {
+        final ApiCacheCompact cache = new ApiCacheCompact(300, ApiCacheCompact.NO_COMPRESSION, 10);
+        cache.put("key", "{\"config_name\":\"initial-test-config-dev-001\"}");
+        assertNull(cache.get("key"));
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.getjoystick.sdk.cache.impl;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileContentSnapshotStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void load_fileDoesNotExist_emptySnapshot() throws IOException {
+        assertTrue(new FileContentSnapshotStore(directory.resolve("snapshot.json")).load().isEmpty());
+    }
+
+    @Test
+    void save_contents_loadedByNewStore() throws IOException {
+        final Path file = directory.resolve("snapshot.json");
+        final Map<String, String> contents = ImmutableMap.of(
+            "hash:0:id1", "{\"config_name\":\"first\"}",
+            "hash:0:id2", "\"serialized\"");
+        new FileContentSnapshotStore(file).save(contents);
+        new FileContentSnapshotStore(file).save(contents);
+
+        assertEquals(contents, new FileContentSnapshotStore(file).load());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void load_snapshotOfOtherVersion_emptySnapshot() throws IOException {
+        final Path file = directory.resolve("snapshot.json");
+        Files.write(file, "{\"version\":2,\"contents\":{\"key\":\"value\"}}".getBytes(StandardCharsets.UTF_8));
+        assertTrue(new FileContentSnapshotStore(file).load().isEmpty());
+    }
+
+    @Test
+    void load_corruptedFile_exceptionIsThrown() throws IOException {
+        final Path file = directory.resolve("snapshot.json");
+        Files.write(file, "{\"version\":1,\"con".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> new FileContentSnapshotStore(file).load());
+    }
+
+}
@@ -2,13 +2,20 @@ package com.getjoystick.sdk.client;
 
 import com.getjoystick.sdk.cache.impl.ApiCacheLRU;
 import com.getjoystick.sdk.errors.ConfigurationException;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -83,6 +90,35 @@ class ClientConfigTest {
         assertEquals(0, cfg.getCacheExpirationSeconds());
     }
 
+    @Test
+    void testIfSetNegativeMaxStaleness() {
+        final ConfigurationException error =
+            assertThrows(ConfigurationException.class,
+                () -> ClientConfig.builder().setMaxStalenessSeconds(-1).build());
+        assertEquals("Max staleness must be defined as seconds and must be positive.", error.getMessage());
+    }
+
+    @Test
+    void testDefaultCacheExpirationAndMaxStaleness() {
+        final ClientConfig cfg = ClientConfig.builder().setApiKey(API_KEY).build();
+        assertEquals(300, cfg.getCacheExpirationSeconds());
+        assertEquals(0, cfg.getMaxStalenessSeconds());
+    }
+
+    @Test
+    void testIfSetNonPositiveRefreshInterval() {
+        final ConfigurationException error =
+            assertThrows(ConfigurationException.class,
+                () -> ClientConfig.builder().setRefreshIntervalSeconds(0).build());
+        assertEquals("Refresh interval must be defined as seconds and must be positive.", error.getMessage());
+    }
+
+    @Test
+    void testDefaultRefreshIntervalDependsOnCacheExpiration() {
+        final ClientConfig cfg = ClientConfig.builder().setApiKey(API_KEY).setCacheExpirationSeconds(60).build();
+        assertEquals(45, cfg.getRefreshIntervalSeconds());
+    }
+
     @Test
     void testHashCode() {
         final ApiCacheLRU cacheLRU = new ApiCacheLRU<>();
@@ -179,4 +215,207 @@ class ClientConfigTest {
         assertFalse(configWithNullValues.equals(config));
         assertFalse(config.equals(configWithNullValues));
     }
+    @Test
+    void withContext_contextValuesSet_overriddenValuesAndSharedCache() {
+        final ClientConfig cfg = ClientConfig.builder().setApiKey(API_KEY).setUserId("user").setSemVer("1.0.0")
+            .setParams(ImmutableMap.of("key", "value")).build();
+        final ClientConfig contextCfg = cfg.withContext(JoystickContext.builder().setUserId("other-user").build());
+        assertEquals("other-user", contextCfg.getUserId());
+        assertEquals("1.0.0", contextCfg.getSemVer());
+        assertEquals(ImmutableMap.of("key", "value"), contextCfg.getParams());
+        assertEquals(API_KEY, contextCfg.getApiKey());
+        assertSame(cfg.getCache(), contextCfg.getCache());
+        assertSame(cfg, cfg.withContext(null));
+    }
+
+    @Test
+    void toBuilder_validConfig_equalConfigBuilt() {
+        final ClientConfig cfg = ClientConfig.builder().setApiKey(API_KEY).setUserId("user").setSemVer("1.0.0")
+            .setMaxRetries(3).setCircuitBreakerOpenMillis(1000).setLastKnownGoodSize(10)
+            .setApiFallbackUrls(ImmutableList.of("https://fallback.getjoystick.com")).build();
+        final ClientConfig copy = cfg.toBuilder().build();
+        assertEquals(cfg, copy);
+        assertEquals(cfg.hashCode(), copy.hashCode());
+        assertSame(cfg.getCache(), copy.getCache());
+        assertEquals(cfg.getTransportSettings(), copy.getTransportSettings());
+        assertEquals(3, copy.getRetrySettings().getMaxRetries());
+        assertEquals(1000, copy.getCircuitBreakerSettings().getOpenMillis());
+        assertEquals(10, copy.getPersistenceSettings().getLastKnownGoodSize());
+        assertNotEquals(cfg, cfg.toBuilder().setMaxRetries(2).build());
+    }
+
+    @Test
+    void toString_apiKeySet_apiKeyMasked() {
+        final ClientConfig.ClientConfigBuilder builder = ClientConfig.builder().setApiKey(API_KEY);
+        assertFalse(builder.toString().contains(API_KEY));
+        assertFalse(builder.build().toString().contains(API_KEY));
+        assertTrue(builder.build().toString().contains("apiKey=****"));
+    }
+
+    @Test
+    void withContext_invalidSemanticVersion_exceptionIsThrown() {
+        final ConfigurationException error =
+            assertThrows(ConfigurationException.class, () -> JoystickContext.builder().setSemVer("0.1"));
+        assertEquals("The semantic version [0.1] is incorrect.", error.getMessage());
+    }
+
+    @Test
+    void testIfBatchWindowIsNegative() {
+        final ConfigurationException error =
+            assertThrows(ConfigurationException.class,
+                () -> ClientConfig.builder().setApiKey(API_KEY).setBatchWindowMillis(-1).build());
+        assertEquals("Batch window must be defined as milliseconds and must be positive.", error.getMessage());
+        assertEquals(0, ClientConfig.builder().setApiKey(API_KEY).build().getBatchWindowMillis());
+    }
+
+    @Test
+    void testConnectionSettingsDefaults() {
+        final ClientConfig cfg = ClientConfig.builder().setApiKey(API_KEY).build();
+        assertEquals(20, cfg.getMaxConnectionsPerRoute());
+        assertEquals(50, cfg.getMaxConnectionsTotal());
+        assertEquals(5000, cfg.getConnectTimeoutMillis());
+        assertEquals(5000, cfg.getResponseTimeoutMillis());
+        assertEquals(5000, cfg.getConnectionRequestTimeoutMillis());
+        assertEquals(30, cfg.getKeepAliveSeconds());
+        assertEquals(0, cfg.getIdleConnectionEvictionSeconds());
+    }
+
+    @Test
+    void testIfConnectionSettingsAreInvalid() {
+        assertEquals("Max connections per route must be positive.", assertThrows(ConfigurationException.class,
+            () -> ClientConfig.builder().setMaxConnectionsPerRoute(0)).getMessage());
+        assertEquals("Max connections total must be positive.", assertThrows(ConfigurationException.class,
+            () -> ClientConfig.builder().setMaxConnectionsTotal(0)).getMessage());
+        assertEquals("Connect timeout must be defined as milliseconds and must be positive.",
+            assertThrows(ConfigurationException.class, () -> ClientConfig.builder().setConnectTimeoutMillis(0))
+                .getMessage());
+        assertEquals("Response timeout must be defined as milliseconds and must be positive.",
+            assertThrows(ConfigurationException.class, () -> ClientConfig.builder().setResponseTimeoutMillis(-1))
+                .getMessage());
+        assertEquals("Connection request timeout must be defined as milliseconds and must be positive.",
+            assertThrows(ConfigurationException.class,
+                () -> ClientConfig.builder().setConnectionRequestTimeoutMillis(0)).getMessage());
+        assertEquals("Keep-alive time must be defined as seconds and must be positive.",
+            assertThrows(ConfigurationException.class, () -> ClientConfig.builder().setKeepAliveSeconds(0))
+                .getMessage());
+        assertEquals("Idle connection eviction time must be defined as seconds and must be positive.",
+            assertThrows(ConfigurationException.class,
+                () -> ClientConfig.builder().setIdleConnectionEvictionSeconds(-1)).getMessage());
+    }
+
+    @Test
+    void testApiBaseUrls() {
+        final ClientConfig defaultConfig = ClientConfig.builder().setApiKey(API_KEY).build();
+        assertEquals("https://api.getjoystick.com", defaultConfig.getApiBaseUrl());
+        assertEquals("https://capi.getjoystick.com", defaultConfig.getPublishApiBaseUrl());
+
+        final ClientConfig config = ClientConfig.builder().setApiKey(API_KEY)
+            .setApiBaseUrl("http://localhost:8080/")
+            .setPublishApiBaseUrl("http://localhost:8081")
+            .build();
+        assertEquals("http://localhost:8080", config.getApiBaseUrl());
+        assertEquals("http://localhost:8081", config.getPublishApiBaseUrl());
+        assertNotEquals(defaultConfig, config);
+    }
+
+    @Test
+    void testIfApiBaseUrlIsInvalid() {
+        assertEquals("API base URL must be an absolute http or https URL.", assertThrows(ConfigurationException.class,
+            () -> ClientConfig.builder().setApiBaseUrl("ftp://localhost")).getMessage());
+        assertThrows(ConfigurationException.class, () -> ClientConfig.builder().setApiBaseUrl("localhost:8080"));
+        assertThrows(ConfigurationException.class, () -> ClientConfig.builder().setApiBaseUrl(null));
+        assertEquals("Publish API base URL must be an absolute http or https URL.",
+            assertThrows(ConfigurationException.class,
+                () -> ClientConfig.builder().setPublishApiBaseUrl("http://host with spaces")).getMessage());
+    }
+
+    @Test
+    void testApiFallbackUrls() {
+        final ClientConfig config = ClientConfig.builder().setApiKey(API_KEY)
+            .setApiFallbackUrls(ImmutableList.of("https://proxy.example.com/"))
+            .setPublishApiFallbackUrls(ImmutableList.of("https://proxy.example.com"))
+            .build();
+        assertEquals(ImmutableList.of("https://api.getjoystick.com", "https://proxy.example.com"),
+            config.getApiBaseUrls());
+        assertEquals(ImmutableList.of("https://capi.getjoystick.com", "https://proxy.example.com"),
+            config.getPublishApiBaseUrls());
+        assertEquals(ImmutableList.of("https://api.getjoystick.com"),
+            ClientConfig.builder().setApiKey(API_KEY).build().getApiBaseUrls());
+        assertEquals("API fallback URL must be an absolute http or https URL.",
+            assertThrows(ConfigurationException.class, () -> ClientConfig.builder()
+                .setApiFallbackUrls(ImmutableList.of("proxy.example.com"))).getMessage());
+    }
+
+    @Test
+    void testRetrySettings() {
+        final ClientConfig cfg = ClientConfig.builder().setApiKey(API_KEY).build();
+        assertEquals(0, cfg.getMaxRetries());
+        assertEquals(100, cfg.getRetryBackoffMillis());
+        assertEquals(2000, cfg.getMaxRetryBackoffMillis());
+        assertEquals(0.2, cfg.getRetryBudgetRatio());
+        assertEquals(2, ClientConfig.builder().setApiKey(API_KEY).setMaxRetries(2).build().getMaxRetries());
+        assertEquals("Max retries must be positive.", assertThrows(ConfigurationException.class,
+            () -> ClientConfig.builder().setMaxRetries(-1)).getMessage());
+        assertEquals("Retry backoff must be defined as milliseconds and must be positive.",
+            assertThrows(ConfigurationException.class, () -> ClientConfig.builder().setRetryBackoffMillis(0))
+                .getMessage());
+        assertEquals("Max retry backoff must be defined as milliseconds and must be positive.",
+            assertThrows(ConfigurationException.class, () -> ClientConfig.builder().setMaxRetryBackoffMillis(0))
+                .getMessage());
+        assertEquals("Retry budget ratio must be between 0 and 1.", assertThrows(ConfigurationException.class,
+            () -> ClientConfig.builder().setRetryBudgetRatio(1.5)).getMessage());
+    }
+
+    @Test
+    void testCircuitBreakerSettings() {
+        final ClientConfig cfg = ClientConfig.builder().setApiKey(API_KEY).build();
+        assertEquals(0, cfg.getCircuitBreakerOpenMillis());
+        assertEquals(20, cfg.getCircuitBreakerWindowSize());
+        assertEquals(0.5, cfg.getCircuitBreakerFailureRate());
+        assertEquals(0, cfg.getCircuitBreakerSlowCallMillis());
+        assertEquals("Circuit breaker open time must be defined as milliseconds and must be positive.",
+            assertThrows(ConfigurationException.class, () -> ClientConfig.builder().setCircuitBreakerOpenMillis(-1))
+                .getMessage());
+        assertEquals("Circuit breaker window size must be positive.", assertThrows(ConfigurationException.class,
+            () -> ClientConfig.builder().setCircuitBreakerWindowSize(0)).getMessage());
+        assertEquals("Circuit breaker failure rate must be greater than 0 and not greater than 1.",
+            assertThrows(ConfigurationException.class, () -> ClientConfig.builder().setCircuitBreakerFailureRate(0))
+                .getMessage());
+        assertEquals("Circuit breaker slow call time must be defined as milliseconds and must be positive.",
+            assertThrows(ConfigurationException.class,
+                () -> ClientConfig.builder().setCircuitBreakerSlowCallMillis(-1)).getMessage());
+    }
+
+    @Test
+    void testLastKnownGoodSize() {
+        assertEquals(0, ClientConfig.builder().setApiKey(API_KEY).build().getLastKnownGoodSize());
+        assertEquals(500, ClientConfig.builder().setApiKey(API_KEY).setLastKnownGoodSize(500).build()
+            .getLastKnownGoodSize());
+        assertEquals("Last known good size must be positive.", assertThrows(ConfigurationException.class,
+            () -> ClientConfig.builder().setLastKnownGoodSize(-1)).getMessage());
+    }
+
+    @Test
+    void testSnapshotSettings() {
+        final ClientConfig cfg = ClientConfig.builder().setApiKey(API_KEY).build();
+        assertNull(cfg.getSnapshotStore());
+        assertEquals(30, cfg.getSnapshotIntervalSeconds());
+        assertEquals("Snapshot interval must be defined as seconds and must be positive.",
+            assertThrows(ConfigurationException.class, () -> ClientConfig.builder().setSnapshotIntervalSeconds(0))
+                .getMessage());
+    }
+
+    @Test
+    void testParamsChangedAfterBuild() {
+        final Map<Object, Object> params = new HashMap<>();
+        params.put("key", "value");
+        final ClientConfig cfg = ClientConfig.builder().setApiKey(API_KEY).setParams(params).build();
+        final String configHash = cfg.getConfigHash();
+
+        params.put("key", "changed");
+        assertEquals(ImmutableMap.of("key", "value"), cfg.getParams());
+        assertEquals(configHash, cfg.getConfigHash());
+        assertThrows(UnsupportedOperationException.class, () -> cfg.getParams().put("key", "changed"));
+    }
+
 }
@@ -0,0 +1,34 @@
+package com.getjoystick.sdk.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.getjoystick.sdk.models.JoystickContentOptions;
+import com.getjoystick.sdk.util.JoystickUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class ClientTest {
+
+    @Test
+    void getContentWithType_implementationWithoutTypedMethods_contentBoundFromJson() {
+        final Client client = mock(Client.class, CALLS_REAL_METHODS);
+        doReturn(JoystickUtil.readTree("{\"level\":3}"))
+            .when(client).getContent(eq("id1"), any(JoystickContentOptions.class));
+
+        assertEquals(3, client.getContent("id1", Level.class).level);
+        final Map<String, Integer> map = client.getContent("id1", new TypeReference<Map<String, Integer>>() { });
+        assertEquals(3, map.get("level"));
+    }
+
+    /* default */ static class Level {
+        public int level;
+    }
+
+}
@@ -10,6 +10,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import org.apache.hc.core5.http.ClassicHttpResponse;
 import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.NameValuePair;
 import org.apache.hc.core5.http.io.entity.HttpEntities;
 import org.apache.hc.core5.http.message.BasicClassicHttpResponse;
 import org.junit.jupiter.api.Test;
@@ -140,4 +141,50 @@ class AbstractApiEndpointTest {
         assertEquals( "Response is not in JSON format", error.getMessage());
     }
 
+    @Test
+    @SuppressWarnings("deprecation")
+    void getContentHash_endpointOverridingDeprecatedMethods_deprecatedMethodsUsed() {
+        final AbstractApiEndpoint apiEndpoint = new LegacyEndpoint();
+        assertEquals("https://legacy.example.com/config", apiEndpoint.getUrl("https://api.getjoystick.com"));
+        assertEquals("legacy:test-api-key", apiEndpoint.getContentHash());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void getContentHash_deprecatedMethodCalled_endpointHashReturned() {
+        final AbstractApiEndpoint apiEndpoint = new SingleContentEndpoint(CONFIG, "id1");
+        assertEquals(apiEndpoint.getContentHash(), apiEndpoint.getContentHash(CONFIG));
+    }
+
+    /**
+     * Endpoint implemented against the API of the previous version
+     */
+    private static class LegacyEndpoint extends AbstractApiEndpoint {
+
+        private LegacyEndpoint() {
+            this.config = CONFIG;
+        }
+
+        @Override
+        public String getUrl() {
+            return "https://legacy.example.com/config";
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public String getContentHash(final ClientConfig config) {
+            return "legacy:" + config.getApiKey();
+        }
+
+        @Override
+        public NameValuePair[] getQueryParameters() {
+            return new NameValuePair[0];
+        }
+
+        @Override
+        public JsonNode formatJsonResponse(final JsonNode response) {
+            return response;
+        }
+    }
+
 }
@@ -2,19 +2,29 @@ package com.getjoystick.sdk.client.endpoints;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.getjoystick.sdk.client.ClientConfig;
+import com.getjoystick.sdk.errors.ApiUnknownException;
 import com.getjoystick.sdk.errors.ConfigurationException;
 import com.getjoystick.sdk.errors.MultipleContentsApiException;
 import com.getjoystick.sdk.models.RequestBody;
 import com.getjoystick.sdk.util.JoystickUtil;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.NameValuePair;
+import org.apache.hc.core5.http.io.entity.HttpEntities;
+import org.apache.hc.core5.http.message.BasicClassicHttpResponse;
 import org.apache.hc.core5.http.message.BasicNameValuePair;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -141,4 +151,66 @@ class MultipleContentEndpointTest {
             + System.lineSeparator() + resultErrorNode.toPrettyString(), error.getMessage());
     }
 
+    @Test
+    void readContents_responseWithoutErrors_everyContentPassedToConsumer() {
+        final SimpleHttpResponse response = SimpleHttpResponse.create(200,
+            "{\"dev_test_001\":{\"data\":{\"config_name\":\"dev-001\"},\"hash\":\"h1\",\"meta\":{}}," +
+            "\"dev_test_002\":{\"data\":{\"config_name\":\"dev-002\"},\"hash\":\"h2\",\"meta\":{}}}",
+            ContentType.APPLICATION_JSON);
+        final MultipleContentEndpoint multipleContent =
+            new MultipleContentEndpoint(CONFIG, ImmutableSet.of("dev_test_001", "dev_test_002")).setFullResponse(true);
+
+        final Map<String, JsonNode> contents = new LinkedHashMap<>();
+        multipleContent.readContents(response, contents::put);
+        assertEquals(ImmutableSet.of("dev_test_001", "dev_test_002"), contents.keySet());
+        assertEquals("h2", contents.get("dev_test_002").get("hash").asText());
+        assertEquals("dev-001", contents.get("dev_test_001").get("data").get("config_name").asText());
+    }
+
+    @Test
+    void readContents_responseWithErrors_validContentsReadAndExceptionThrown() {
+        final SimpleHttpResponse response = SimpleHttpResponse.create(200,
+            "{\"dev_test_001\":\"Some error occurred\"," +
+            "\"dev_test_002\":{\"data\":{\"config_name\":\"dev-002\"},\"hash\":\"h2\",\"meta\":{}}}",
+            ContentType.APPLICATION_JSON);
+        final MultipleContentEndpoint multipleContent =
+            new MultipleContentEndpoint(CONFIG, ImmutableSet.of("dev_test_001", "dev_test_002")).setFullResponse(true);
+
+        final Map<String, JsonNode> contents = new LinkedHashMap<>();
+        final JsonNode resultErrorNode = JoystickUtil.readTree("{\"dev_test_001\":\"Some error occurred\"}");
+        final MultipleContentsApiException error = assertThrows(MultipleContentsApiException.class,
+            () -> multipleContent.readContents(response, contents::put));
+        assertEquals("Response from remote server contains errors:"
+            + System.lineSeparator() + resultErrorNode.toPrettyString(), error.getMessage());
+        assertEquals(ImmutableSet.of("dev_test_002"), contents.keySet());
+    }
+
+    @Test
+    void readContents_responseNotInJsonFormat_exceptionIsThrown() {
+        final SimpleHttpResponse response = SimpleHttpResponse.create(200, "{\"dev_test_001\":{\"data\":",
+            ContentType.APPLICATION_JSON);
+        final MultipleContentEndpoint multipleContent =
+            new MultipleContentEndpoint(CONFIG, ImmutableSet.of("dev_test_001")).setFullResponse(true);
+
+        final Map<String, JsonNode> contents = new LinkedHashMap<>();
+        final ApiUnknownException error = assertThrows(ApiUnknownException.class,
+            () -> multipleContent.readContents(response, contents::put));
+        assertEquals("Response is not in JSON format", error.getMessage());
+        assertFalse(contents.containsKey("dev_test_001"));
+    }
+
+    @Test
+    void readContentsAsString_shortResponse_dataOfEveryContentWritten() throws IOException {
+        final ClassicHttpResponse response = new BasicClassicHttpResponse(200);
+        response.setEntity(HttpEntities.create(
+            "{\"dev_test_001\":{\"data\":{\"config_name\":\"dev-001\"},\"hash\":\"h1\",\"meta\":{}}," +
+            "\"dev_test_002\":{\"data\":{\"config_name\":\"dev-002\"},\"hash\":\"h2\",\"meta\":{}}}",
+            ContentType.APPLICATION_JSON));
+        final MultipleContentEndpoint multipleContent =
+            new MultipleContentEndpoint(CONFIG, ImmutableSet.of("dev_test_001", "dev_test_002"));
+
+        assertEquals("{\"dev_test_001\":{\"config_name\":\"dev-001\"}," +
+            "\"dev_test_002\":{\"config_name\":\"dev-002\"}}", multipleContent.readContentsAsString(response));
+    }
+
 }
@@ -117,6 +117,18 @@ class PublishUpdateEndpointTest {
         assertEquals("https://capi.getjoystick.com/api/v1/config/id1", endpoint.getUrl());
     }
 
+    @Test
+    void getUrl_customPublishApiBaseUrl_urlIsCorrect() {
+        ClientConfig config = ClientConfig.builder().setApiKey("api-key")
+            .setPublishApiBaseUrl("https://proxy.example.com").build();
+        PublishData data = PublishData.builder()
+            .setDescription("test 1")
+            .setContent(ImmutableMap.of())
+            .build();
+        AbstractApiEndpoint endpoint = new PublishUpdateEndpoint(config, data, "id1");
+        assertEquals("https://proxy.example.com/api/v1/config/id1", endpoint.getUrl());
+    }
+
     @Test
     void build_nullData_exceptionIsThrown() {
         final ConfigurationException error = assertThrows(ConfigurationException.class,
@@ -139,15 +151,12 @@ class PublishUpdateEndpointTest {
     }
 
     @Test
-    void getContentHash_exceptionIsThrown() {
+    void getContentHash_validContentId_hashIdentifiesContent() {
         PublishData data = PublishData.builder()
             .setDescription("test 1")
             .setContent(ImmutableMap.of())
             .build();
-        final UnsupportedOperationException error = assertThrows(UnsupportedOperationException.class,
-            () -> new PublishUpdateEndpoint(data,"12345")
-                .getContentHash(ClientConfig.builder().setApiKey("API_KEY").build()));
-        assertEquals("Method is not implemented", error.getMessage());
+        assertEquals("/api/v1/config/id1", new PublishUpdateEndpoint(data, "id1").getContentHash());
     }
 
     @Test
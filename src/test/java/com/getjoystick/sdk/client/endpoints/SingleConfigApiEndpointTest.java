@@ -6,6 +6,8 @@ import org.apache.hc.core5.http.NameValuePair;
 import org.apache.hc.core5.http.message.BasicNameValuePair;
 import org.junit.jupiter.api.Test;
 
+import java.util.Collections;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -53,6 +55,16 @@ class SingleConfigApiEndpointTest {
             singleConfigApiEndpoint.getUrl());
     }
 
+    @Test
+    void getUrl_customApiBaseUrl_urlIsCorrect() {
+        ClientConfig config = ClientConfig.builder().setApiKey("api-key")
+            .setApiBaseUrl("http://localhost:8080/joystick/").build();
+        assertEquals("http://localhost:8080/joystick/api/v1/config/id1/dynamic",
+            new SingleContentEndpoint(config, "id1").getUrl());
+        assertEquals("http://localhost:8080/joystick/api/v1/combine/",
+            new MultipleContentEndpoint(config, Collections.singletonList("id1")).getUrl());
+    }
+
     @Test
     void build_nullContentIds_exceptionIsThrown() {
         final ConfigurationException error = assertThrows(ConfigurationException.class,
@@ -0,0 +1,412 @@
+package com.getjoystick.sdk.client.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.getjoystick.sdk.BaseTest;
+import com.getjoystick.sdk.cache.ApiCache;
+import com.getjoystick.sdk.cache.ContentSnapshotStore;
+import com.getjoystick.sdk.cache.impl.ApiCacheLRU;
+import com.getjoystick.sdk.client.AsyncClient;
+import com.getjoystick.sdk.client.ClientConfig;
+import com.getjoystick.sdk.client.endpoints.SingleContentEndpoint;
+import com.getjoystick.sdk.errors.ApiBadRequestException;
+import com.getjoystick.sdk.errors.ApiServerException;
+import com.getjoystick.sdk.errors.ApiUnknownException;
+import com.getjoystick.sdk.errors.CircuitBreakerOpenException;
+import com.getjoystick.sdk.errors.ConfigurationException;
+import com.getjoystick.sdk.models.ContentBundle;
+import com.getjoystick.sdk.models.JoystickContentOptions;
+import com.getjoystick.sdk.models.JoystickContentResult;
+import com.getjoystick.sdk.models.JoystickFullContent;
+import com.google.common.collect.ImmutableList;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClientBuilder;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpStatus;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AsyncClientImplTest extends BaseTest {
+
+    private static final String API_KEY = "mocked-test-api-key";
+
+    private static final ImmutableList<String> CONTENT_IDS = ImmutableList.of("horror_config", "race_config");
+
+    @Test
+    void getContents_notCachedContent_futureCompletedWithResponse() throws Exception {
+        try (MockedStatic<HttpAsyncClients> ignored = Mockito.mockStatic(HttpAsyncClients.class)) {
+            final CloseableHttpAsyncClient httpClient = mockHttpClient();
+            final String responseBody =
+                toString("/com/getjoystick/sdk/client/impl/MultipleConfigSucessResponse.json");
+            final CompletableFuture<FutureCallback<SimpleHttpResponse>> pendingCallback = new CompletableFuture<>();
+            doAnswer(invocation -> {
+                pendingCallback.complete(invocation.getArgument(1));
+                return null;
+            }).when(httpClient).execute(any(SimpleHttpRequest.class), any());
+
+            final AsyncClient client = new AsyncClientImpl(ClientConfig.builder().setApiKey(API_KEY).build());
+            final CompletableFuture<Map<String, JsonNode>> result = client.getContents(CONTENT_IDS);
+            assertFalse(result.isDone());
+
+            pendingCallback.get().completed(
+                SimpleHttpResponse.create(HttpStatus.SC_OK, responseBody, ContentType.APPLICATION_JSON));
+            final Map<String, JsonNode> contents = result.get();
+            assertEquals(133, contents.get("horror_config").get("level").asInt());
+            assertEquals("Turbo", contents.get("race_config").get("name").asText());
+
+            final ArgumentCaptor<SimpleHttpRequest> requestCaptor = ArgumentCaptor.forClass(SimpleHttpRequest.class);
+            verify(httpClient).execute(requestCaptor.capture(), any());
+            assertEquals("POST", requestCaptor.getValue().getMethod());
+            assertEquals("/api/v1/combine/?dynamic=true&c=%5B%22horror_config%22%2C%22race_config%22%5D",
+                requestCaptor.getValue().getRequestUri());
+        }
+    }
+
+    @Test
+    void getContents_contentExistsInCache_completedFutureReturned() throws Exception {
+        try (MockedStatic<HttpAsyncClients> ignored = Mockito.mockStatic(HttpAsyncClients.class)) {
+            final CloseableHttpAsyncClient httpClient = mockHttpClient();
+            final String responseBody =
+                toString("/com/getjoystick/sdk/client/impl/MultipleConfigSucessResponse.json");
+            respondWith(httpClient, SimpleHttpResponse.create(HttpStatus.SC_OK, responseBody,
+                ContentType.APPLICATION_JSON));
+
+            final AsyncClient client = new AsyncClientImpl(ClientConfig.builder().setApiKey(API_KEY).build());
+            final Map<String, JsonNode> loaded = client.getContents(CONTENT_IDS).get();
+            final CompletableFuture<Map<String, JsonNode>> cached = client.getContents(CONTENT_IDS);
+
+            assertTrue(cached.isDone());
+            assertEquals(loaded, cached.get());
+            assertSame(loaded.get("horror_config"), cached.get().get("horror_config"));
+            verify(httpClient, times(1)).execute(any(SimpleHttpRequest.class), any());
+        }
+    }
+
+    @Test
+    void getContentWithType_contentExistsInCache_boundContentReused() throws Exception {
+        final ClientConfig config = ClientConfig.builder().setApiKey(API_KEY).build();
+        config.getCache().put(new SingleContentEndpoint(config, "horror_config").getContentHash(), "{\"level\":133}");
+        final AsyncClient client = new AsyncClientImpl(config);
+
+        final CompletableFuture<Map<String, Integer>> result =
+            client.getContent("horror_config", new TypeReference<Map<String, Integer>>() { });
+        assertTrue(result.isDone());
+        assertEquals(133, result.get().get("level"));
+        assertSame(result.get(),
+            client.getContent("horror_config", new TypeReference<Map<String, Integer>>() { }).get());
+    }
+
+    @Test
+    void getContent_badRequest_futureCompletedExceptionally() throws IOException {
+        try (MockedStatic<HttpAsyncClients> ignored = Mockito.mockStatic(HttpAsyncClients.class)) {
+            final CloseableHttpAsyncClient httpClient = mockHttpClient();
+            final String responseBody = toString("/com/getjoystick/sdk/client/impl/AccessDeniedResponse.json");
+            respondWith(httpClient, SimpleHttpResponse.create(HttpStatus.SC_UNAUTHORIZED, responseBody,
+                ContentType.APPLICATION_JSON));
+
+            final AsyncClient client = new AsyncClientImpl(ClientConfig.builder().setApiKey(API_KEY).build());
+            final ExecutionException exception =
+                assertThrows(ExecutionException.class, () -> client.getContent("horror_config").get());
+            assertInstanceOf(ApiBadRequestException.class, exception.getCause());
+        }
+    }
+
+    @Test
+    void getContent_baseUrlNotAvailable_fallbackUrlUsed() throws Exception {
+        try (MockedStatic<HttpAsyncClients> ignored = Mockito.mockStatic(HttpAsyncClients.class)) {
+            final CloseableHttpAsyncClient httpClient = mockHttpClient();
+            final String responseBody = toString("/com/getjoystick/sdk/client/impl/FullResponseSample.json");
+            doAnswer(invocation -> {
+                final FutureCallback<SimpleHttpResponse> callback = invocation.getArgument(1);
+                callback.failed(new IOException("Connection refused"));
+                return null;
+            }).doAnswer(invocation -> {
+                final FutureCallback<SimpleHttpResponse> callback = invocation.getArgument(1);
+                callback.completed(
+                    SimpleHttpResponse.create(HttpStatus.SC_OK, responseBody, ContentType.APPLICATION_JSON));
+                return null;
+            }).when(httpClient).execute(any(SimpleHttpRequest.class), any());
+
+            final AsyncClient client = new AsyncClientImpl(ClientConfig.builder().setApiKey(API_KEY)
+                .setApiFallbackUrls(ImmutableList.of("https://proxy.example.com"))
+                .build());
+            assertEquals("unit-test", client.getContent("id1").get().get("from_location").asText());
+
+            final ArgumentCaptor<SimpleHttpRequest> requests = ArgumentCaptor.forClass(SimpleHttpRequest.class);
+            verify(httpClient, times(2)).execute(requests.capture(), any());
+            assertEquals("api.getjoystick.com", requests.getAllValues().get(0).getAuthority().getHostName());
+            assertEquals("proxy.example.com", requests.getAllValues().get(1).getAuthority().getHostName());
+        }
+    }
+
+    @Test
+    void getContent_serverError_requestRetriedWithBackoff() throws Exception {
+        try (MockedStatic<HttpAsyncClients> ignored = Mockito.mockStatic(HttpAsyncClients.class)) {
+            final CloseableHttpAsyncClient httpClient = mockHttpClient();
+            final String responseBody = toString("/com/getjoystick/sdk/client/impl/FullResponseSample.json");
+            doAnswer(invocation -> {
+                final FutureCallback<SimpleHttpResponse> callback = invocation.getArgument(1);
+                callback.completed(SimpleHttpResponse.create(HttpStatus.SC_SERVICE_UNAVAILABLE));
+                return null;
+            }).doAnswer(invocation -> {
+                final FutureCallback<SimpleHttpResponse> callback = invocation.getArgument(1);
+                callback.completed(
+                    SimpleHttpResponse.create(HttpStatus.SC_OK, responseBody, ContentType.APPLICATION_JSON));
+                return null;
+            }).when(httpClient).execute(any(SimpleHttpRequest.class), any());
+
+            try (AsyncClient client = new AsyncClientImpl(ClientConfig.builder().setApiKey(API_KEY)
+                .setMaxRetries(2)
+                .setRetryBackoffMillis(1)
+                .build())) {
+                assertEquals("unit-test",
+                    client.getContent("id1").get(5, TimeUnit.SECONDS).get("from_location").asText());
+            }
+            verify(httpClient, times(2)).execute(any(SimpleHttpRequest.class), any());
+        }
+    }
+
+    @Test
+    void getContent_circuitBreakerOpen_futureCompletedWithoutRequest() {
+        try (MockedStatic<HttpAsyncClients> ignored = Mockito.mockStatic(HttpAsyncClients.class)) {
+            final CloseableHttpAsyncClient httpClient = mockHttpClient();
+            doAnswer(invocation -> {
+                final FutureCallback<SimpleHttpResponse> callback = invocation.getArgument(1);
+                callback.completed(SimpleHttpResponse.create(HttpStatus.SC_SERVICE_UNAVAILABLE));
+                return null;
+            }).when(httpClient).execute(any(SimpleHttpRequest.class), any());
+
+            final AsyncClient client = new AsyncClientImpl(ClientConfig.builder().setApiKey(API_KEY)
+                .setMaxRetries(0)
+                .setCircuitBreakerOpenMillis(60_000)
+                .setCircuitBreakerWindowSize(1)
+                .build());
+            final ExecutionException error =
+                assertThrows(ExecutionException.class, () -> client.getContent("id1").get());
+            assertInstanceOf(ApiServerException.class, error.getCause());
+            final ExecutionException rejected =
+                assertThrows(ExecutionException.class, () -> client.getContent("id1").get());
+            assertInstanceOf(CircuitBreakerOpenException.class, rejected.getCause());
+            verify(httpClient, times(1)).execute(any(SimpleHttpRequest.class), any());
+        }
+    }
+
+    @Test
+    void getContent_apiFailsAfterCacheExpiration_lastKnownGoodContentReturned() throws Exception {
+        try (MockedStatic<HttpAsyncClients> ignored = Mockito.mockStatic(HttpAsyncClients.class)) {
+            final CloseableHttpAsyncClient httpClient = mockHttpClient();
+            final String responseBody = toString("/com/getjoystick/sdk/client/impl/FullResponseSample.json");
+            doAnswer(invocation -> {
+                final FutureCallback<SimpleHttpResponse> callback = invocation.getArgument(1);
+                callback.completed(
+                    SimpleHttpResponse.create(HttpStatus.SC_OK, responseBody, ContentType.APPLICATION_JSON));
+                return null;
+            }).doAnswer(invocation -> {
+                final FutureCallback<SimpleHttpResponse> callback = invocation.getArgument(1);
+                callback.completed(SimpleHttpResponse.create(HttpStatus.SC_SERVICE_UNAVAILABLE));
+                return null;
+            }).when(httpClient).execute(any(SimpleHttpRequest.class), any());
+
+            final AsyncClient client = new AsyncClientImpl(ClientConfig.builder().setApiKey(API_KEY)
+                .setCache(new ApiCacheLRU<>(0))
+                .setMaxRetries(0)
+                .setLastKnownGoodSize(100)
+                .build());
+            final JoystickFullContent<JsonNode> loaded = client.getFullContent("id1").get();
+            assertEquals("unit-test", loaded.getData().get("from_location").asText());
+            assertFalse(loaded.isStale());
+            final JoystickFullContent<JsonNode> fallback = client.getFullContent("id1").get();
+            assertEquals("unit-test", fallback.getData().get("from_location").asText());
+            assertTrue(fallback.isStale());
+            final ExecutionException error =
+                assertThrows(ExecutionException.class, () -> client.getContent("id2").get());
+            assertInstanceOf(ApiServerException.class, error.getCause());
+        }
+    }
+
+    @Test
+    void getContentResult_apiFailsAfterCacheExpiration_staleContentReported() throws Exception {
+        try (MockedStatic<HttpAsyncClients> ignored = Mockito.mockStatic(HttpAsyncClients.class)) {
+            final CloseableHttpAsyncClient httpClient = mockHttpClient();
+            final String responseBody = toString("/com/getjoystick/sdk/client/impl/FullResponseSample.json");
+            final String serializedBody =
+                toString("/com/getjoystick/sdk/client/impl/SerializedResponseSample.json");
+            final Answer<Object> serverError = invocation -> {
+                final FutureCallback<SimpleHttpResponse> callback = invocation.getArgument(1);
+                callback.completed(SimpleHttpResponse.create(HttpStatus.SC_SERVICE_UNAVAILABLE));
+                return null;
+            };
+            doAnswer(invocation -> {
+                final FutureCallback<SimpleHttpResponse> callback = invocation.getArgument(1);
+                callback.completed(
+                    SimpleHttpResponse.create(HttpStatus.SC_OK, responseBody, ContentType.APPLICATION_JSON));
+                return null;
+            }).doAnswer(serverError).doAnswer(serverError).doAnswer(serverError).doAnswer(invocation -> {
+                final FutureCallback<SimpleHttpResponse> callback = invocation.getArgument(1);
+                callback.completed(
+                    SimpleHttpResponse.create(HttpStatus.SC_OK, serializedBody, ContentType.APPLICATION_JSON));
+                return null;
+            }).doAnswer(serverError).when(httpClient).execute(any(SimpleHttpRequest.class), any());
+
+            final AsyncClient client = new AsyncClientImpl(ClientConfig.builder().setApiKey(API_KEY)
+                .setCache(new ApiCacheLRU<>(0))
+                .setMaxRetries(0)
+                .setLastKnownGoodSize(100)
+                .build());
+            final JoystickContentResult<JsonNode> loaded = client.getContentResult("id1").get();
+            assertEquals("unit-test", loaded.getContent().get("from_location").asText());
+            assertFalse(loaded.isStale());
+
+            final JoystickContentResult<JsonNode> fallback = client.getContentResult("id1").get();
+            assertEquals("unit-test", fallback.getContent().get("from_location").asText());
+            assertTrue(fallback.isStale());
+
+            final JoystickContentResult<JsonNode> multiple = client
+                .getContentResults(ImmutableList.of("id1"), new JoystickContentOptions(false)).get().get("id1");
+            assertEquals("unit-test", multiple.getContent().get("from_location").asText());
+            assertTrue(multiple.isStale());
+
+            final JoystickContentResult<Map<String, Object>> typed = client.getContentResult("id1",
+                new TypeReference<Map<String, Object>>() { }, new JoystickContentOptions(false)).get();
+            assertEquals("unit-test", typed.getContent().get("from_location"));
+            assertTrue(typed.isStale());
+
+            final JoystickContentResult<String> serialized =
+                client.getContentSerializedResult("id1", new JoystickContentOptions(false)).get();
+            assertFalse(serialized.isStale());
+            final JoystickContentResult<String> staleSerialized =
+                client.getContentSerializedResult("id1", new JoystickContentOptions(false)).get();
+            assertEquals(serialized.getContent(), staleSerialized.getContent());
+            assertTrue(staleSerialized.isStale());
+            verify(httpClient, times(6)).execute(any(SimpleHttpRequest.class), any());
+        }
+    }
+
+    @Test
+    void registerContentIds_validConfig_contentsLoadedInBackground() throws Exception {
+        try (MockedStatic<HttpAsyncClients> ignored = Mockito.mockStatic(HttpAsyncClients.class)) {
+            final CloseableHttpAsyncClient httpClient = mockHttpClient();
+            final String responseBody =
+                toString("/com/getjoystick/sdk/client/impl/MultipleConfigSucessResponse.json");
+            doAnswer(invocation -> {
+                final FutureCallback<SimpleHttpResponse> callback = invocation.getArgument(1);
+                callback.completed(
+                    SimpleHttpResponse.create(HttpStatus.SC_OK, responseBody, ContentType.APPLICATION_JSON));
+                return null;
+            }).when(httpClient).execute(any(SimpleHttpRequest.class), any());
+
+            // Full and data only content is cached for each content id
+            final CountDownLatch contentsCached = new CountDownLatch(4);
+            final ApiCache<String, String> cache = new ApiCacheLRU<String, String>() {
+                @Override
+                public void put(final String key, final String value) {
+                    super.put(key, value);
+                    contentsCached.countDown();
+                }
+            };
+            try (AsyncClient client = new AsyncClientImpl(ClientConfig.builder().setApiKey(API_KEY)
+                .setCache(cache)
+                .build())) {
+                client.registerContentIds(CONTENT_IDS);
+                assertTrue(contentsCached.await(5, TimeUnit.SECONDS));
+
+                final CompletableFuture<Map<String, JsonNode>> cached = client.getContents(CONTENT_IDS);
+                assertTrue(cached.isDone());
+                assertEquals("Turbo", cached.get().get("race_config").get("name").asText());
+                assertTrue(client.getFullContent("horror_config").isDone());
+            }
+            verify(httpClient, times(1)).execute(any(SimpleHttpRequest.class), any());
+        }
+    }
+
+    @Test
+    void getContent_requestFailed_futureCompletedExceptionally() {
+        try (MockedStatic<HttpAsyncClients> ignored = Mockito.mockStatic(HttpAsyncClients.class)) {
+            final CloseableHttpAsyncClient httpClient = mockHttpClient();
+            doAnswer(invocation -> {
+                final FutureCallback<SimpleHttpResponse> callback = invocation.getArgument(1);
+                callback.failed(new IOException("Connection reset"));
+                return null;
+            }).when(httpClient).execute(any(SimpleHttpRequest.class), any());
+
+            final AsyncClient client = new AsyncClientImpl(ClientConfig.builder().setApiKey(API_KEY).build());
+            final ExecutionException exception =
+                assertThrows(ExecutionException.class, () -> client.getContent("horror_config").get());
+            assertInstanceOf(ApiUnknownException.class, exception.getCause());
+            assertInstanceOf(IOException.class, exception.getCause().getCause());
+        }
+    }
+
+    @Test
+    void create_maxStalenessSet_configurationExceptionThrown() {
+        final ClientConfig config = ClientConfig.builder().setApiKey(API_KEY).setMaxStalenessSeconds(600).build();
+        assertThrows(ConfigurationException.class, () -> new AsyncClientImpl(config));
+    }
+
+    @Test
+    void create_batchWindowSet_configurationExceptionThrown() {
+        final ClientConfig config = ClientConfig.builder().setApiKey(API_KEY).setBatchWindowMillis(10).build();
+        assertThrows(ConfigurationException.class, () -> new AsyncClientImpl(config));
+    }
+
+    @Test
+    void create_snapshotStoreSet_configurationExceptionThrown() {
+        final ClientConfig config = ClientConfig.builder().setApiKey(API_KEY)
+            .setSnapshotStore(mock(ContentSnapshotStore.class)).build();
+        assertThrows(ConfigurationException.class, () -> new AsyncClientImpl(config));
+    }
+
+    @Test
+    void create_contentBundleSet_configurationExceptionThrown() {
+        final ContentBundle bundle =
+            ContentBundle.fromResource("com/getjoystick/sdk/client/impl/MultipleConfigSucessResponse.json");
+        final ClientConfig config = ClientConfig.builder().setApiKey(API_KEY).setContentBundle(bundle).build();
+        assertThrows(ConfigurationException.class, () -> new AsyncClientImpl(config));
+    }
+
+    private static CloseableHttpAsyncClient mockHttpClient() {
+        final HttpAsyncClientBuilder httpClientBuilder = mock(HttpAsyncClientBuilder.class, RETURNS_SELF);
+        when(HttpAsyncClients.custom()).thenReturn(httpClientBuilder);
+        final CloseableHttpAsyncClient httpClient = mock(CloseableHttpAsyncClient.class);
+        doReturn(httpClient).when(httpClientBuilder).build();
+        return httpClient;
+    }
+
+    private static void respondWith(final CloseableHttpAsyncClient httpClient, final SimpleHttpResponse response) {
+        doAnswer(invocation -> {
+            final FutureCallback<SimpleHttpResponse> callback = invocation.getArgument(1);
+            callback.completed(response);
+            return null;
+        }).when(httpClient).execute(any(SimpleHttpRequest.class), any());
+    }
+
+}
@@ -1,34 +1,71 @@
 package com.getjoystick.sdk.client.impl;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.getjoystick.sdk.cache.ApiCache;
+import com.getjoystick.sdk.cache.ContentSnapshotStore;
+import com.getjoystick.sdk.cache.impl.ApiCacheCompact;
 import com.getjoystick.sdk.cache.impl.ApiCacheLRU;
 import com.getjoystick.sdk.client.Client;
 import com.getjoystick.sdk.client.ClientConfig;
+import com.getjoystick.sdk.client.JoystickContext;
 import com.getjoystick.sdk.errors.ApiBadRequestException;
+import com.getjoystick.sdk.errors.ApiServerException;
 import com.getjoystick.sdk.errors.ApiUnknownException;
+import com.getjoystick.sdk.errors.CircuitBreakerOpenException;
+import com.getjoystick.sdk.errors.JoystickException;
+import com.getjoystick.sdk.models.ContentBundle;
+import com.getjoystick.sdk.models.JoystickContentOptions;
+import com.getjoystick.sdk.models.JoystickContentResult;
+import com.getjoystick.sdk.models.JoystickFullContent;
 import com.getjoystick.sdk.models.PublishData;
+import com.getjoystick.sdk.util.JoystickUtil;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.core5.http.ClassicHttpRequest;
 import org.apache.hc.core5.http.ClassicHttpResponse;
 import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHeaders;
 import org.apache.hc.core5.http.HttpStatus;
 import org.apache.hc.core5.http.io.HttpClientResponseHandler;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
 import org.apache.hc.core5.http.io.entity.HttpEntities;
+import org.apache.hc.core5.http.message.BasicClassicHttpResponse;
 import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 import java.io.IOException;
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -39,7 +76,7 @@ class ClientImplTest {
     @Test
     void getContents_singleIdAndContentIsNotCached_callToJoystickViaSingleApi() throws Exception {
         try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
-            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class);
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
             when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
 
             doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultRequestConfig(any());
@@ -63,7 +100,7 @@ class ClientImplTest {
     @Test
     void getContents_ioExceptionDuringCallToRemoteServer_apiUnknownExceptionThrown() throws Exception {
         try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
-            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class);
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
             when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
 
             doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultRequestConfig(any());
@@ -81,10 +118,594 @@ class ClientImplTest {
         }
     }
 
+    @Test
+    void getContents_baseUrlNotAvailable_fallbackUrlUsed() throws Exception {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+
+            final String response = "{\"data\":\"{}\",\"hash\":\"2f5aa20f\",\"meta\":{\"uid\":0,\"mod\":0," +
+                "\"variants\":[],\"seg\":[]}}";
+            final JsonNode node = mock(JsonNode.class);
+            doReturn(response).when(node).toString();
+            doThrow(IOException.class)
+                .doThrow(new ApiServerException("HTTP/1.1 503 Service Unavailable"))
+                .doReturn(node)
+                .when(httpClient).execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            final String result = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY)
+                .setApiBaseUrl("https://proxy.example.com")
+                .setApiFallbackUrls(ImmutableList.of("https://proxy2.example.com", "https://api.getjoystick.com"))
+                .build())
+                .getContentsAsString(ImmutableSet.of("id1"));
+
+            assertEquals(response, result);
+            final ArgumentCaptor<ClassicHttpRequest> requests = ArgumentCaptor.forClass(ClassicHttpRequest.class);
+            verify(httpClient, times(3)).execute(requests.capture(), any(HttpClientResponseHandler.class));
+            assertEquals("proxy.example.com", requests.getAllValues().get(0).getAuthority().getHostName());
+            assertEquals("proxy2.example.com", requests.getAllValues().get(1).getAuthority().getHostName());
+            assertEquals("api.getjoystick.com", requests.getAllValues().get(2).getAuthority().getHostName());
+        }
+    }
+
+    @Test
+    void getContents_badRequestOnBaseUrl_fallbackUrlNotUsed() throws Exception {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+            doThrow(new ApiBadRequestException("HTTP/1.1 403 Forbidden")).when(httpClient)
+                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            final Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY)
+                .setApiFallbackUrls(ImmutableList.of("https://proxy.example.com"))
+                .build());
+            assertThrows(ApiBadRequestException.class, () -> client.getContentsAsString(ImmutableSet.of("id1")));
+            verify(httpClient, times(1))
+                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+        }
+    }
+
+    @Test
+    void getContents_serverErrorOnEveryUrl_requestRetried() throws Exception {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+
+            final String response = "{\"data\":\"{}\",\"hash\":\"2f5aa20f\",\"meta\":{\"uid\":0,\"mod\":0," +
+                "\"variants\":[],\"seg\":[]}}";
+            final JsonNode node = mock(JsonNode.class);
+            doReturn(response).when(node).toString();
+            doThrow(new ApiServerException("HTTP/1.1 503 Service Unavailable"))
+                .doThrow(IOException.class)
+                .doReturn(node)
+                .when(httpClient).execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            final String result = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY)
+                .setMaxRetries(2)
+                .setRetryBackoffMillis(1)
+                .build())
+                .getContentsAsString(ImmutableSet.of("id1"));
+
+            assertEquals(response, result);
+            verify(httpClient, times(3)).execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+        }
+    }
+
+    @Test
+    void getContents_serverErrorAfterMaxRetries_exceptionIsThrown() throws Exception {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+            doThrow(new ApiServerException("HTTP/1.1 503 Service Unavailable")).when(httpClient)
+                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            final Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY)
+                .setApiFallbackUrls(ImmutableList.of("https://proxy.example.com"))
+                .setMaxRetries(1)
+                .setRetryBackoffMillis(1)
+                .build());
+            assertThrows(ApiServerException.class, () -> client.getContentsAsString(ImmutableSet.of("id1")));
+            verify(httpClient, times(4))
+                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+        }
+    }
+
+    @Test
+    void getContents_retryBudgetExhausted_requestNotRetried() throws Exception {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+            doThrow(new ApiServerException("HTTP/1.1 503 Service Unavailable")).when(httpClient)
+                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            final Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY)
+                .setMaxRetries(1)
+                .setRetryBackoffMillis(1)
+                .setRetryBudgetRatio(0)
+                .build());
+            for (int i = 0; i < 11; i++) {
+                assertThrows(ApiServerException.class, () -> client.getContentsAsString(ImmutableSet.of("id1")));
+            }
+            // Initial budget allows a burst of 10 retries, 11th request is made only once
+            verify(httpClient, times(21))
+                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+        }
+    }
+
+    @Test
+    void getContents_apiFailing_circuitBreakerOpensAndFailsFast() throws Exception {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+            doThrow(new ApiServerException("HTTP/1.1 503 Service Unavailable")).when(httpClient)
+                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            final Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY)
+                .setMaxRetries(0)
+                .setCircuitBreakerOpenMillis(60_000)
+                .setCircuitBreakerWindowSize(2)
+                .build());
+            assertThrows(ApiServerException.class, () -> client.getContent("id1"));
+            assertThrows(ApiServerException.class, () -> client.getContent("id2"));
+            assertThrows(CircuitBreakerOpenException.class, () -> client.getContent("id3"));
+            assertThrows(CircuitBreakerOpenException.class, () -> client.getContents(ImmutableSet.of("id1", "id2")));
+            verify(httpClient, times(2))
+                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+        }
+    }
+
+    @Test
+    void getContent_circuitBreakerOpen_lastLoadedContentReturned() throws Exception {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+            doReturn(JoystickUtil.readTree("{\"config_name\":\"last-known\"}"))
+                .doThrow(new ApiServerException("HTTP/1.1 503 Service Unavailable"))
+                .when(httpClient).execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            final Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY)
+                .setMaxStalenessSeconds(60)
+                .setMaxRetries(0)
+                .setCircuitBreakerOpenMillis(60_000)
+                .setCircuitBreakerWindowSize(2)
+                .build());
+            final JoystickContentOptions refresh = new JoystickContentOptions(true);
+            assertEquals("last-known", client.getContent("id1").get("config_name").asText());
+            assertThrows(ApiServerException.class, () -> client.getContent("id1", refresh));
+            assertEquals("last-known", client.getContent("id1", refresh).get("config_name").asText());
+            verify(httpClient, times(2))
+                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+        }
+    }
+
+    @Test
+    void getContent_circuitBreakerOpenTimePassed_probeRequestClosesBreaker() throws Exception {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+            doThrow(IOException.class)
+                .doReturn(JoystickUtil.readTree("{\"config_name\":\"recovered\"}"))
+                .when(httpClient).execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            final Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY)
+                .setMaxRetries(0)
+                .setCircuitBreakerOpenMillis(50)
+                .setCircuitBreakerWindowSize(1)
+                .build());
+            assertThrows(ApiUnknownException.class, () -> client.getContent("id1"));
+            assertThrows(CircuitBreakerOpenException.class, () -> client.getContent("id1"));
+            TimeUnit.MILLISECONDS.sleep(100);
+            assertEquals("recovered", client.getContent("id1").get("config_name").asText());
+            assertEquals("recovered", client.getContent("id2").get("config_name").asText());
+            verify(httpClient, times(3))
+                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+        }
+    }
+
+    @Test
+    void getContent_apiFailsAfterCacheExpiration_lastKnownGoodContentReturned() throws Exception {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+            doReturn(JoystickUtil.readTree("{\"data\":{\"config_name\":\"last-known\"},\"hash\":\"9a5e1bbd\","
+                + "\"meta\":{\"uid\":0,\"mod\":0,\"variants\":[],\"seg\":[]}}"))
+                .doThrow(new ApiServerException("HTTP/1.1 503 Service Unavailable"))
+                .doThrow(IOException.class)
+                .when(httpClient).execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            // Cached content expires immediately
+            final Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY)
+                .setCache(new ApiCacheLRU<>(0))
+                .setMaxRetries(0)
+                .setLastKnownGoodSize(100)
+                .build());
+            final JoystickFullContent<JsonNode> loaded = client.getFullContent("id1");
+            assertEquals("last-known", loaded.getData().get("config_name").asText());
+            assertFalse(loaded.isStale());
+
+            final JoystickFullContent<JsonNode> afterServerError = client.getFullContent("id1");
+            assertEquals("last-known", afterServerError.getData().get("config_name").asText());
+            assertTrue(afterServerError.isStale());
+
+            final JoystickFullContent<JsonNode> afterConnectionError =
+                client.getFullContents(ImmutableSet.of("id1")).get("id1");
+            assertEquals("last-known", afterConnectionError.getData().get("config_name").asText());
+            assertTrue(afterConnectionError.isStale());
+            verify(httpClient, times(3))
+                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+        }
+    }
+
+    @Test
+    void getContent_compactCacheAndApiFailsAfterCacheExpiration_compactLastKnownGoodContentReturned()
+        throws Exception {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+            doReturn(JoystickUtil.readTree("{\"config_name\":\"last-known\",\"padding\":\"aaaaaaaaaaaaaaaa\"}"))
+                .doThrow(new ApiServerException("HTTP/1.1 503 Service Unavailable"))
+                .when(httpClient).execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            // Cached content expires immediately, every content is compressed
+            final Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY)
+                .setCache(new ApiCacheCompact(0, 1, ApiCacheCompact.DEFAULT_MAX_BYTES))
+                .setMaxRetries(0)
+                .setLastKnownGoodSize(100)
+                .build());
+            assertFalse(client.getContentResult("id1").isStale());
+            final JoystickContentResult<JsonNode> fallback = client.getContentResult("id1");
+            assertEquals("last-known", fallback.getContent().get("config_name").asText());
+            assertTrue(fallback.isStale());
+        }
+    }
+
+    @Test
+    void getContentResult_apiFailsAfterCacheExpiration_staleContentReported() throws Exception {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+            doReturn(JoystickUtil.readTree("{\"config_name\":\"last-known\"}"))
+                .doThrow(new ApiServerException("HTTP/1.1 503 Service Unavailable"))
+                .doThrow(IOException.class)
+                .doThrow(IOException.class)
+                .doReturn(JoystickUtil.readTree("\"{\\\"config_name\\\":\\\"serialized\\\"}\""))
+                .doThrow(new ApiServerException("HTTP/1.1 503 Service Unavailable"))
+                .when(httpClient).execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            // Cached content expires immediately
+            final Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY)
+                .setCache(new ApiCacheLRU<>(0))
+                .setMaxRetries(0)
+                .setLastKnownGoodSize(100)
+                .build());
+            final JoystickContentResult<JsonNode> loaded = client.getContentResult("id1");
+            assertEquals("last-known", loaded.getContent().get("config_name").asText());
+            assertFalse(loaded.isStale());
+
+            final JoystickContentResult<JsonNode> afterServerError = client.getContentResult("id1");
+            assertEquals("last-known", afterServerError.getContent().get("config_name").asText());
+            assertTrue(afterServerError.isStale());
+
+            final JoystickContentResult<JsonNode> multiple =
+                client.getContentResults(ImmutableSet.of("id1"), new JoystickContentOptions(false)).get("id1");
+            assertEquals("last-known", multiple.getContent().get("config_name").asText());
+            assertTrue(multiple.isStale());
+
+            final JoystickContentResult<Map<String, Object>> typed = client.getContentResult("id1",
+                new TypeReference<Map<String, Object>>() { }, new JoystickContentOptions(false));
+            assertEquals("last-known", typed.getContent().get("config_name"));
+            assertTrue(typed.isStale());
+
+            final JoystickContentResult<String> serialized =
+                client.getContentSerializedResult("id1", new JoystickContentOptions(false));
+            assertFalse(serialized.isStale());
+
+            final JoystickContentResult<String> staleSerialized =
+                client.getContentSerializedResult("id1", new JoystickContentOptions(false));
+            assertEquals(serialized.getContent(), staleSerialized.getContent());
+            assertTrue(staleSerialized.isStale());
+            verify(httpClient, times(6))
+                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+        }
+    }
+
+    @Test
+    void getContent_apiFailsForNeverLoadedContent_exceptionIsThrown() throws Exception {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+            doReturn(JoystickUtil.readTree("{\"config_name\":\"last-known\"}"))
+                .doThrow(new ApiServerException("HTTP/1.1 503 Service Unavailable"))
+                .when(httpClient).execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            final Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY)
+                .setMaxRetries(0)
+                .setLastKnownGoodSize(100)
+                .build());
+            client.getContent("id1");
+            assertThrows(ApiServerException.class, () -> client.getContents(ImmutableSet.of("id1", "id2")));
+        }
+    }
+
+    @Test
+    void getContent_contentRestoredFromSnapshot_restoredContentReturnedAndReloaded() throws Exception {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+            final String loadedContent = "{\"data\":{\"config_name\":\"loaded\"},\"hash\":\"9a5e1bbd\","
+                + "\"meta\":{\"uid\":0,\"mod\":0,\"variants\":[],\"seg\":[]}}";
+            doReturn(JoystickUtil.readTree(loadedContent))
+                .when(httpClient).execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            final String key = "ff406c88d52546e9091baedfe5b974b76db11a8ae97763dbdf7177cfeceed3c5:2:id1";
+            final ContentSnapshotStore store = mock(ContentSnapshotStore.class);
+            doReturn(ImmutableMap.of(key, "{\"data\":{\"config_name\":\"restored\"},\"hash\":\"5d41402a\","
+                + "\"meta\":{\"uid\":0,\"mod\":0,\"variants\":[],\"seg\":[]}}")).when(store).load();
+
+            try (Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY)
+                .setSnapshotStore(store)
+                .build())) {
+                final JoystickFullContent<JsonNode> restored = client.getFullContent("id1");
+                assertEquals("restored", restored.getData().get("config_name").asText());
+                assertTrue(restored.isStale());
+
+                verify(httpClient, timeout(1000))
+                    .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+                JoystickFullContent<JsonNode> content = client.getFullContent("id1");
+                for (int i = 0; i < 100 && content.isStale(); i++) {
+                    TimeUnit.MILLISECONDS.sleep(10);
+                    content = client.getFullContent("id1");
+                }
+                assertEquals("loaded", content.getData().get("config_name").asText());
+                assertFalse(content.isStale());
+            }
+            verify(store).save(ImmutableMap.of(key, loadedContent));
+        }
+    }
+
+    @Test
+    void getContent_apiUnavailable_bundleContentReturnedUntilLoaded() throws Exception {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+            // The mock is not stubbed again, since background revalidation may call it concurrently
+            final AtomicBoolean available = new AtomicBoolean();
+            doAnswer(invocation -> {
+                if (!available.get()) {
+                    throw new ConnectException("Connection refused");
+                }
+                return JoystickUtil.readTree("{\"data\":{\"level\":134},\"hash\":\"9a5e1bbd\","
+                    + "\"meta\":{\"uid\":0,\"mod\":0,\"variants\":[],\"seg\":[]}}");
+            }).when(httpClient).execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            try (Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY)
+                .setContentBundle(ContentBundle.fromResource(
+                    "com/getjoystick/sdk/client/impl/MultipleConfigSucessResponse.json"))
+                .build())) {
+                final JoystickFullContent<JsonNode> bundled = client.getFullContent("horror_config");
+                assertEquals(133, bundled.getData().get("level").asInt());
+                assertTrue(bundled.isStale());
+                assertEquals(133, client.getContent("horror_config").get("level").asInt());
+                assertEquals("{\\\"level\\\":133,\\\"mode\\\":\\\"Hard\\\",\\\"age\\\":18,\\\"price\\\":33.99}",
+                    client.getContentSerialized("horror_config"));
+                assertEquals("c272ef04", client.getFullContents(ImmutableList.of("horror_config", "race_config"))
+                    .get("race_config").getHash());
+                assertThrows(ApiUnknownException.class, () -> client.getContent("id1"));
+
+                available.set(true);
+                JoystickFullContent<JsonNode> content = client.getFullContent("horror_config");
+                for (int i = 0; i < 100 && content.isStale(); i++) {
+                    TimeUnit.MILLISECONDS.sleep(10);
+                    content = client.getFullContent("horror_config");
+                }
+                assertEquals(134, content.getData().get("level").asInt());
+                assertFalse(content.isStale());
+            }
+        }
+    }
+
+    @Test
+    void getContent_cacheExpiredAndContentNotModified_loadedContentReused() throws Exception {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+            final List<String> ifNoneMatchHeaders = new ArrayList<>();
+            final List<ClassicHttpResponse> responses = new ArrayList<>(ImmutableList.of(
+                response(HttpStatus.SC_OK, "{\"data\":{\"config_name\":\"v1\"},\"hash\":\"h1\",\"meta\":{}}"),
+                response(HttpStatus.SC_NOT_MODIFIED, null),
+                response(HttpStatus.SC_OK, "{\"data\":{\"config_name\":\"v2\"},\"hash\":\"h2\",\"meta\":{}}")));
+            doAnswer(invocation -> {
+                final ClassicHttpRequest request = invocation.getArgument(0);
+                ifNoneMatchHeaders.add(request.containsHeader(HttpHeaders.IF_NONE_MATCH)
+                    ? request.getFirstHeader(HttpHeaders.IF_NONE_MATCH).getValue() : null);
+                final HttpClientResponseHandler<?> handler = invocation.getArgument(1);
+                return handler.handleResponse(responses.remove(0));
+            })
+                .when(httpClient)
+                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            try (Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY)
+                .setCache(new ApiCacheLRU<>(0))
+                .setLastKnownGoodSize(100)
+                .build())) {
+                final JsonNode loaded = client.getContent("id1");
+                assertEquals("v1", loaded.get("config_name").asText());
+                assertSame(loaded, client.getContent("id1"));
+                assertEquals("v2", client.getContent("id1").get("config_name").asText());
+            }
+            assertEquals(Arrays.asList(null, "\"h1\"", "\"h1\""), ifNoneMatchHeaders);
+        }
+    }
+
+    @Test
+    void getContent_refreshAndContentNotModified_cachedContentReused() throws Exception {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+            final List<String> ifNoneMatchHeaders = new ArrayList<>();
+            final List<ClassicHttpResponse> responses = new ArrayList<>(ImmutableList.of(
+                response(HttpStatus.SC_OK, "{\"data\":{\"config_name\":\"v1\"},\"hash\":\"h1\",\"meta\":{}}"),
+                response(HttpStatus.SC_NOT_MODIFIED, null)));
+            doAnswer(invocation -> {
+                final ClassicHttpRequest request = invocation.getArgument(0);
+                ifNoneMatchHeaders.add(request.containsHeader(HttpHeaders.IF_NONE_MATCH)
+                    ? request.getFirstHeader(HttpHeaders.IF_NONE_MATCH).getValue() : null);
+                final HttpClientResponseHandler<?> handler = invocation.getArgument(1);
+                return handler.handleResponse(responses.remove(0));
+            })
+                .when(httpClient)
+                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            try (Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY).build())) {
+                final JsonNode loaded = client.getContent("id1");
+                assertSame(loaded, client.getContent("id1", new JoystickContentOptions(true)));
+            }
+            assertEquals(Arrays.asList(null, "\"h1\""), ifNoneMatchHeaders);
+        }
+    }
+
+    @Test
+    void getContent_cacheHoldsOtherContentWithSameHashCode_otherContentNotReused() throws Exception {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+            final List<String> ifNoneMatchHeaders = new ArrayList<>();
+            doAnswer(invocation -> {
+                final ClassicHttpRequest request = invocation.getArgument(0);
+                final boolean conditional = request.containsHeader(HttpHeaders.IF_NONE_MATCH);
+                ifNoneMatchHeaders.add(conditional
+                    ? request.getFirstHeader(HttpHeaders.IF_NONE_MATCH).getValue() : null);
+                final HttpClientResponseHandler<?> handler = invocation.getArgument(1);
+                return handler.handleResponse(conditional ? response(HttpStatus.SC_NOT_MODIFIED, null)
+                    : response(HttpStatus.SC_OK, "{\"data\":{\"config_name\":\"Aa\"},\"hash\":\"h1\",\"meta\":{}}"));
+            })
+                .when(httpClient)
+                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            final ApiCache<String, String> cache = new ApiCacheLRU<>();
+            try (Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY).setCache(cache).build())) {
+                assertEquals("Aa", client.getContent("id1").get("config_name").asText());
+                // Same length and String.hashCode() as the loaded content, but a different content
+                final String otherContents = "{\"config_name\":\"BB\"}";
+                assertEquals("{\"config_name\":\"Aa\"}".hashCode(), otherContents.hashCode());
+                cache.put("ff406c88d52546e9091baedfe5b974b76db11a8ae97763dbdf7177cfeceed3c5:0:id1", otherContents);
+                assertEquals("Aa",
+                    client.getContent("id1", new JoystickContentOptions(true)).get("config_name").asText());
+            }
+            assertEquals(Arrays.asList(null, null), ifNoneMatchHeaders);
+        }
+    }
+
+    @Test
+    void getContent_defaultConfigAndCacheExpired_contentRequestedWithoutHash() throws Exception {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+            final List<String> ifNoneMatchHeaders = new ArrayList<>();
+            doAnswer(invocation -> {
+                final ClassicHttpRequest request = invocation.getArgument(0);
+                ifNoneMatchHeaders.add(request.containsHeader(HttpHeaders.IF_NONE_MATCH)
+                    ? request.getFirstHeader(HttpHeaders.IF_NONE_MATCH).getValue() : null);
+                final HttpClientResponseHandler<?> handler = invocation.getArgument(1);
+                return handler.handleResponse(
+                    response(HttpStatus.SC_OK, "{\"data\":{\"config_name\":\"v1\"},\"hash\":\"h1\",\"meta\":{}}"));
+            })
+                .when(httpClient)
+                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            try (Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY)
+                .setCache(new ApiCacheLRU<>(0))
+                .build())) {
+                assertEquals("v1", client.getContent("id1").get("config_name").asText());
+                assertEquals("v1", client.getContent("id1").get("config_name").asText());
+            }
+            // Default configuration apart from expiration: expired content is not kept without stale or
+            // last known good content, so it cannot be reused
+            assertEquals(Arrays.asList(null, null), ifNoneMatchHeaders);
+        }
+    }
+
+    @Test
+    void getContent_batchingEnabledAndVersionKnown_batchRequestedBeforeConditionalRequest() throws Exception {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+            final List<String> requests = new ArrayList<>();
+            doAnswer(invocation -> {
+                final ClassicHttpRequest request = invocation.getArgument(0);
+                final boolean combined = request.getRequestUri().startsWith("/api/v1/combine/");
+                requests.add((combined ? "combine" : "single")
+                    + (request.containsHeader(HttpHeaders.IF_NONE_MATCH) ? " if-none-match" : ""));
+                final HttpClientResponseHandler<?> handler = invocation.getArgument(1);
+                // The batch does not return the content, so it is requested separately
+                return handler.handleResponse(combined ? response(HttpStatus.SC_OK, "{}")
+                    : response(HttpStatus.SC_OK, "{\"data\":{\"config_name\":\"v1\"},\"hash\":\"h1\",\"meta\":{}}"));
+            })
+                .when(httpClient)
+                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            try (Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY)
+                .setCache(new ApiCacheLRU<>(0))
+                .setLastKnownGoodSize(100)
+                .setBatchWindowMillis(1)
+                .build())) {
+                assertEquals("v1", client.getContent("id1").get("config_name").asText());
+                assertEquals("v1", client.getContent("id1").get("config_name").asText());
+            }
+            assertEquals(Arrays.asList("combine", "single", "combine", "single if-none-match"), requests);
+        }
+    }
+
+    private static ClassicHttpResponse response(final int code, final String body) {
+        final ClassicHttpResponse response = new BasicClassicHttpResponse(code);
+        if (body != null) {
+            response.setEntity(HttpEntities.create(body, ContentType.APPLICATION_JSON));
+        }
+        return response;
+    }
+
     @Test
     void getContents_contentExistsInCache_resultFromCache() throws Exception {
         try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
-            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class);
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
             when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
 
             doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultRequestConfig(any());
@@ -93,17 +714,151 @@ class ClientImplTest {
             final String response = "{\"data\":\"{\\\"config_name\\\":\\\"initial-test-config-dev-001\\\"}\"," +
                 "\"hash\":\"2f5aa20f\",\"meta\":{\"uid\":0,\"mod\":0,\"variants\":[],\"seg\":[]}}";
             final ApiCache<String, String> cache = new ApiCacheLRU<>();
-            cache.put("9cc2c024dfa829d84772d874d1281299e7e9cab22fcb99a72009a10c3053e1ac", response);
+            cache.put("ff406c88d52546e9091baedfe5b974b76db11a8ae97763dbdf7177cfeceed3c5:0:id1", response);
             final ClientConfig clientConfig = ClientConfig.builder().setApiKey(API_KEY).setCache(cache).build();
             final String result = new ClientImpl(clientConfig).getContentsAsString(ImmutableSet.of("id1"));
             assertEquals(response, result);
         }
     }
 
+    @Test
+    void getContent_contentExistsInCache_parsedContentReused() {
+        final String response = "{\"config_name\":\"initial-test-config-dev-001\"}";
+        final ApiCache<String, String> cache = new ApiCacheLRU<>();
+        cache.put("ff406c88d52546e9091baedfe5b974b76db11a8ae97763dbdf7177cfeceed3c5:0:id1", response);
+        final ClientConfig clientConfig = ClientConfig.builder().setApiKey(API_KEY).setCache(cache).build();
+        final Client client = new ClientImpl(clientConfig);
+        final JsonNode result = client.getContent("id1");
+        assertEquals("initial-test-config-dev-001", result.get("config_name").asText());
+        assertSame(result, client.getContent("id1"));
+
+        cache.put("ff406c88d52546e9091baedfe5b974b76db11a8ae97763dbdf7177cfeceed3c5:0:id1",
+            "{\"config_name\":\"updated-config\"}");
+        assertEquals("updated-config", client.getContent("id1").get("config_name").asText());
+    }
+
+    @Test
+    void getContent_cacheReturnsCopiesOfContent_parsedContentReused() {
+        final ApiCache<String, String> cache = new ApiCacheCompact(300, 0, ApiCacheCompact.DEFAULT_MAX_BYTES);
+        final ApiCache<String, String> copyingCache = new ApiCache<String, String>() {
+            @Override
+            public String get(final String key) {
+                final String value = cache.get(key);
+                return value != null ? new String(value.toCharArray()) : null;
+            }
+
+            @Override
+            public void put(final String key, final String value) {
+                cache.put(key, value);
+            }
+        };
+        copyingCache.put("ff406c88d52546e9091baedfe5b974b76db11a8ae97763dbdf7177cfeceed3c5:0:id1",
+            "{\"config_name\":\"initial-test-config-dev-001\"}");
+        final Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY).setCache(copyingCache).build());
+        final JsonNode result = client.getContent("id1");
+        assertEquals("initial-test-config-dev-001", result.get("config_name").asText());
+        assertSame(result, client.getContent("id1"));
+
+        copyingCache.put("ff406c88d52546e9091baedfe5b974b76db11a8ae97763dbdf7177cfeceed3c5:0:id1",
+            "{\"config_name\":\"updated-config-dev-001\"}");
+        assertEquals("updated-config-dev-001", client.getContent("id1").get("config_name").asText());
+    }
+
+    @Test
+    void getContent_compactCache_parsedContentReused() {
+        final ApiCache<String, String> cache = new ApiCacheCompact(300, 0, ApiCacheCompact.DEFAULT_MAX_BYTES);
+        cache.put("ff406c88d52546e9091baedfe5b974b76db11a8ae97763dbdf7177cfeceed3c5:0:id1",
+            "{\"config_name\":\"initial-test-config-dev-001\"}");
+        final Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY).setCache(cache).build());
+        final JsonNode result = client.getContent("id1");
+        System.gc();
+        assertSame(result, client.getContent("id1"));
+
+        cache.put("ff406c88d52546e9091baedfe5b974b76db11a8ae97763dbdf7177cfeceed3c5:0:id1",
+            "{\"config_name\":\"updated-config-dev-001\"}");
+        assertEquals("updated-config-dev-001", client.getContent("id1").get("config_name").asText());
+    }
+
+    @Test
+    void getContent_contentExistsInCache_readOnlyContentReturned() {
+        final ApiCache<String, String> cache = new ApiCacheLRU<>();
+        cache.put("ff406c88d52546e9091baedfe5b974b76db11a8ae97763dbdf7177cfeceed3c5:0:id1",
+            "{\"config_name\":\"initial-test-config-dev-001\",\"items\":[1,2]}");
+        final Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY).setCache(cache).build());
+
+        final JsonNode result = client.getContent("id1");
+        assertThrows(UnsupportedOperationException.class,
+            () -> ((ObjectNode) result).put("config_name", "changed"));
+        assertThrows(UnsupportedOperationException.class, () -> ((ArrayNode) result.get("items")).add(3));
+        final ObjectNode copy = (ObjectNode) result.deepCopy();
+        copy.put("config_name", "changed");
+        assertEquals("changed", copy.get("config_name").asText());
+        assertEquals("initial-test-config-dev-001", client.getContent("id1").get("config_name").asText());
+    }
+
+    @Test
+    void getFullContent_contentExistsInCache_copyReturnedForEveryCall() {
+        final ApiCache<String, String> cache = new ApiCacheLRU<>();
+        cache.put("ff406c88d52546e9091baedfe5b974b76db11a8ae97763dbdf7177cfeceed3c5:2:id1",
+            "{\"data\":{\"config_name\":\"initial-test-config-dev-001\"},\"hash\":\"9a5e1bbd\","
+                + "\"meta\":{\"uid\":0,\"mod\":0,\"variants\":[],\"seg\":[]}}");
+        final Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY).setCache(cache).build());
+
+        final JoystickFullContent<JsonNode> result = client.getFullContent("id1");
+        result.setHash("changed");
+        assertThrows(UnsupportedOperationException.class,
+            () -> ((ObjectNode) result.getData()).put("config_name", "changed"));
+
+        final JoystickFullContent<JsonNode> other = client.getFullContent("id1");
+        assertEquals("9a5e1bbd", other.getHash());
+        assertSame(result.getData(), other.getData());
+        assertEquals("initial-test-config-dev-001", other.getData().get("config_name").asText());
+    }
+
+    @Test
+    void getContentWithType_contentExistsInCache_boundContentReused() {
+        final ApiCache<String, String> cache = new ApiCacheLRU<>();
+        cache.put("ff406c88d52546e9091baedfe5b974b76db11a8ae97763dbdf7177cfeceed3c5:0:id1",
+            "{\"config_name\":\"initial-test-config-dev-001\",\"level\":3}");
+        final Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY).setCache(cache).build());
+
+        final TestConfig result = client.getContent("id1", TestConfig.class);
+        assertEquals("initial-test-config-dev-001", result.configName);
+        assertEquals(3, result.level);
+        assertSame(result, client.getContent("id1", TestConfig.class));
+        final Map<String, Object> map = client.getContent("id1", new TypeReference<Map<String, Object>>() { });
+        assertEquals(3, map.get("level"));
+        assertSame(map, client.getContent("id1", new TypeReference<Map<String, Object>>() { }));
+
+        cache.put("ff406c88d52546e9091baedfe5b974b76db11a8ae97763dbdf7177cfeceed3c5:0:id1",
+            "{\"config_name\":\"updated-config\",\"level\":4}");
+        assertEquals(4, client.getContent("id1", TestConfig.class).level);
+    }
+
+    @Test
+    void getContentWithType_contentDoesNotMatchType_exceptionIsThrown() {
+        final ApiCache<String, String> cache = new ApiCacheLRU<>();
+        cache.put("ff406c88d52546e9091baedfe5b974b76db11a8ae97763dbdf7177cfeceed3c5:0:id1", "{\"level\":\"high\"}");
+        final Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY).setCache(cache).build());
+
+        final JoystickException exception =
+            assertThrows(JoystickException.class, () -> client.getContent("id1", TestConfig.class));
+        assertEquals("Unable to convert Joystick content to " + TestConfig.class, exception.getMessage());
+    }
+
+    private static final class TestConfig {
+
+        @JsonProperty("config_name")
+        private String configName;
+
+        @JsonProperty("level")
+        private int level;
+    }
+
     @Test
     void getContents_multipleContentIdsAndContentNotCached_callToJoystickViaMultipleApi() throws Exception {
         try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
-            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class);
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
             when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
 
             doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultRequestConfig(any());
@@ -112,15 +867,153 @@ class ClientImplTest {
             final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
             doReturn(httpClient).when(httpClientBuilder).build();
 
-            final String response = "{\"data\":\"{\\\"config_name\\\":\\\"initial-test-config-dev-001\\\"}\"," +
+            final String content = "{\"data\":{\"config_name\":\"initial-test-config-dev-001\"}," +
                 "\"hash\":\"2f5aa20f\",\"meta\":{\"uid\":0,\"mod\":0,\"variants\":[],\"seg\":[]}}";
-            final JsonNode node = mock(JsonNode.class);
-            doReturn(response).when(node).toString();
-            doReturn(node).when(httpClient)
-                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+            doAnswer(invocation -> {
+                final HttpClientResponseHandler<?> handler = invocation.getArgument(1);
+                return handler.handleResponse(
+                    response(HttpStatus.SC_OK, "{\"id1\":" + content + ",\"id2\":" + content + "}"));
+            }).when(httpClient).execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
             final String result = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY).build())
                 .getContentsAsString(ImmutableSet.of("id1","id2"));
-            assertEquals(response, result);
+            assertEquals("{\"id1\":{\"config_name\":\"initial-test-config-dev-001\"}," +
+                "\"id2\":{\"config_name\":\"initial-test-config-dev-001\"}}", result);
+        }
+    }
+
+    @Test
+    void getContent_differentUserContexts_sharedClientLoadsContentPerUser() throws Exception {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+
+            doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultRequestConfig(any());
+            doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultHeaders(any());
+
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+            final List<String> requestBodies = new ArrayList<>();
+            doAnswer(invocation -> {
+                final ClassicHttpRequest request = invocation.getArgument(0);
+                final String requestBody = EntityUtils.toString(request.getEntity());
+                requestBodies.add(requestBody);
+                return JoystickUtil.readTree("{\"body\":" + requestBody + "}");
+            })
+                .when(httpClient)
+                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            final Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY).setSemVer("1.0.0").build());
+            final JoystickContentOptions firstUser = new JoystickContentOptions(JoystickContext.builder()
+                .setUserId("user1").setParams(ImmutableMap.of("country", "US")).build());
+            final JoystickContentOptions secondUser = new JoystickContentOptions(JoystickContext.builder()
+                .setUserId("user2").setSemVer("2.0.0").build());
+
+            assertEquals("user1", client.getContent("id1", firstUser).get("body").get("u").asText());
+            assertEquals("user2", client.getContent("id1", secondUser).get("body").get("u").asText());
+            assertEquals("user1", client.getContent("id1", firstUser).get("body").get("u").asText());
+
+            assertEquals(ImmutableList.of(
+                "{\"p\":{\"country\":\"US\"},\"u\":\"user1\",\"v\":\"1.0.0\"}",
+                "{\"p\":{},\"u\":\"user2\",\"v\":\"2.0.0\"}"), requestBodies);
+        }
+    }
+
+    @Test
+    void getContents_concurrentCallsForNotCachedContent_singleCallToJoystick() throws Exception {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+
+            doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultRequestConfig(any());
+            doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultHeaders(any());
+
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+
+            final String response = "{\"config_name\":\"initial-test-config-dev-001\"}";
+            final CountDownLatch requestStarted = new CountDownLatch(1);
+            final CountDownLatch responseReady = new CountDownLatch(1);
+            doAnswer(invocation -> {
+                requestStarted.countDown();
+                responseReady.await(5, TimeUnit.SECONDS);
+                return JoystickUtil.readTree(response);
+            })
+                .when(httpClient)
+                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            final Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY).build());
+            final ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                final List<Future<String>> results = new ArrayList<>();
+                results.add(executor.submit(() -> client.getContentsAsString(ImmutableSet.of("id1"))));
+                requestStarted.await(5, TimeUnit.SECONDS);
+                for (int i = 0; i < 3; i++) {
+                    results.add(executor.submit(() -> client.getContentsAsString(ImmutableSet.of("id1"))));
+                }
+                Thread.sleep(100);
+                responseReady.countDown();
+                for (final Future<String> result : results) {
+                    assertEquals(response, result.get(5, TimeUnit.SECONDS));
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            verify(httpClient).execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+        }
+    }
+
+    @Test
+    void getContents_expiredContentWithinMaxStaleness_staleContentReturnedAndRevalidated() throws Exception {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+
+            doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultRequestConfig(any());
+            doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultHeaders(any());
+
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+
+            final String response = "{\"config_name\":\"initial-test-config-dev-001\"}";
+            final String updatedResponse = "{\"config_name\":\"initial-test-config-dev-002\"}";
+            doReturn(JoystickUtil.readTree(response), JoystickUtil.readTree(updatedResponse)).when(httpClient)
+                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            final ClientConfig clientConfig = ClientConfig.builder()
+                .setApiKey(API_KEY)
+                .setCacheExpirationSeconds(0)
+                .setMaxStalenessSeconds(60)
+                .build();
+            try (Client client = new ClientImpl(clientConfig)) {
+                assertEquals(response, client.getContentsAsString(ImmutableSet.of("id1")));
+                assertEquals(response, client.getContentsAsString(ImmutableSet.of("id1")));
+                verify(httpClient, timeout(5000).times(2))
+                    .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+            }
+        }
+    }
+
+    @Test
+    void constructor_connectionSettings_appliedToHttpClient() {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+            doReturn(mock(CloseableHttpClient.class)).when(httpClientBuilder).build();
+
+            new ClientImpl(ClientConfig.builder().setApiKey(API_KEY)
+                .setResponseTimeoutMillis(1500)
+                .setConnectionRequestTimeoutMillis(700)
+                .setKeepAliveSeconds(60)
+                .setIdleConnectionEvictionSeconds(20)
+                .build());
+
+            final ArgumentCaptor<RequestConfig> requestConfig = ArgumentCaptor.forClass(RequestConfig.class);
+            verify(httpClientBuilder).setDefaultRequestConfig(requestConfig.capture());
+            assertEquals(Timeout.ofMilliseconds(1500), requestConfig.getValue().getResponseTimeout());
+            assertEquals(Timeout.ofMilliseconds(700), requestConfig.getValue().getConnectionRequestTimeout());
+            assertEquals(TimeValue.ofSeconds(60), requestConfig.getValue().getConnectionKeepAlive());
+            verify(httpClientBuilder).setConnectionManager(any());
+            verify(httpClientBuilder).evictIdleConnections(TimeValue.ofSeconds(20));
         }
     }
 
@@ -136,7 +1029,7 @@ class ClientImplTest {
     void close_getContents_testAutoClosable() throws Exception {
         try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
             final CloseableHttpClient mockedClient = mock(CloseableHttpClient.class);
-            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class);
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
             when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
 
             doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultRequestConfig(any());
@@ -150,10 +1043,48 @@ class ClientImplTest {
         }
     }
 
+    @Test
+    void sharedTransport_clientsWithDifferentApiKeys_singleHttpClientUsed() throws Exception {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+
+            final String response = "{\"data\":\"{}\",\"hash\":\"2f5aa20f\",\"meta\":{\"uid\":0,\"mod\":0," +
+                "\"variants\":[],\"seg\":[]}}";
+            final JsonNode node = mock(JsonNode.class);
+            doReturn(response).when(node).toString();
+            doReturn(node).when(httpClient)
+                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            final JoystickTransportImpl transport =
+                new JoystickTransportImpl(ClientConfig.builder().setApiKey(API_KEY).build());
+            final Client client1 = new ClientImpl(ClientConfig.builder().setApiKey("api-key-1").build(), transport);
+            final Client client2 = new ClientImpl(ClientConfig.builder().setApiKey("api-key-2").build(), transport);
+            client1.getContentsAsString(ImmutableSet.of("id1"));
+            client2.getContentsAsString(ImmutableSet.of("id1"));
+
+            verify(httpClientBuilder, times(1)).build();
+            final ArgumentCaptor<ClassicHttpRequest> requests = ArgumentCaptor.forClass(ClassicHttpRequest.class);
+            verify(httpClient, times(2)).execute(requests.capture(), any(HttpClientResponseHandler.class));
+            assertEquals("api-key-1", requests.getAllValues().get(0).getFirstHeader("x-api-key").getValue());
+            assertEquals("api-key-2", requests.getAllValues().get(1).getFirstHeader("x-api-key").getValue());
+
+            client1.close();
+            client2.close();
+            verify(httpClient, never()).close(any(CloseMode.class));
+            transport.close();
+            verify(httpClient).close(CloseMode.IMMEDIATE);
+            assertThrows(IllegalStateException.class,
+                () -> new ClientImpl(ClientConfig.builder().setApiKey(API_KEY).build(), transport));
+        }
+    }
+
     @Test
     void publishContentUpdate_correctUpdateData_success() throws Exception {
         try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
-            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class);
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
             when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
 
             doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultRequestConfig(any());
@@ -192,7 +1123,7 @@ class ClientImplTest {
     @Test
     void publishContentUpdate_WhenForbiddenToUpdate() throws Exception {
         try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
-            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class);
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
             when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
 
             doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultRequestConfig(any());
@@ -223,4 +1154,50 @@ class ClientImplTest {
             verify(httpClient).execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
         }
     }
+
+    @Test
+    void publishContentUpdate_serverError_requestNotRetried() throws Exception {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+            doThrow(new ApiServerException("HTTP/1.1 503 Service Unavailable")).when(httpClient)
+                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            try (Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY)
+                .setMaxRetries(2).setRetryBackoffMillis(1).build())) {
+                final PublishData data = PublishData.builder()
+                    .setDescription("test 1")
+                    .setContent(ImmutableMap.of("k1", "v1"))
+                    .build();
+                assertThrows(ApiServerException.class, () -> client.publishContentUpdate("id1", data));
+            }
+            verify(httpClient, times(1)).execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+        }
+    }
+
+    @Test
+    void publishContentUpdate_connectionRefused_requestRetried() throws Exception {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+            doThrow(ConnectException.class)
+                .doReturn(null)
+                .when(httpClient).execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            try (Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY)
+                .setMaxRetries(2).setRetryBackoffMillis(1).build())) {
+                final PublishData data = PublishData.builder()
+                    .setDescription("test 1")
+                    .setContent(ImmutableMap.of("k1", "v1"))
+                    .build();
+                client.publishContentUpdate("id1", data);
+            }
+            verify(httpClient, times(2)).execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+        }
+    }
+
 }
@@ -4,6 +4,9 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.TextNode;
 import com.getjoystick.sdk.BaseTest;
+import com.getjoystick.sdk.cache.ApiCache;
+import com.getjoystick.sdk.cache.impl.ApiCacheLRU;
+import com.getjoystick.sdk.client.Client;
 import com.getjoystick.sdk.client.ClientConfig;
 import com.getjoystick.sdk.errors.ApiBadRequestException;
 import com.getjoystick.sdk.models.JoystickFullContent;
@@ -27,15 +30,28 @@ import org.mockito.Mockito;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -47,7 +63,7 @@ class ClientImplWithMockedJsonTest extends BaseTest {
     void getContent_noPermissions_exceptionIsThrown() throws IOException {
         String contentId = "id1";
         try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
-            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class);
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
             when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
 
             doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultRequestConfig(any());
@@ -80,7 +96,7 @@ class ClientImplWithMockedJsonTest extends BaseTest {
             );
             assertEquals("HTTP/1.1 401 ", error.getMessage());
             // Check request values
-            checkRequiredHeaders(httpClientBuilder, INCORRECT_API_KEY);
+            checkRequiredHeaders(httpClientBuilder, httpClient, INCORRECT_API_KEY);
             checkRequestURL(httpClient, "POST", "/api/v1/config/id1/dynamic");
         }
     }
@@ -89,7 +105,7 @@ class ClientImplWithMockedJsonTest extends BaseTest {
     void getContent_validConfig_validResultReturned() throws IOException {
         String contentId = "id1";
         try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
-            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class);
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
             when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
 
             doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultRequestConfig(any());
@@ -123,16 +139,46 @@ class ClientImplWithMockedJsonTest extends BaseTest {
             assertEquals("initial-test-config-dev-001", contentMap.get("config_name"));
             assertEquals("unit-test", contentMap.get("from_location"));
             // Check request values
-            checkRequiredHeaders(httpClientBuilder, API_KEY);
+            checkRequiredHeaders(httpClientBuilder, httpClient, API_KEY);
             checkRequestURL(httpClient, "POST", "/api/v1/config/id1/dynamic");
         }
     }
 
+    @Test
+    void getContent_contentLoaded_loadedJsonReturnedWithoutParsingAgain() throws IOException {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class);
+             MockedStatic<JoystickUtil> joystickUtil = Mockito.mockStatic(JoystickUtil.class, CALLS_REAL_METHODS)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+
+            ClassicHttpResponse mockResponse = mock(ClassicHttpResponse.class);
+            doReturn(HttpStatus.SC_OK).when(mockResponse).getCode();
+            doReturn(HttpEntities.create(toString("/com/getjoystick/sdk/client/impl/FullResponseSample.json"),
+                ContentType.APPLICATION_JSON)).when(mockResponse).getEntity();
+            doAnswer(invocation -> {
+                HttpClientResponseHandler<?> handler = invocation.getArgument(1);
+                return handler.handleResponse(mockResponse);
+            })
+                .when(httpClient)
+                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            final Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY).build());
+            final JsonNode content = client.getContent("id1");
+
+            assertEquals("initial-test-config-dev-001", content.get("config_name").asText());
+            assertSame(content, client.getContent("id1"));
+            joystickUtil.verify(() -> JoystickUtil.readTree(anyString()), never());
+        }
+    }
+
     @Test
     void getFullContentSerialized_validConfig_contentReturnedInSerializedForm() throws IOException {
         String contentId = "id1";
         try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
-            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class);
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
             when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
 
             doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultRequestConfig(any());
@@ -166,7 +212,7 @@ class ClientImplWithMockedJsonTest extends BaseTest {
             assertEquals("{\\\"store\\\":{\\\"book\\\":[{\\\"category\\\":\\\"Version2\\\",\\\"author\\\":\\\"Nigel Rees\\\",\\\"title\\\":\\\"Sayings of the Century\\\",\\\"price\\\":8.95},{\\\"category\\\":\\\"fiction\\\",\\\"author\\\":\\\"Evelyn Waugh\\\",\\\"title\\\":\\\"Sword of Honour\\\",\\\"price\\\":12.99},{\\\"category\\\":\\\"fiction\\\",\\\"author\\\":\\\"J. R. R. Tolkien\\\",\\\"title\\\":\\\"The Lord of the Rings\\\",\\\"isbn\\\":\\\"0-395-19395-8\\\",\\\"price\\\":22.99}],\\\"bicycle\\\":{\\\"color\\\":\\\"red\\\",\\\"price\\\":19.95}}}",
                 content);
             // Check request values
-            checkRequiredHeaders(httpClientBuilder, API_KEY);
+            checkRequiredHeaders(httpClientBuilder, httpClient, API_KEY);
             checkRequestURL(httpClient, "POST", "/api/v1/config/id1/dynamic?responseType=serialized");
         }
     }
@@ -175,7 +221,7 @@ class ClientImplWithMockedJsonTest extends BaseTest {
     void getContentSerialized_validConfig_contentReturnedInSerializedForm() throws IOException {
         String contentId = "id1";
         try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
-            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class);
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
             when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
 
             doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultRequestConfig(any());
@@ -208,7 +254,7 @@ class ClientImplWithMockedJsonTest extends BaseTest {
             assertEquals("{\\\"store\\\":{\\\"book\\\":[{\\\"category\\\":\\\"Version2\\\",\\\"author\\\":\\\"Nigel Rees\\\",\\\"title\\\":\\\"Sayings of the Century\\\",\\\"price\\\":8.95},{\\\"category\\\":\\\"fiction\\\",\\\"author\\\":\\\"Evelyn Waugh\\\",\\\"title\\\":\\\"Sword of Honour\\\",\\\"price\\\":12.99},{\\\"category\\\":\\\"fiction\\\",\\\"author\\\":\\\"J. R. R. Tolkien\\\",\\\"title\\\":\\\"The Lord of the Rings\\\",\\\"isbn\\\":\\\"0-395-19395-8\\\",\\\"price\\\":22.99}],\\\"bicycle\\\":{\\\"color\\\":\\\"red\\\",\\\"price\\\":19.95}}}",
                 content);
             // Check request values
-            checkRequiredHeaders(httpClientBuilder, API_KEY);
+            checkRequiredHeaders(httpClientBuilder, httpClient, API_KEY);
             checkRequestURL(httpClient, "POST", "/api/v1/config/id1/dynamic?responseType=serialized");
         }
     }
@@ -217,7 +263,7 @@ class ClientImplWithMockedJsonTest extends BaseTest {
     void getFullContent_validConfig_fullContentReturned() throws IOException {
         String contentId = "id1";
         try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
-            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class);
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
             when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
 
             doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultRequestConfig(any());
@@ -255,7 +301,7 @@ class ClientImplWithMockedJsonTest extends BaseTest {
                         "\"0-395-19395-8\",\"price\":22.99}],\"bicycle\":{\"color\":\"red\",\"price\":19.95}}}"),
                 fullContent.getData());
             // Check request values
-            checkRequiredHeaders(httpClientBuilder, API_KEY);
+            checkRequiredHeaders(httpClientBuilder, httpClient, API_KEY);
             checkRequestURL(httpClient, "POST", "/api/v1/config/id1/dynamic");
         }
     }
@@ -263,7 +309,7 @@ class ClientImplWithMockedJsonTest extends BaseTest {
     @Test
     void getFullContents_validConfig_fullContentsMapReturned() throws IOException {
         try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
-            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class);
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
             when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
 
             doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultRequestConfig(any());
@@ -298,7 +344,7 @@ class ClientImplWithMockedJsonTest extends BaseTest {
             assertEquals("{\"data\":{\"level\":133,\"mode\":\"Hard\",\"age\":18,\"price\":33.99},\"hash\":\"e10325c5\",\"meta\":{\"uid\":0,\"mod\":0,\"variants\":[],\"seg\":[]}}",
                 fullContents.get("horror_config").toString());
             // Check request values
-            checkRequiredHeaders(httpClientBuilder, API_KEY);
+            checkRequiredHeaders(httpClientBuilder, httpClient, API_KEY);
             checkRequestURL(httpClient, "POST", "/api/v1/combine/?dynamic=true&c=%5B%22race_config%22%2C%22horror_config%22%5D");
         }
     }
@@ -306,7 +352,7 @@ class ClientImplWithMockedJsonTest extends BaseTest {
     @Test
     void getContents_validConfig_contentsMapReturned() throws IOException {
         try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
-            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class);
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
             when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
 
             doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultRequestConfig(any());
@@ -341,7 +387,7 @@ class ClientImplWithMockedJsonTest extends BaseTest {
             assertEquals("{\"level\":133,\"mode\":\"Hard\",\"age\":18,\"price\":33.99}",
                 contentMap.get("horror_config").toString());
             // Check request values
-            checkRequiredHeaders(httpClientBuilder, API_KEY);
+            checkRequiredHeaders(httpClientBuilder, httpClient, API_KEY);
             checkRequestURL(httpClient, "POST", "/api/v1/combine/?dynamic=true&c=%5B%22race_config%22%2C%22horror_config%22%5D");
         }
     }
@@ -349,7 +395,7 @@ class ClientImplWithMockedJsonTest extends BaseTest {
     @Test
     void getContentsSerialized_validConfig_serializedContentsMapReturned() throws IOException {
         try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
-            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class);
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
             when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
 
             doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultRequestConfig(any());
@@ -384,7 +430,7 @@ class ClientImplWithMockedJsonTest extends BaseTest {
             assertEquals("{\\\"level\\\":133,\\\"mode\\\":\\\"Hard\\\",\\\"age\\\":18,\\\"price\\\":33.99}",
                 contentMap.get("horror_config"));
             // Check request values
-            checkRequiredHeaders(httpClientBuilder, API_KEY);
+            checkRequiredHeaders(httpClientBuilder, httpClient, API_KEY);
             checkRequestURL(httpClient, "POST", "/api/v1/combine/?dynamic=true&responseType=serialized&c=%5B%22race_config%22%2C%22horror_config%22%5D");
         }
     }
@@ -392,7 +438,7 @@ class ClientImplWithMockedJsonTest extends BaseTest {
     @Test
     void getFullContentsSerialized_validConfig_serializedFullContentsMapReturned() throws IOException {
         try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
-            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class);
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
             when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
 
             doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultRequestConfig(any());
@@ -429,11 +475,218 @@ class ClientImplWithMockedJsonTest extends BaseTest {
             assertEquals("{\\\"level\\\":133,\\\"mode\\\":\\\"Hard\\\",\\\"age\\\":18,\\\"price\\\":33.99}",
                 contentMap.get("horror_config").getData());
             // Check request values
-            checkRequiredHeaders(httpClientBuilder, API_KEY);
+            checkRequiredHeaders(httpClientBuilder, httpClient, API_KEY);
             checkRequestURL(httpClient, "POST", "/api/v1/combine/?dynamic=true&responseType=serialized&c=%5B%22race_config%22%2C%22horror_config%22%5D");
         }
     }
 
+    @Test
+    void registerContentIds_validConfig_contentsLoadedWithSingleRequest() throws Exception {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+
+            doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultRequestConfig(any());
+            doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultHeaders(any());
+
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+
+            ClassicHttpResponse mockResponse = mock(ClassicHttpResponse.class);
+            doReturn(HttpStatus.SC_OK).when(mockResponse).getCode();
+            HttpEntity mockEntity = HttpEntities.create(
+                toString("/com/getjoystick/sdk/client/impl/MultipleConfigSucessResponse.json"),
+                ContentType.APPLICATION_JSON
+            );
+            doReturn(mockEntity).when(mockResponse).getEntity();
+
+            doAnswer(invocation -> {
+                HttpClientResponseHandler<?> handler = invocation.getArgument(1);
+                return handler.handleResponse(mockResponse);
+            })
+                .when(httpClient)
+                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            // Full and data only content is cached for each content id
+            final CountDownLatch contentsCached = new CountDownLatch(4);
+            final ApiCache<String, String> cache = new ApiCacheLRU<String, String>() {
+                @Override
+                public void put(final String key, final String value) {
+                    super.put(key, value);
+                    contentsCached.countDown();
+                }
+            };
+            try (Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY).setCache(cache).build())) {
+                client.registerContentIds(ImmutableSet.of("race_config", "horror_config"));
+                assertTrue(contentsCached.await(5, TimeUnit.SECONDS));
+
+                assertEquals("{\"speed\":20,\"name\":\"Turbo\",\"size\":245,\"price\":22.99}",
+                    client.getContent("race_config").toString());
+                assertEquals("e10325c5", client.getFullContent("horror_config").getHash());
+            }
+            checkRequestURL(httpClient, "POST", "/api/v1/combine/?dynamic=true&c=%5B%22race_config%22%2C%22horror_config%22%5D");
+        }
+    }
+
+    @Test
+    void registerContentIds_refreshThrowsUnexpectedException_refreshContinues() throws Exception {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+
+            ClassicHttpResponse mockResponse = mock(ClassicHttpResponse.class);
+            doReturn(HttpStatus.SC_OK).when(mockResponse).getCode();
+            doReturn(HttpEntities.create(
+                toString("/com/getjoystick/sdk/client/impl/MultipleConfigSucessResponse.json"),
+                ContentType.APPLICATION_JSON
+            )).when(mockResponse).getEntity();
+
+            // Initial load and the first scheduled refresh fail
+            doThrow(new IllegalStateException("Unexpected"))
+                .doThrow(new IllegalStateException("Unexpected"))
+                .doAnswer(invocation -> {
+                    HttpClientResponseHandler<?> handler = invocation.getArgument(1);
+                    return handler.handleResponse(mockResponse);
+                })
+                .when(httpClient)
+                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            final CountDownLatch contentsCached = new CountDownLatch(4);
+            final ApiCache<String, String> cache = new ApiCacheLRU<String, String>() {
+                @Override
+                public void put(final String key, final String value) {
+                    super.put(key, value);
+                    contentsCached.countDown();
+                }
+            };
+            try (Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY).setCache(cache)
+                .setRefreshIntervalSeconds(1).build())) {
+                client.registerContentIds(ImmutableSet.of("race_config", "horror_config"));
+                assertTrue(contentsCached.await(5, TimeUnit.SECONDS));
+                assertEquals("e10325c5", client.getFullContent("horror_config").getHash());
+            }
+        }
+    }
+
+    @Test
+    void getContents_overlappingContentIds_contentsCachedById() throws IOException {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+
+            doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultRequestConfig(any());
+            doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultHeaders(any());
+
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+
+            final String responseBody = toString("/com/getjoystick/sdk/client/impl/MultipleConfigSucessResponse.json");
+            doAnswer(invocation -> {
+                final ClassicHttpResponse mockResponse = mock(ClassicHttpResponse.class);
+                doReturn(HttpStatus.SC_OK).when(mockResponse).getCode();
+                doReturn(HttpEntities.create(responseBody, ContentType.APPLICATION_JSON)).when(mockResponse).getEntity();
+                HttpClientResponseHandler<?> handler = invocation.getArgument(1);
+                return handler.handleResponse(mockResponse);
+            })
+                .when(httpClient)
+                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            final Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY).build());
+            final Map<String, JsonNode> contents = client.getContents(ImmutableSet.of("race_config", "horror_config"));
+            assertEquals("Turbo", contents.get("race_config").get("name").asText());
+
+            assertEquals(133, client.getContents(ImmutableSet.of("horror_config")).get("horror_config")
+                .get("level").asInt());
+            assertEquals("Turbo", client.getContent("race_config").get("name").asText());
+            assertEquals("c272ef04", client.getFullContent("race_config").getHash());
+            assertEquals(2, client.getFullContents(ImmutableSet.of("horror_config", "race_config")).size());
+
+            checkRequestURL(httpClient, "POST", "/api/v1/combine/?dynamic=true&c=%5B%22race_config%22%2C%22horror_config%22%5D");
+        }
+    }
+
+    @Test
+    void getContents_someContentIdsCached_onlyMissingIdsRequested() throws IOException {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+
+            doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultRequestConfig(any());
+            doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultHeaders(any());
+
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+
+            final String responseBody = toString("/com/getjoystick/sdk/client/impl/MultipleConfigSucessResponse.json");
+            doAnswer(invocation -> {
+                final ClassicHttpResponse mockResponse = mock(ClassicHttpResponse.class);
+                doReturn(HttpStatus.SC_OK).when(mockResponse).getCode();
+                doReturn(HttpEntities.create(responseBody, ContentType.APPLICATION_JSON)).when(mockResponse).getEntity();
+                HttpClientResponseHandler<?> handler = invocation.getArgument(1);
+                return handler.handleResponse(mockResponse);
+            })
+                .when(httpClient)
+                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            final Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY).build());
+            client.getContent("race_config");
+            final Map<String, JsonNode> contents = client.getContents(ImmutableSet.of("race_config", "horror_config"));
+            assertEquals(2, contents.size());
+
+            final ArgumentCaptor<ClassicHttpRequest> reqCaptor = ArgumentCaptor.forClass(ClassicHttpRequest.class);
+            verify(httpClient, times(2)).execute(reqCaptor.capture(), any(HttpClientResponseHandler.class));
+            assertEquals("/api/v1/config/race_config/dynamic", reqCaptor.getAllValues().get(0).getRequestUri());
+            assertEquals("/api/v1/combine/?dynamic=true&c=%5B%22horror_config%22%5D",
+                reqCaptor.getAllValues().get(1).getRequestUri());
+        }
+    }
+
+    @Test
+    void getContent_concurrentCallsWithinBatchWindow_singleCombinedRequest() throws Exception {
+        try (MockedStatic<HttpClientBuilder> ignored = Mockito.mockStatic(HttpClientBuilder.class)) {
+            final HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class, RETURNS_SELF);
+            when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
+
+            doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultRequestConfig(any());
+            doReturn(httpClientBuilder).when(httpClientBuilder).setDefaultHeaders(any());
+
+            final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+            doReturn(httpClient).when(httpClientBuilder).build();
+
+            final String responseBody = toString("/com/getjoystick/sdk/client/impl/MultipleConfigSucessResponse.json");
+            doAnswer(invocation -> {
+                final ClassicHttpResponse mockResponse = mock(ClassicHttpResponse.class);
+                doReturn(HttpStatus.SC_OK).when(mockResponse).getCode();
+                doReturn(HttpEntities.create(responseBody, ContentType.APPLICATION_JSON)).when(mockResponse).getEntity();
+                HttpClientResponseHandler<?> handler = invocation.getArgument(1);
+                return handler.handleResponse(mockResponse);
+            })
+                .when(httpClient)
+                .execute(any(ClassicHttpRequest.class), any(HttpClientResponseHandler.class));
+
+            final Client client = new ClientImpl(ClientConfig.builder().setApiKey(API_KEY).setBatchWindowMillis(500).build());
+            final ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                final Future<JsonNode> raceConfig = executor.submit(() -> client.getContent("race_config"));
+                final Future<JoystickFullContent<JsonNode>> horrorConfig =
+                    executor.submit(() -> client.getFullContent("horror_config"));
+                assertEquals("Turbo", raceConfig.get(5, TimeUnit.SECONDS).get("name").asText());
+                assertEquals("e10325c5", horrorConfig.get(5, TimeUnit.SECONDS).getHash());
+            } finally {
+                executor.shutdownNow();
+            }
+
+            final ArgumentCaptor<ClassicHttpRequest> reqCaptor = ArgumentCaptor.forClass(ClassicHttpRequest.class);
+            verify(httpClient).execute(reqCaptor.capture(), any(HttpClientResponseHandler.class));
+            final String requestUri = reqCaptor.getValue().getRequestUri();
+            assertTrue(requestUri.startsWith("/api/v1/combine/?dynamic=true&c="));
+            assertTrue(requestUri.contains("race_config") && requestUri.contains("horror_config"));
+        }
+    }
+
     /**
      * Simple check request URL.
      *
@@ -451,16 +704,18 @@ class ClientImplWithMockedJsonTest extends BaseTest {
         assertEquals(expectedUri, request.getRequestUri());
     }
 
-    private void checkRequiredHeaders(final HttpClientBuilder clientBuilder, final String apiKey) {
+    private void checkRequiredHeaders(final HttpClientBuilder clientBuilder, final CloseableHttpClient client,
+                                      final String apiKey) throws IOException {
         ArgumentCaptor<List<Header>> headersCaptor = ArgumentCaptor.forClass(List.class);
         verify(clientBuilder).setDefaultHeaders(headersCaptor.capture());
         List<Header> headers = headersCaptor.getValue();
-        boolean hasValidHeaders = headers.stream().anyMatch(h -> "x-api-key".equals(h.getName()) && apiKey.equals(h.getValue()))
-            &&
-            headers.stream()
-                .anyMatch(h -> "Content-Type".equals(h.getName())
-                    && ContentType.APPLICATION_JSON.getMimeType().equals(h.getValue()));
-        assertTrue(hasValidHeaders);
+        assertTrue(headers.stream()
+            .anyMatch(h -> "Content-Type".equals(h.getName())
+                && ContentType.APPLICATION_JSON.getMimeType().equals(h.getValue())));
+        ArgumentCaptor<ClassicHttpRequest> reqCaptor = ArgumentCaptor.forClass(ClassicHttpRequest.class);
+        verify(client, atLeastOnce()).execute(reqCaptor.capture(), any(HttpClientResponseHandler.class));
+        assertTrue(reqCaptor.getAllValues().stream()
+            .allMatch(request -> apiKey.equals(request.getFirstHeader("x-api-key").getValue())));
     }
 
 }
@@ -0,0 +1,71 @@
+package com.getjoystick.sdk.models;
+
+import com.getjoystick.sdk.errors.ConfigurationException;
+import com.google.common.collect.ImmutableSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentBundleTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void fromResource_combineResponse_contentsReadById() {
+        final ContentBundle bundle =
+            ContentBundle.fromResource("com/getjoystick/sdk/client/impl/MultipleConfigSucessResponse.json");
+        assertEquals(ImmutableSet.of("horror_config", "race_config"), bundle.getContentIds());
+        assertEquals(133, bundle.getFullContent("horror_config").get("data").get("level").asInt());
+        assertEquals("e10325c5", bundle.getFullContent("horror_config").get("hash").asText());
+        assertNull(bundle.getFullContent("unknown"));
+    }
+
+    @Test
+    void fromResource_serializedData_dataConvertedToJson() {
+        final ContentBundle bundle =
+            ContentBundle.fromResource("com/getjoystick/sdk/client/impl/MultipleConfigSerializedSucessResponse.json");
+        assertEquals(133, bundle.getFullContent("horror_config").get("data").get("level").asInt());
+    }
+
+    @Test
+    void fromResource_missingResource_exceptionIsThrown() {
+        final ConfigurationException exception =
+            assertThrows(ConfigurationException.class, () -> ContentBundle.fromResource("missing.json"));
+        assertEquals("Content bundle resource missing.json is not found.", exception.getMessage());
+    }
+
+    @Test
+    void fromPath_directory_contentsReadByFileName() throws Exception {
+        Files.write(directory.resolve("id1.json"),
+            "{\"data\":{\"key\":1},\"hash\":\"h1\",\"meta\":{}}".getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve("id2.json"),
+            "{\"data\":{\"key\":2},\"hash\":\"h2\",\"meta\":{}}".getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve("readme.txt"), "skipped".getBytes(StandardCharsets.UTF_8));
+
+        final ContentBundle bundle = ContentBundle.fromPath(directory);
+        assertEquals(ImmutableSet.of("id1", "id2"), bundle.getContentIds());
+        assertEquals(2, bundle.getFullContent("id2").get("data").get("key").asInt());
+    }
+
+    @Test
+    void fromPath_contentWithoutHash_exceptionIsThrown() throws Exception {
+        final Path file = directory.resolve("bundle.json");
+        Files.write(file, "{\"id1\":{\"data\":{\"key\":1},\"meta\":{}}}".getBytes(StandardCharsets.UTF_8));
+
+        final ConfigurationException exception =
+            assertThrows(ConfigurationException.class, () -> ContentBundle.fromPath(file));
+        assertEquals("Content id1 of content bundle must contain data, meta and hash.", exception.getMessage());
+    }
+
+    @Test
+    void fromPath_missingFile_exceptionIsThrown() {
+        assertThrows(ConfigurationException.class, () -> ContentBundle.fromPath(directory.resolve("missing.json")));
+    }
+
+}
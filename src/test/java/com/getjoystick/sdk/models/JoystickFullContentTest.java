@@ -1,9 +1,21 @@
 package com.getjoystick.sdk.models;
 
 import com.getjoystick.sdk.util.JoystickUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.getjoystick.sdk.errors.JoystickException;
 import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.times;
 
 class JoystickFullContentTest {
 
@@ -51,4 +63,86 @@ class JoystickFullContentTest {
         assertFalse(duplicateContent.equals(content));
         assertFalse(content.equals(duplicateContent));
     }
+
+    @Test
+    void getHash_contentBytes_hashReadWithoutData() {
+        final JoystickFullContent<JsonNode> content = new JoystickFullContent<>(
+            ("{\"data\":{\"level\":133,\"nested\":{\"list\":[1,2,3]}},\"hash\":\"e10325c5\"," +
+                "\"meta\":{\"uid\":1,\"mod\":2,\"variants\":[],\"seg\":[]}}").getBytes(StandardCharsets.UTF_8),
+            false);
+        assertEquals("e10325c5", content.getHash());
+        assertEquals(2L, content.getMeta().getMod());
+        assertEquals(133, content.getData().get("level").asInt());
+        assertSame(content.getData(), content.getData());
+    }
+
+    @Test
+    void getData_serializedContent_dataReturnedInSerializedForm() {
+        final String source = "{\"data\":\"{\\\"level\\\":133}\",\"hash\":\"e10325c5\",\"meta\":{}}";
+        final JoystickFullContent<String> content = new JoystickFullContent<>(source, true);
+        assertEquals(new JoystickFullContent<String>(JoystickUtil.readTree(source), true).getData(), content.getData());
+        assertEquals("{\\\"level\\\":133}", content.getData());
+        assertEquals(source, content.toString());
+    }
+
+    @Test
+    void getData_invalidContent_exceptionIsThrownOnAccess() {
+        final JoystickFullContent<JsonNode> content = new JoystickFullContent<>("{\"data\":{\"level\":", false);
+        assertThrows(JoystickException.class, content::getData);
+    }
+
+    @Test
+    void getData_afterHash_onlyDataPartParsedAgain() {
+        final String source = "{\"hash\":\"e10325c5\",\"data\":{\"level\":133,\"name\":\"Уровень\"}," +
+            "\"meta\":{\"uid\":1,\"mod\":2,\"variants\":[],\"seg\":[]}}";
+        final JoystickFullContent<JsonNode> stringContent = new JoystickFullContent<>(source, false);
+        final JoystickFullContent<JsonNode> bytesContent =
+            new JoystickFullContent<>(source.getBytes(StandardCharsets.UTF_8), false);
+        try (MockedStatic<JoystickUtil> joystickUtil = Mockito.mockStatic(JoystickUtil.class, CALLS_REAL_METHODS)) {
+            assertEquals("e10325c5", stringContent.getHash());
+            assertEquals("Уровень", stringContent.getData().get("name").asText());
+            assertEquals(2L, stringContent.getMeta().getMod());
+            joystickUtil.verify(() -> JoystickUtil.createParser(source));
+            joystickUtil.verify(() -> JoystickUtil.createParser("{\"level\":133,\"name\":\"Уровень\"}"));
+
+            assertEquals("e10325c5", bytesContent.getHash());
+            assertEquals("Уровень", bytesContent.getData().get("name").asText());
+            joystickUtil.verify(() -> JoystickUtil.createParser(any(byte[].class), anyInt(), anyInt()));
+        }
+        assertEquals(stringContent, bytesContent);
+    }
+
+    @Test
+    void hashCode_lazyContent_sourceParsedOnce() {
+        final String source = "{\"data\":{\"level\":133},\"hash\":\"e10325c5\",\"meta\":{\"uid\":0,\"mod\":0," +
+            "\"variants\":[],\"seg\":[]}}";
+        final JoystickFullContent<JsonNode> content = new JoystickFullContent<>(source, false);
+        try (MockedStatic<JoystickUtil> joystickUtil = Mockito.mockStatic(JoystickUtil.class, CALLS_REAL_METHODS)) {
+            content.hashCode();
+            content.getHash();
+            content.getMeta();
+            joystickUtil.verify(() -> JoystickUtil.createParser(anyString()), times(1));
+        }
+        // Source is released, content is built from the loaded fields
+        assertEquals(source, content.toString());
+    }
+
+    @Test
+    void copy_fieldsChanged_originalContentNotChanged() {
+        final String source = "{\"data\":{\"level\":133},\"hash\":\"e10325c5\",\"meta\":{\"uid\":0,\"mod\":0," +
+            "\"variants\":[],\"seg\":[]}}";
+        final JoystickFullContent<JsonNode> content = new JoystickFullContent<>(source, false);
+        final JoystickFullContent<JsonNode> copy = content.copy();
+        assertEquals(content, copy);
+        assertEquals(source, copy.toString());
+
+        copy.setHash("changed");
+        copy.getMeta().setUid(1L);
+        assertThrows(UnsupportedOperationException.class,
+            () -> ((ObjectNode) copy.getData()).put("level", 1));
+        assertEquals("e10325c5", content.getHash());
+        assertEquals(0L, content.getMeta().getUid());
+        assertEquals(source, content.copy().toString());
+        assertSame(content.getData(), content.copy().getData());
+    }
 }
@@ -3,9 +3,13 @@ package com.getjoystick.sdk.util;
 import com.getjoystick.sdk.client.ClientConfig;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import org.junit.jupiter.api.Test;
 
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class ApiCacheKeyUtilTest {
@@ -19,7 +23,7 @@ class ApiCacheKeyUtilTest {
 
     @Test
     void testIfGetHashProvideTheSameKeyForMultipleInvocations() {
-        final String hash = "f46cdf1cd86d168a3488488db99e335bda2a090bed202c567c465da122add625";
+        final String hash = "3801026e0911ff5fe114db77204ff1196a34ca7e4d0fa3fd218dddb17601ef9c:1:id1,id2";
         final ClientConfig cfg = ClientConfig.builder()
             .setApiKey(TEST_API_KEY)
             .setParams(
@@ -135,4 +139,33 @@ class ApiCacheKeyUtilTest {
         assertEquals(hash1, hash2);
     }
 
+    @Test
+    void testConfigHashIsCalculatedOnce() {
+        final ClientConfig cfg = ClientConfig.builder().setApiKey(TEST_API_KEY).setUserId("user-id-1").build();
+        assertSame(cfg.getConfigHash(), cfg.getConfigHash());
+        assertEquals(ApiCacheKeyUtil.getConfigHash(cfg), cfg.getConfigHash());
+    }
+
+    @Test
+    void testCacheKeyPrefixIsBuiltOnce() {
+        final ClientConfig cfg = ClientConfig.builder().setApiKey(TEST_API_KEY).setUserId("user-id-1").build();
+        assertSame(cfg.getCacheKeyPrefix(true, false), cfg.getCacheKeyPrefix(true, false));
+        assertEquals(cfg.getConfigHash() + ":3:", cfg.getCacheKeyPrefix(true, true));
+        assertEquals(cfg.getConfigHash() + ":2:id1,id2",
+            ApiCacheKeyUtil.getHash(cfg, ImmutableList.of("id2", "id1"), false, true));
+    }
+
+    @Test
+    void testDifferentFlagsAndUsersProvideDifferentKeys() {
+        final ClientConfig cfg1 = ClientConfig.builder().setApiKey(TEST_API_KEY).setUserId("user-id-1").build();
+        final ClientConfig cfg2 = ClientConfig.builder().setApiKey(TEST_API_KEY).setUserId("user-id-2").build();
+        final Set<String> keys = ImmutableSet.of(
+            ApiCacheKeyUtil.getHash(cfg1, "id1", false, false),
+            ApiCacheKeyUtil.getHash(cfg1, "id1", true, false),
+            ApiCacheKeyUtil.getHash(cfg1, "id1", false, true),
+            ApiCacheKeyUtil.getHash(cfg1, "id1", true, true),
+            ApiCacheKeyUtil.getHash(cfg2, "id1", false, false));
+        assertEquals(5, keys.size());
+    }
+
 }